@@ -0,0 +1,96 @@
+package ru.practicum.shareit.benchmarks;
+
+import org.openjdk.jmh.annotations.*;
+import org.springframework.boot.Banner;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+import ru.practicum.shareit.ShareItServer;
+import ru.practicum.shareit.booking.dto.BookingApprovalReq;
+import ru.practicum.shareit.booking.dto.BookingBatchResult;
+import ru.practicum.shareit.booking.dto.BookingDtoResp;
+import ru.practicum.shareit.booking.service.BookingService;
+
+import javax.sql.DataSource;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Approving or rejecting all bookings of an item, as one {@link BookingService#approveBooking} transaction per
+ * booking ({@code single}) or as one {@link BookingService#approveBookings} call ({@code batch}). Every call flips
+ * all of them between REJECTED and APPROVED, so each one is a valid transition. Like {@link BulkInsertBenchmark}
+ * the in-memory H2 run shows the per-booking query and transaction overhead only; the round trips saved show
+ * against the docker-compose database: {@code -p url=jdbc:postgresql://localhost:6541/postgres}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class BatchApprovalBenchmark {
+    private static final long OWNER = 1;
+    private static final long ITEM = 1;
+
+    @Param({"10", "100"})
+    private int bookings;
+
+    @Param({"jdbc:h2:mem:approvals;DB_CLOSE_DELAY=-1"})
+    private String url;
+
+    private ConfigurableApplicationContext context;
+    private BookingService bookingService;
+    private List<Long> bookingIds;
+    private boolean approved;
+
+    @Setup
+    public void setUp() {
+        boolean postgres = url.startsWith("jdbc:postgresql:");
+        context = new SpringApplicationBuilder(ShareItServer.class)
+                .web(WebApplicationType.NONE)
+                .bannerMode(Banner.Mode.OFF)
+                .profiles(postgres ? "default" : "test")
+                .run("--spring.datasource.url=" + url,
+                        "--logging.level.root=WARN");
+        DataSource dataSource = context.getBean(DataSource.class);
+        new DataGenerator(dataSource, new DataGenerator.Volume(2, 1, bookings, 0)).generate();
+        JdbcTemplate jdbcTemplate = new JdbcTemplate(dataSource);
+        jdbcTemplate.update("UPDATE bookings SET status = 'REJECTED' WHERE item_id = ?", ITEM);
+        bookingIds = jdbcTemplate.queryForList("SELECT id FROM bookings WHERE item_id = ? ORDER BY id", Long.class,
+                ITEM);
+        bookingService = context.getBean(BookingService.class);
+    }
+
+    @TearDown
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public List<BookingDtoResp> single() {
+        approved = !approved;
+        List<BookingDtoResp> results = new ArrayList<>(bookingIds.size());
+        for (long bookingId : bookingIds) {
+            results.add(bookingService.approveBooking(OWNER, bookingId, approved));
+        }
+        return results;
+    }
+
+    @Benchmark
+    public List<BookingBatchResult> batch() {
+        approved = !approved;
+        List<BookingApprovalReq> approvals = new ArrayList<>(bookingIds.size());
+        for (long bookingId : bookingIds) {
+            approvals.add(new BookingApprovalReq(bookingId, approved));
+        }
+        List<BookingBatchResult> results = bookingService.approveBookings(OWNER, approvals);
+        for (BookingBatchResult result : results) {
+            if (result.getStatus() != 200) {
+                throw new IllegalStateException(result.getError());
+            }
+        }
+        return results;
+    }
+}
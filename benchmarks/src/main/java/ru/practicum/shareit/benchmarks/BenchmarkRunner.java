@@ -0,0 +1,22 @@
+package ru.practicum.shareit.benchmarks;
+
+import org.openjdk.jmh.results.format.ResultFormatType;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.CommandLineOptions;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Runs the benchmarks selected by the usual JMH command line and always writes the results
+ * as JSON to the file named by the {@code jmh.result} system property.
+ */
+public class BenchmarkRunner {
+
+    public static void main(String[] args) throws Exception {
+        new Runner(new OptionsBuilder()
+                .parent(new CommandLineOptions(args))
+                .resultFormat(ResultFormatType.JSON)
+                .result(System.getProperty("jmh.result", "jmh-result.json"))
+                .build())
+                .run();
+    }
+}
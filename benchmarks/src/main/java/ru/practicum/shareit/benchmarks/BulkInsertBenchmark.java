@@ -0,0 +1,87 @@
+package ru.practicum.shareit.benchmarks;
+
+import org.openjdk.jmh.annotations.*;
+import org.springframework.boot.Banner;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import ru.practicum.shareit.ShareItServer;
+import ru.practicum.shareit.booking.dto.BookingBatchResult;
+import ru.practicum.shareit.booking.dto.BookingDtoReq;
+import ru.practicum.shareit.booking.service.BookingService;
+
+import javax.sql.DataSource;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Creating a batch of bookings through {@link BookingService#addBookings}, the bulk creation path.
+ * {@code batchSize=1} sends one INSERT per booking as IDENTITY ids forced before bookings took pooled
+ * sequence ids, {@code batchSize=50} is the configured hibernate.jdbc.batch_size. The H2 driver executes
+ * a batch row by row, so the default in-memory run only shows that batching costs nothing; the gain is
+ * in round trips and shows against the docker-compose database:
+ * {@code -p url=jdbc:postgresql://localhost:6541/postgres?reWriteBatchedInserts=true}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+public class BulkInsertBenchmark {
+    private static final int USERS = 100;
+    private static final int ITEMS_PER_USER = 10;
+
+    @Param({"1", "50"})
+    private int batchSize;
+
+    @Param({"500"})
+    private int bookings;
+
+    @Param({"jdbc:h2:mem:bulk;DB_CLOSE_DELAY=-1"})
+    private String url;
+
+    private ConfigurableApplicationContext context;
+    private BookingService bookingService;
+    private List<BookingDtoReq> requests;
+
+    @Setup
+    public void setUp() {
+        boolean postgres = url.startsWith("jdbc:postgresql:");
+        context = new SpringApplicationBuilder(ShareItServer.class)
+                .web(WebApplicationType.NONE)
+                .bannerMode(Banner.Mode.OFF)
+                .profiles(postgres ? "default" : "test")
+                .run("--spring.datasource.url=" + url,
+                        "--spring.jpa.properties.hibernate.jdbc.batch_size=" + batchSize,
+                        "--logging.level.root=WARN");
+        new DataGenerator(context.getBean(DataSource.class),
+                new DataGenerator.Volume(USERS, ITEMS_PER_USER, 0, 0)).generate();
+        bookingService = context.getBean(BookingService.class);
+
+        LocalDateTime start = LocalDateTime.now().plusDays(1);
+        requests = new ArrayList<>(bookings);
+        for (int b = 0; b < bookings; b++) {
+            BookingDtoReq request = new BookingDtoReq();
+            request.setItemId(ITEMS_PER_USER + 1 + b % ((USERS - 1) * ITEMS_PER_USER));
+            request.setStart(start.plusHours(b));
+            request.setEnd(start.plusHours(b + 1));
+            requests.add(request);
+        }
+    }
+
+    @TearDown
+    public void tearDown() {
+        context.close();
+    }
+
+    /**
+     * User 1 books items of the other users, its own items are 1..{@link #ITEMS_PER_USER}.
+     */
+    @Benchmark
+    public List<BookingBatchResult> addBookings() {
+        return bookingService.addBookings(requests, 1);
+    }
+}
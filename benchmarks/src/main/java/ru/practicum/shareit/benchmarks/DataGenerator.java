@@ -0,0 +1,165 @@
+package ru.practicum.shareit.benchmarks;
+
+import lombok.Value;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.core.JdbcTemplate;
+import ru.practicum.shareit.booking.model.enums.Status;
+
+import javax.sql.DataSource;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static ru.practicum.shareit.Constants.ID_ALLOCATION_SIZE;
+
+/**
+ * Fills the tables of schema.sql with generated users, requests, items, bookings and comments.
+ * Ids are assigned in insertion order from 1 and the sequences are moved past them, so the tables must be empty:
+ * user {@code u} (1-based) owns items {@code (u - 1) * itemsPerUser + 1 .. u * itemsPerUser}.
+ * Bookings of an item are spread one per day around now and most of them are APPROVED,
+ * the first one is an approved past booking of {@link #firstBooker}.
+ */
+@Slf4j
+public class DataGenerator {
+    private static final int BATCH_SIZE = 1000;
+    private static final Status[] STATUSES = {Status.APPROVED, Status.APPROVED, Status.APPROVED,
+            Status.WAITING, Status.REJECTED};
+
+    private final JdbcTemplate jdbcTemplate;
+    private final Volume volume;
+
+    public DataGenerator(DataSource dataSource, Volume volume) {
+        this.jdbcTemplate = new JdbcTemplate(dataSource);
+        this.volume = volume;
+    }
+
+    public void generate() {
+        Long existing = jdbcTemplate.queryForObject("SELECT COUNT(*) FROM users", Long.class);
+        if (existing != null && existing > 0) {
+            throw new IllegalStateException("Data generator needs empty tables, users has " + existing + " rows");
+        }
+        LocalDateTime now = LocalDateTime.now().withNano(0);
+        int users = volume.getUsers();
+        long items = volume.getItems();
+
+        Batch batch = new Batch("users", "INSERT INTO users (id, name, email) VALUES (?, ?, ?)");
+        for (int u = 1; u <= users; u++) {
+            batch.add("user" + u, "user" + u + "@email.com");
+        }
+        batch.finish();
+
+        batch = new Batch("requests", "INSERT INTO requests (id, description, requester_id, created) "
+                + "VALUES (?, ?, ?, ?)");
+        for (int u = 1; u <= users; u++) {
+            batch.add("request of user" + u, u, timestamp(now.minusDays(u % 30)));
+        }
+        batch.finish();
+
+        batch = new Batch("items", "INSERT INTO items (id, name, description, is_available, owner_id, request_id) "
+                + "VALUES (?, ?, ?, ?, ?, ?)");
+        for (int u = 1; u <= users; u++) {
+            for (int i = 0; i < volume.getItemsPerUser(); i++) {
+                batch.add("item" + u + "-" + i, "description of item " + i + " owned by user" + u,
+                        i % 10 != 9, u, i == 0 ? (Object) u : null);
+            }
+        }
+        batch.finish();
+
+        batch = new Batch("bookings", "INSERT INTO bookings (id, start_date, end_date, item_id, booker_id, status) "
+                + "VALUES (?, ?, ?, ?, ?, ?)");
+        int half = volume.getBookingsPerItem() / 2;
+        for (long item = 1; item <= items; item++) {
+            for (int b = 0; b < volume.getBookingsPerItem(); b++) {
+                LocalDateTime start = now.plusDays(b - half).plusHours(1);
+                batch.add(timestamp(start), timestamp(start.plusHours(12)), item,
+                        booker(volume.owner(item), b), STATUSES[b % STATUSES.length].name());
+            }
+        }
+        batch.finish();
+
+        batch = new Batch("comments", "INSERT INTO comments (id, text, item_id, author_id, created) "
+                + "VALUES (?, ?, ?, ?, ?)");
+        for (long item = 1; item <= items; item++) {
+            for (int c = 0; c < volume.getCommentsPerItem(); c++) {
+                batch.add("comment " + c + " on item " + item, item, booker(volume.owner(item), c),
+                        timestamp(now.minusDays(c)));
+            }
+        }
+        batch.finish();
+    }
+
+    /**
+     * User with an approved booking of the item that has already ended, so allowed to comment on it.
+     * Needs at least two bookings per item.
+     */
+    public static long firstBooker(Volume volume, long item) {
+        return booker(volume, volume.owner(item), 0);
+    }
+
+    private long booker(long owner, int n) {
+        return booker(volume, owner, n);
+    }
+
+    private static long booker(Volume volume, long owner, int n) {
+        return (owner + n) % volume.getUsers() + 1;
+    }
+
+    private static Timestamp timestamp(LocalDateTime dateTime) {
+        return Timestamp.valueOf(dateTime);
+    }
+
+    /**
+     * Inserts rows with ids 1, 2, ... prepended to the values and then restarts the id sequence of the table
+     * so that the first block Hibernate takes from it starts right after the last row.
+     */
+    private final class Batch {
+        private final String table;
+        private final String sql;
+        private final List<Object[]> rows = new ArrayList<>(BATCH_SIZE);
+        private long total;
+
+        private Batch(String table, String sql) {
+            this.table = table;
+            this.sql = sql;
+        }
+
+        private void add(Object... values) {
+            Object[] row = new Object[values.length + 1];
+            row[0] = total + rows.size() + 1;
+            System.arraycopy(values, 0, row, 1, values.length);
+            rows.add(row);
+            if (rows.size() == BATCH_SIZE) {
+                flush();
+            }
+        }
+
+        private void flush() {
+            jdbcTemplate.batchUpdate(sql, rows);
+            total += rows.size();
+            rows.clear();
+        }
+
+        private void finish() {
+            flush();
+            jdbcTemplate.execute("ALTER SEQUENCE " + table + "_seq RESTART WITH " + (total + ID_ALLOCATION_SIZE));
+            log.info("{} rows by {}", total, sql);
+        }
+    }
+
+    @Value
+    public static class Volume {
+        int users;
+        int itemsPerUser;
+        int bookingsPerItem;
+        int commentsPerItem;
+
+        public long getItems() {
+            return (long) users * itemsPerUser;
+        }
+
+        public long owner(long item) {
+            return (item - 1) / itemsPerUser + 1;
+        }
+    }
+}
@@ -0,0 +1,74 @@
+package ru.practicum.shareit.benchmarks;
+
+import lombok.experimental.UtilityClass;
+import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.booking.model.enums.Status;
+import ru.practicum.shareit.item.model.Comment;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.user.model.User;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Detached entities for the in-memory benchmarks, laid out the same way as {@link DataGenerator} rows.
+ */
+@UtilityClass
+class Fixtures {
+    private static final Status[] STATUSES = {Status.APPROVED, Status.APPROVED, Status.APPROVED,
+            Status.WAITING, Status.REJECTED};
+
+    List<Item> items(int count) {
+        List<Item> items = new ArrayList<>();
+        for (int i = 1; i <= count; i++) {
+            Item item = new Item();
+            item.setId(i);
+            item.setName("item" + i);
+            item.setDescription("description of item " + i);
+            item.setAvailable(true);
+            item.setOwner(user(i));
+            items.add(item);
+        }
+        return items;
+    }
+
+    List<Booking> bookings(List<Item> items, int perItem, LocalDateTime now) {
+        List<Booking> bookings = new ArrayList<>();
+        int half = perItem / 2;
+        for (Item item : items) {
+            for (int b = 0; b < perItem; b++) {
+                LocalDateTime start = now.plusDays(b - half).plusHours(1);
+                bookings.add(Booking.builder()
+                        .id(bookings.size() + 1L)
+                        .item(item)
+                        .booker(user(item.getId() + b + 1))
+                        .status(STATUSES[b % STATUSES.length])
+                        .start(start)
+                        .end(start.plusHours(12))
+                        .build());
+            }
+        }
+        return bookings;
+    }
+
+    List<Comment> comments(List<Item> items, int perItem, LocalDateTime now) {
+        List<Comment> comments = new ArrayList<>();
+        for (Item item : items) {
+            for (int c = 0; c < perItem; c++) {
+                Comment comment = new Comment();
+                comment.setId(comments.size() + 1L);
+                comment.setText("comment " + c + " on item " + item.getId());
+                comment.setItem(item);
+                comment.setAuthorName(user(item.getId() + c + 1));
+                comment.setCreated(now.minusDays(c));
+                comments.add(comment);
+            }
+        }
+        return comments;
+    }
+
+    private User user(long id) {
+        return User.builder().id(id).name("user" + id).email("user" + id + "@email.com").build();
+    }
+}
@@ -0,0 +1,57 @@
+package ru.practicum.shareit.benchmarks;
+
+import org.openjdk.jmh.annotations.*;
+import ru.practicum.shareit.booking.dto.BookingDtoResp;
+import ru.practicum.shareit.booking.mapper.BookingMapper;
+import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.item.dto.CommentMapper;
+import ru.practicum.shareit.item.dto.CommentResDto;
+import ru.practicum.shareit.item.dto.ItemDto;
+import ru.practicum.shareit.item.dto.ItemMapper;
+import ru.practicum.shareit.item.model.Comment;
+import ru.practicum.shareit.item.model.Item;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Throughput of the entity to DTO mappers on a page-sized list.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class MapperBenchmark {
+    @Param({"10", "100"})
+    private int size;
+
+    private List<Item> items;
+    private List<Booking> bookings;
+    private List<Comment> comments;
+
+    @Setup
+    public void setUp() {
+        LocalDateTime now = LocalDateTime.now();
+        items = Fixtures.items(size);
+        bookings = Fixtures.bookings(items.subList(0, 1), size, now);
+        comments = Fixtures.comments(items.subList(0, 1), size, now);
+    }
+
+    @Benchmark
+    public List<BookingDtoResp> bookingToDto() {
+        return BookingMapper.toBookingDto(bookings);
+    }
+
+    @Benchmark
+    public List<ItemDto> itemToDto() {
+        return ItemMapper.toItemDto(items);
+    }
+
+    @Benchmark
+    public List<CommentResDto> commentToDto() {
+        return CommentMapper.toCommentListResponseDto(comments);
+    }
+}
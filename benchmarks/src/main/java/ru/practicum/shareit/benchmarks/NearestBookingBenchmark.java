@@ -0,0 +1,149 @@
+package ru.practicum.shareit.benchmarks;
+
+import org.openjdk.jmh.annotations.*;
+import org.springframework.boot.Banner;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.orm.jpa.SharedEntityManagerCreator;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import ru.practicum.shareit.ShareItServer;
+import ru.practicum.shareit.booking.bookingRepository.BookingRepository;
+import ru.practicum.shareit.booking.dto.BookingDto;
+import ru.practicum.shareit.booking.dto.NearestBooking;
+import ru.practicum.shareit.booking.mapper.BookingMapper;
+import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.booking.model.enums.Status;
+import ru.practicum.shareit.item.dto.ItemDto;
+
+import javax.persistence.EntityManager;
+import javax.persistence.EntityManagerFactory;
+import javax.sql.DataSource;
+import java.time.LocalDateTime;
+import java.util.*;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+/**
+ * Attaching next/last bookings to a page of the owner's items, as done by
+ * {@link ru.practicum.shareit.item.itemService.ItemServiceImpl#getItemsByOwner}, queries included, against the
+ * server context on an in-memory H2 filled by {@link DataGenerator}.
+ * {@code streamPipelines} is the former version that loaded every booking of the page and ran
+ * the findNextBooking/findLastBooking streams per item, {@code nearestBookingGrouping} is the current one
+ * that groups the at most two rows per item returned by
+ * {@link ru.practicum.shareit.booking.bookingRepository.BookingRepository#findNearestApprovedBookings}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class NearestBookingBenchmark {
+    private static final String ALL_BOOKINGS_OF_ITEMS = "SELECT b FROM Booking b WHERE b.item.id IN :itemIds";
+
+    @Param({"20"})
+    private int users;
+
+    @Param({"20"})
+    private int items;
+
+    @Param({"10", "100", "1000"})
+    private int bookingsPerItem;
+
+    private ConfigurableApplicationContext context;
+    private BookingRepository bookingRepository;
+    private EntityManager entityManager;
+    private TransactionTemplate readOnly;
+
+    @Setup
+    public void setUp() {
+        context = new SpringApplicationBuilder(ShareItServer.class)
+                .web(WebApplicationType.NONE)
+                .bannerMode(Banner.Mode.OFF)
+                .profiles("test")
+                .run("--spring.datasource.url=jdbc:h2:mem:benchmarks;DB_CLOSE_DELAY=-1",
+                        "--logging.level.root=WARN");
+        new DataGenerator(context.getBean(DataSource.class),
+                new DataGenerator.Volume(users, items, bookingsPerItem, 0)).generate();
+        bookingRepository = context.getBean(BookingRepository.class);
+        entityManager = SharedEntityManagerCreator.createSharedEntityManager(
+                context.getBean(EntityManagerFactory.class));
+        readOnly = new TransactionTemplate(context.getBean(PlatformTransactionManager.class));
+        readOnly.setReadOnly(true);
+    }
+
+    @TearDown
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public List<ItemDto> streamPipelines() {
+        List<ItemDto> itemDtos = itemsOfRandomOwner();
+        List<Long> itemIds = itemDtos.stream().map(ItemDto::getId).collect(Collectors.toList());
+        return readOnly.execute(status -> {
+            Map<Long, List<Booking>> bookingsMap = entityManager
+                    .createQuery(ALL_BOOKINGS_OF_ITEMS, Booking.class)
+                    .setParameter("itemIds", itemIds)
+                    .getResultList().stream()
+                    .collect(Collectors.groupingBy(booking -> booking.getItem().getId()));
+            for (ItemDto i : itemDtos) {
+                List<Booking> bookingsForItem = bookingsMap.getOrDefault(i.getId(), Collections.emptyList());
+                i.setNextBooking(BookingMapper.maptoBookingDtoForOwner(findNextBooking(bookingsForItem)));
+                i.setLastBooking(BookingMapper.maptoBookingDtoForOwner(findLastBooking(bookingsForItem)));
+            }
+            return itemDtos;
+        });
+    }
+
+    @Benchmark
+    public List<ItemDto> nearestBookingGrouping() {
+        List<ItemDto> itemDtos = itemsOfRandomOwner();
+        List<Long> itemIds = itemDtos.stream().map(ItemDto::getId).collect(Collectors.toList());
+        Map<Long, List<NearestBooking>> bookingsMap = readOnly.execute(status ->
+                bookingRepository.findNearestApprovedBookings(itemIds)).stream()
+                .collect(Collectors.groupingBy(NearestBooking::getItemId));
+        for (ItemDto i : itemDtos) {
+            for (NearestBooking booking : bookingsMap.getOrDefault(i.getId(), Collections.emptyList())) {
+                BookingDto bookingDto = new BookingDto(booking.getId(), booking.getBookerId());
+                if (booking.getUpcoming()) {
+                    i.setNextBooking(bookingDto);
+                } else {
+                    i.setLastBooking(bookingDto);
+                }
+            }
+        }
+        return itemDtos;
+    }
+
+    /**
+     * The page itself is loaded the same way by both versions, so only its ids are made up here.
+     */
+    private List<ItemDto> itemsOfRandomOwner() {
+        long owner = ThreadLocalRandom.current().nextLong(1, users + 1);
+        List<ItemDto> itemDtos = new ArrayList<>();
+        for (long id = (owner - 1) * items + 1; id <= owner * items; id++) {
+            itemDtos.add(ItemDto.builder().id(id).build());
+        }
+        return itemDtos;
+    }
+
+    private static Booking findLastBooking(List<Booking> allBookingsForItems) {
+        return allBookingsForItems.stream()
+                .filter(booking -> booking.getStart().isBefore(LocalDateTime.now()))
+                .filter(booking -> booking.getStatus() == Status.APPROVED)
+                .max(Comparator.comparing(Booking::getEnd))
+                .orElse(null);
+    }
+
+    private static Booking findNextBooking(List<Booking> allBookingsForItems) {
+        return allBookingsForItems.stream()
+                .filter(booking -> booking.getStart().isAfter(LocalDateTime.now()))
+                .filter(booking -> booking.getStatus() == Status.APPROVED)
+                .min(Comparator.comparing(Booking::getStart))
+                .orElse(null);
+    }
+}
@@ -0,0 +1,96 @@
+package ru.practicum.shareit.benchmarks;
+
+import org.openjdk.jmh.annotations.*;
+import org.springframework.boot.Banner;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import ru.practicum.shareit.ShareItServer;
+import ru.practicum.shareit.booking.dto.BookingDtoResp;
+import ru.practicum.shareit.booking.service.BookingService;
+import ru.practicum.shareit.item.dto.ItemDto;
+import ru.practicum.shareit.item.itemService.ItemService;
+
+import javax.sql.DataSource;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Service calls of a random user against the server context on an in-memory H2 filled by
+ * {@link DataGenerator}. The volume is set with {@code -p users=.. -p itemsPerUser=..} and so on.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+public class ServiceBenchmark {
+    private static final int PAGE_SIZE = 20;
+
+    @Param({"1000"})
+    private int users;
+
+    @Param({"10"})
+    private int itemsPerUser;
+
+    @Param({"20"})
+    private int bookingsPerItem;
+
+    @Param({"5"})
+    private int commentsPerItem;
+
+    private ConfigurableApplicationContext context;
+    private ItemService itemService;
+    private BookingService bookingService;
+
+    @Setup
+    public void setUp() {
+        context = new SpringApplicationBuilder(ShareItServer.class)
+                .web(WebApplicationType.NONE)
+                .bannerMode(Banner.Mode.OFF)
+                .profiles("test")
+                .run("--spring.datasource.url=jdbc:h2:mem:benchmarks;DB_CLOSE_DELAY=-1",
+                        "--logging.level.root=WARN");
+        new DataGenerator(context.getBean(DataSource.class),
+                new DataGenerator.Volume(users, itemsPerUser, bookingsPerItem, commentsPerItem)).generate();
+        itemService = context.getBean(ItemService.class);
+        bookingService = context.getBean(BookingService.class);
+    }
+
+    @TearDown
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public List<ItemDto> itemsByOwner() {
+        return itemService.getItemsByOwner(randomUser(), 0, PAGE_SIZE);
+    }
+
+    @Benchmark
+    public List<ItemDto> searchItems() {
+        return itemService.searchItems("item" + randomUser(), 0, PAGE_SIZE);
+    }
+
+    @Benchmark
+    public List<BookingDtoResp> bookingsByBooker(StateParam state) {
+        return bookingService.getBookingByBookerId(randomUser(), state.state, 0, PAGE_SIZE);
+    }
+
+    @Benchmark
+    public List<BookingDtoResp> bookingsByOwner(StateParam state) {
+        return bookingService.getBookingByItemOwner(randomUser(), state.state, 0, PAGE_SIZE);
+    }
+
+    private long randomUser() {
+        return ThreadLocalRandom.current().nextLong(1, users + 1);
+    }
+
+    @State(Scope.Benchmark)
+    public static class StateParam {
+        @Param({"ALL", "PAST", "FUTURE"})
+        private String state;
+    }
+}
@@ -0,0 +1,49 @@
+package ru.practicum.shareit.benchmarks.load;
+
+import ru.practicum.shareit.benchmarks.DataGenerator;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * {@code --name=value} command line options of the load tools.
+ */
+class Arguments {
+    private final Map<String, String> values = new HashMap<>();
+
+    Arguments(String[] args) {
+        for (String arg : args) {
+            int eq = arg.indexOf('=');
+            if (!arg.startsWith("--") || eq < 0) {
+                throw new IllegalArgumentException("Expected --name=value, got " + arg);
+            }
+            values.put(arg.substring(2, eq), arg.substring(eq + 1));
+        }
+    }
+
+    String get(String name, String defaultValue) {
+        return values.getOrDefault(name, defaultValue);
+    }
+
+    int getInt(String name, int defaultValue) {
+        String value = values.get(name);
+        return value == null ? defaultValue : Integer.parseInt(value);
+    }
+
+    Duration getDuration(String name, Duration defaultValue) {
+        String value = values.get(name);
+        return value == null ? defaultValue : Duration.parse("PT" + value.toUpperCase());
+    }
+
+    /**
+     * Defaults give 5 000 users, 250 000 items, 2 000 000 bookings and 1 000 000 comments.
+     */
+    DataGenerator.Volume volume() {
+        return new DataGenerator.Volume(
+                getInt("users", 5_000),
+                getInt("items-per-user", 50),
+                getInt("bookings-per-item", 8),
+                getInt("comments-per-item", 4));
+    }
+}
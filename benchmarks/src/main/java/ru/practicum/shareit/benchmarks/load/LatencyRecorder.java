@@ -0,0 +1,55 @@
+package ru.practicum.shareit.benchmarks.load;
+
+import java.util.Arrays;
+
+/**
+ * Latencies and error count of one endpoint. Keeps every sample, a load run produces a few million at most.
+ */
+class LatencyRecorder {
+    private long[] micros = new long[1024];
+    private int count;
+    private int errors;
+
+    synchronized void record(long nanos, boolean error) {
+        if (count == micros.length) {
+            micros = Arrays.copyOf(micros, count * 2);
+        }
+        micros[count++] = nanos / 1_000;
+        if (error) {
+            errors++;
+        }
+    }
+
+    synchronized Snapshot snapshot() {
+        long[] sorted = Arrays.copyOf(micros, count);
+        Arrays.sort(sorted);
+        return new Snapshot(sorted, errors);
+    }
+
+    static class Snapshot {
+        private final long[] sorted;
+        private final int errors;
+
+        private Snapshot(long[] sorted, int errors) {
+            this.sorted = sorted;
+            this.errors = errors;
+        }
+
+        int getCount() {
+            return sorted.length;
+        }
+
+        int getErrors() {
+            return errors;
+        }
+
+        /**
+         * Nearest-rank percentile in milliseconds.
+         */
+        double percentile(double percent) {
+            if (sorted.length == 0) return 0;
+            int rank = (int) Math.ceil(percent / 100 * sorted.length);
+            return sorted[Math.max(rank, 1) - 1] / 1000.0;
+        }
+    }
+}
@@ -0,0 +1,41 @@
+package ru.practicum.shareit.benchmarks.load;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.jdbc.datasource.SingleConnectionDataSource;
+import org.springframework.jdbc.datasource.init.ResourceDatabasePopulator;
+import ru.practicum.shareit.benchmarks.DataGenerator;
+
+/**
+ * Recreates the server schema and fills it for a load test, then the server is started with the
+ * {@code load} profile, which keeps the data. Options: {@code --url}, {@code --username}, {@code --password}
+ * and the volume, see {@link Arguments#volume()}.
+ * <pre>
+ * mvn -P benchmarks -pl benchmarks -am package -DskipTests
+ * java -cp benchmarks/target/classes:$(cat benchmarks/target/classpath.txt) \
+ *     ru.practicum.shareit.benchmarks.load.LoadDataGenerator --url=jdbc:h2:/tmp/shareit-load --users=5000
+ * </pre>
+ * Against the docker-compose database use {@code --url=jdbc:postgresql://localhost:6541/postgres}.
+ */
+@Slf4j
+public class LoadDataGenerator {
+
+    public static void main(String[] args) {
+        Arguments arguments = new Arguments(args);
+        String url = arguments.get("url", "jdbc:h2:/tmp/shareit-load");
+        SingleConnectionDataSource dataSource = new SingleConnectionDataSource(url,
+                arguments.get("username", url.startsWith("jdbc:postgresql:") ? "postgres" : "test"),
+                arguments.get("password", url.startsWith("jdbc:postgresql:") ? "25382" : "test"), true);
+
+        ResourceDatabasePopulator schema = new ResourceDatabasePopulator(new ClassPathResource("schema.sql"));
+        if (url.startsWith("jdbc:postgresql:")) {
+            schema.addScript(new ClassPathResource("schema-postgresql.sql"));
+        }
+        schema.execute(dataSource);
+
+        long started = System.nanoTime();
+        new DataGenerator(dataSource, arguments.volume()).generate();
+        log.info("Load data generated in {} s", (System.nanoTime() - started) / 1_000_000_000);
+        dataSource.destroy();
+    }
+}
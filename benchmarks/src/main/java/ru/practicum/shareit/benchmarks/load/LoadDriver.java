@@ -0,0 +1,280 @@
+package ru.practicum.shareit.benchmarks.load;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.extern.slf4j.Slf4j;
+import ru.practicum.shareit.benchmarks.DataGenerator;
+
+import java.io.File;
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+
+import static ru.practicum.shareit.Constants.HEADER;
+
+/**
+ * Closed-loop HTTP load on the gateway (or the server directly) over data made by {@link LoadDataGenerator}
+ * with the same volume options. Each of {@code --concurrency} clients sends the next request of the mix as soon
+ * as the previous one completes. After {@code --warmup} the requests are measured for {@code --duration} and
+ * p50/p95/p99 latency and throughput are printed per endpoint, and written as JSON to {@code --report}.
+ * <pre>
+ * CP=benchmarks/target/classes:$(cat benchmarks/target/classpath.txt)
+ * java -cp $CP ru.practicum.shareit.ShareItServer --spring.profiles.active=load \
+ *     --spring.datasource.driverClassName=org.h2.Driver --spring.datasource.url=jdbc:h2:/tmp/shareit-load \
+ *     --spring.datasource.username=test --spring.datasource.password=test
+ * mvn -pl gateway spring-boot:run
+ * java -cp $CP ru.practicum.shareit.benchmarks.load.LoadDriver --users=5000 --concurrency=64 --duration=2m
+ * </pre>
+ * For the docker-compose database start the server with only {@code --spring.profiles.active=load
+ * --spring.datasource.url=jdbc:postgresql://localhost:6541/postgres}.
+ */
+@Slf4j
+public class LoadDriver {
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+
+    private final ExecutorService httpExecutor;
+    private final HttpClient client;
+    private final String baseUrl;
+    private final DataGenerator.Volume volume;
+    private final List<Operation> mix = new ArrayList<>();
+    private final Map<String, LatencyRecorder> recorders = new ConcurrentHashMap<>();
+    private final Queue<long[]> waitingBookings = new ConcurrentLinkedQueue<>();
+    private final AtomicLong sequence = new AtomicLong();
+    private final LocalDateTime bookingBase = LocalDateTime.now().plusYears(1).withNano(0);
+    private final String runId = Long.toString(System.currentTimeMillis(), 36);
+    private volatile boolean measuring;
+    private volatile boolean running = true;
+
+    LoadDriver(String baseUrl, DataGenerator.Volume volume, int concurrency) {
+        this.baseUrl = baseUrl;
+        this.volume = volume;
+        this.httpExecutor = Executors.newFixedThreadPool(Math.max(4, concurrency / 4));
+        this.client = HttpClient.newBuilder()
+                .executor(httpExecutor)
+                .connectTimeout(Duration.ofSeconds(5))
+                .build();
+
+        add("GET /items/{itemId}", 20, random -> {
+            long item = randomItem(random);
+            return get("/items/" + item, volume.owner(item));
+        });
+        add("GET /items", 10, random -> get("/items?from=0&size=20", randomUser(random)));
+        add("GET /items/search", 10, random -> get("/items/search?from=0&size=20&text=item" + randomUser(random),
+                randomUser(random)));
+        add("GET /bookings", 10, random -> get("/bookings?state=" + randomState(random) + "&from=0&size=20",
+                randomUser(random)));
+        add("GET /bookings/owner", 10, random -> get("/bookings/owner?state=" + randomState(random)
+                + "&from=0&size=20", randomUser(random)));
+        add("GET /requests", 5, random -> get("/requests", randomUser(random)));
+        add("GET /requests/all", 5, random -> get("/requests/all?from=0&size=20", randomUser(random)));
+        add("GET /users/{userId}", 10, random -> get("/users/" + randomUser(random), null));
+        add("POST /bookings", 8, random -> {
+            long item = randomAvailableItem(random);
+            long booker = (volume.owner(item) + random.nextInt(Math.max(1, volume.getUsers() - 1)))
+                    % volume.getUsers() + 1;
+            LocalDateTime start = bookingBase.plusHours(2 * sequence.incrementAndGet());
+            return post("/bookings", booker, Map.of("itemId", item,
+                    "start", start.toString(), "end", start.plusHours(1).toString()));
+        });
+        add("PATCH /bookings/{bookingId}", 3, random -> {
+            long[] booking = waitingBookings.poll();
+            if (booking == null) return null;
+            return request("/bookings/" + booking[0] + "?approved=true", booking[1])
+                    .method("PATCH", HttpRequest.BodyPublishers.noBody()).build();
+        });
+        add("PATCH /items/{itemId}", 3, random -> {
+            long item = randomItem(random);
+            return request("/items/" + item, volume.owner(item))
+                    .method("PATCH", json(Map.of("description", "updated " + sequence.incrementAndGet())))
+                    .header("Content-Type", "application/json").build();
+        });
+        add("POST /items/{itemId}/comment", 2, random -> {
+            long item = randomItem(random);
+            return post("/items/" + item + "/comment", DataGenerator.firstBooker(volume, item),
+                    Map.of("text", "load comment " + sequence.incrementAndGet()));
+        });
+        add("POST /requests", 2, random -> post("/requests", randomUser(random),
+                Map.of("description", "load request " + sequence.incrementAndGet())));
+        add("POST /users", 2, random -> {
+            long n = sequence.incrementAndGet();
+            return post("/users", null, Map.of("name", "load" + n, "email", "load" + runId + "-" + n + "@email.com"));
+        });
+    }
+
+    public static void main(String[] args) throws Exception {
+        Arguments arguments = new Arguments(args);
+        int concurrency = arguments.getInt("concurrency", 32);
+        LoadDriver driver = new LoadDriver(arguments.get("url", "http://localhost:8080"), arguments.volume(),
+                concurrency);
+        Map<String, LatencyRecorder.Snapshot> results = driver.run(concurrency,
+                arguments.getDuration("warmup", Duration.ofSeconds(30)),
+                arguments.getDuration("duration", Duration.ofMinutes(2)));
+        driver.report(results, arguments.getDuration("duration", Duration.ofMinutes(2)),
+                new File(arguments.get("report", "benchmarks/target/load-report.json")));
+    }
+
+    Map<String, LatencyRecorder.Snapshot> run(int concurrency, Duration warmup, Duration duration)
+            throws InterruptedException {
+        ExecutorService clients = Executors.newFixedThreadPool(concurrency);
+        for (int i = 0; i < concurrency; i++) {
+            clients.execute(this::loop);
+        }
+        log.info("Warming up for {}", warmup);
+        Thread.sleep(warmup.toMillis());
+        measuring = true;
+        log.info("Measuring for {}", duration);
+        Thread.sleep(duration.toMillis());
+        measuring = false;
+        running = false;
+        clients.shutdown();
+        clients.awaitTermination(1, TimeUnit.MINUTES);
+        httpExecutor.shutdown();
+
+        Map<String, LatencyRecorder.Snapshot> results = new TreeMap<>();
+        recorders.forEach((name, recorder) -> results.put(name, recorder.snapshot()));
+        return results;
+    }
+
+    private void loop() {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        int totalWeight = mix.stream().mapToInt(operation -> operation.weight).sum();
+        while (running) {
+            Operation operation = pick(random.nextInt(totalWeight));
+            HttpRequest request = operation.request.apply(random);
+            if (request == null) continue;
+            long started = System.nanoTime();
+            boolean error;
+            try {
+                HttpResponse<String> response = client.send(request, HttpResponse.BodyHandlers.ofString());
+                error = response.statusCode() >= 300;
+                if (!error && operation.name.equals("POST /bookings")) {
+                    JsonNode booking = MAPPER.readTree(response.body());
+                    waitingBookings.add(new long[]{booking.get("id").asLong(), booking.at("/item/ownerId").asLong()});
+                }
+            } catch (IOException e) {
+                error = true;
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+            if (measuring) {
+                recorders.computeIfAbsent(operation.name, name -> new LatencyRecorder())
+                        .record(System.nanoTime() - started, error);
+            }
+        }
+    }
+
+    private void report(Map<String, LatencyRecorder.Snapshot> results, Duration duration, File file)
+            throws IOException {
+        double seconds = duration.toMillis() / 1000.0;
+        List<Map<String, Object>> rows = new ArrayList<>();
+        System.out.printf("%-30s %9s %7s %9s %9s %9s %9s%n", "endpoint", "requests", "errors", "req/s",
+                "p50 ms", "p95 ms", "p99 ms");
+        long total = 0;
+        for (Map.Entry<String, LatencyRecorder.Snapshot> entry : results.entrySet()) {
+            LatencyRecorder.Snapshot snapshot = entry.getValue();
+            total += snapshot.getCount();
+            System.out.printf("%-30s %9d %7d %9.1f %9.2f %9.2f %9.2f%n", entry.getKey(), snapshot.getCount(),
+                    snapshot.getErrors(), snapshot.getCount() / seconds, snapshot.percentile(50),
+                    snapshot.percentile(95), snapshot.percentile(99));
+            Map<String, Object> row = new LinkedHashMap<>();
+            row.put("endpoint", entry.getKey());
+            row.put("requests", snapshot.getCount());
+            row.put("errors", snapshot.getErrors());
+            row.put("throughput", snapshot.getCount() / seconds);
+            row.put("p50", snapshot.percentile(50));
+            row.put("p95", snapshot.percentile(95));
+            row.put("p99", snapshot.percentile(99));
+            rows.add(row);
+        }
+        System.out.printf("%-30s %9d %7s %9.1f%n", "total", total, "", total / seconds);
+        File parent = file.getAbsoluteFile().getParentFile();
+        if (parent != null && !parent.exists() && !parent.mkdirs()) {
+            throw new IOException("Cannot create " + parent);
+        }
+        MAPPER.writerWithDefaultPrettyPrinter().writeValue(file, rows);
+        log.info("Load report saved to {}", file.getAbsolutePath());
+    }
+
+    private Operation pick(int ticket) {
+        for (Operation operation : mix) {
+            ticket -= operation.weight;
+            if (ticket < 0) return operation;
+        }
+        throw new IllegalStateException("Empty mix");
+    }
+
+    private void add(String name, int weight, Function<ThreadLocalRandom, HttpRequest> request) {
+        mix.add(new Operation(name, weight, request));
+    }
+
+    private HttpRequest get(String path, Long userId) {
+        return request(path, userId).GET().build();
+    }
+
+    private HttpRequest post(String path, Long userId, Map<String, Object> body) {
+        return request(path, userId).POST(json(body)).header("Content-Type", "application/json").build();
+    }
+
+    private HttpRequest.Builder request(String path, Long userId) {
+        HttpRequest.Builder builder = HttpRequest.newBuilder(URI.create(baseUrl + path))
+                .timeout(Duration.ofSeconds(30));
+        if (userId != null) {
+            builder.header(HEADER, String.valueOf(userId));
+        }
+        return builder;
+    }
+
+    private static HttpRequest.BodyPublisher json(Map<String, Object> body) {
+        try {
+            return HttpRequest.BodyPublishers.ofString(MAPPER.writeValueAsString(body));
+        } catch (IOException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private long randomUser(ThreadLocalRandom random) {
+        return random.nextLong(1, volume.getUsers() + 1);
+    }
+
+    private long randomItem(ThreadLocalRandom random) {
+        return random.nextLong(1, volume.getItems() + 1);
+    }
+
+    /**
+     * Every tenth item of a user is generated unavailable, see {@link DataGenerator}.
+     */
+    private long randomAvailableItem(ThreadLocalRandom random) {
+        long item = randomItem(random);
+        return (item - 1) % volume.getItemsPerUser() % 10 == 9 ? item - 1 : item;
+    }
+
+    private static String randomState(ThreadLocalRandom random) {
+        return random.nextInt(3) == 0 ? "ALL" : random.nextBoolean() ? "PAST" : "FUTURE";
+    }
+
+    private static final class Operation {
+        private final String name;
+        private final int weight;
+        private final Function<ThreadLocalRandom, HttpRequest> request;
+
+        private Operation(String name, int weight, Function<ThreadLocalRandom, HttpRequest> request) {
+            this.name = name;
+            this.weight = weight;
+            this.request = request;
+        }
+    }
+}
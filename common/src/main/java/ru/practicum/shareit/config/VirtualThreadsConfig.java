@@ -0,0 +1,33 @@
+package ru.practicum.shareit.config;
+
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.web.embedded.tomcat.TomcatProtocolHandlerCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.concurrent.ExecutorService;
+
+/**
+ * Runs Tomcat request handling on virtual threads instead of the bounded platform thread pool, for the server
+ * and the gateway alike. The default build targets Java 11 and looks the JDK 21 executor up at runtime, the
+ * {@code jdk21} build profile calls it directly (see {@link VirtualThreads}).
+ * <p>
+ * The executor is not a bean of its own, which would switch off Boot's {@code applicationTaskExecutor}. Tomcat
+ * does not stop an executor it was given, so it is shut down here on context close, after the web server stopped.
+ */
+@Configuration
+@ConditionalOnProperty(name = "shareit.virtual-threads.enabled", havingValue = "true")
+public class VirtualThreadsConfig implements DisposableBean {
+    private final ExecutorService executor = VirtualThreads.newVirtualThreadPerTaskExecutor();
+
+    @Bean
+    public TomcatProtocolHandlerCustomizer<?> virtualThreadsProtocolHandlerCustomizer() {
+        return protocolHandler -> protocolHandler.setExecutor(executor);
+    }
+
+    @Override
+    public void destroy() {
+        executor.shutdown();
+    }
+}
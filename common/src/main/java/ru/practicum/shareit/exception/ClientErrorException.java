@@ -0,0 +1,12 @@
+package ru.practicum.shareit.exception;
+
+/**
+ * Base of the exceptions that end in an expected 4xx response. They are thrown on every probe of
+ * a missing id or malformed request, so capturing a stack trace, the expensive part of throwing,
+ * is left to {@link StackTraceSampler}.
+ */
+public abstract class ClientErrorException extends RuntimeException {
+    protected ClientErrorException(String message) {
+        super(message, null, false, StackTraceSampler.isSampled());
+    }
+}
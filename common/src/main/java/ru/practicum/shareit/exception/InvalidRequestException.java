@@ -1,6 +1,6 @@
 package ru.practicum.shareit.exception;
 
-public class InvalidRequestException extends RuntimeException {
+public class InvalidRequestException extends ClientErrorException {
     public InvalidRequestException(String message) {
         super(message);
     }
@@ -0,0 +1,49 @@
+package ru.practicum.shareit.exception;
+
+import java.util.concurrent.TimeUnit;
+import java.util.function.LongSupplier;
+
+/**
+ * Lets at most {@code permitsPerSecond} log lines through in each second and counts the ones it holds back,
+ * so that a burst of client errors costs a counter increment per request instead of a log write.
+ */
+public class LogRateLimiter {
+    public static final long REJECTED = -1;
+    private static final long SECOND_NANOS = TimeUnit.SECONDS.toNanos(1);
+
+    private final int permitsPerSecond;
+    private final LongSupplier nanoClock;
+    private long windowStart;
+    private int permitsUsed;
+    private long suppressed;
+
+    public LogRateLimiter(int permitsPerSecond) {
+        this(permitsPerSecond, System::nanoTime);
+    }
+
+    LogRateLimiter(int permitsPerSecond, LongSupplier nanoClock) {
+        this.permitsPerSecond = permitsPerSecond;
+        this.nanoClock = nanoClock;
+        this.windowStart = nanoClock.getAsLong();
+    }
+
+    /**
+     * Returns {@link #REJECTED} when the line must be dropped, otherwise the number of lines
+     * dropped since the last one that was let through.
+     */
+    public synchronized long tryAcquire() {
+        long now = nanoClock.getAsLong();
+        if (now - windowStart >= SECOND_NANOS) {
+            windowStart = now;
+            permitsUsed = 0;
+        }
+        if (permitsUsed >= permitsPerSecond) {
+            suppressed++;
+            return REJECTED;
+        }
+        permitsUsed++;
+        long dropped = suppressed;
+        suppressed = 0;
+        return dropped;
+    }
+}
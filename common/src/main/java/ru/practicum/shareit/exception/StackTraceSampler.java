@@ -0,0 +1,55 @@
+package ru.practicum.shareit.exception;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.stereotype.Component;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.servlet.HandlerInterceptor;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Picks the share of requests, none by default, in which {@link ClientErrorException}s capture a stack trace
+ * for diagnostics. The pick is an attribute of the Spring MVC request, so exceptions thrown outside one never
+ * capture a trace. That includes every exception of the reactive gateway runtime: a WebFlux exchange has no
+ * thread bound to it that an exception constructor could read the pick from, so there the sampler is not
+ * registered and the rate has no effect.
+ */
+@Component
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
+public class StackTraceSampler implements HandlerInterceptor, WebMvcConfigurer {
+    private static final String SAMPLED_ATTRIBUTE = StackTraceSampler.class.getName() + ".sampled";
+
+    private final double sampleRate;
+
+    public StackTraceSampler(@Value("${shareit.exceptions.stack-trace-sample-rate}") double sampleRate) {
+        if (sampleRate < 0 || sampleRate > 1) {
+            throw new IllegalArgumentException("Stack trace sample rate must be between 0 and 1, got " + sampleRate);
+        }
+        this.sampleRate = sampleRate;
+    }
+
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        registry.addInterceptor(this);
+    }
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        if (sampleRate > 0 && ThreadLocalRandom.current().nextDouble() < sampleRate) {
+            request.setAttribute(SAMPLED_ATTRIBUTE, Boolean.TRUE);
+        }
+        return true;
+    }
+
+    static boolean isSampled() {
+        RequestAttributes attributes = RequestContextHolder.getRequestAttributes();
+        return attributes != null
+                && attributes.getAttribute(SAMPLED_ATTRIBUTE, RequestAttributes.SCOPE_REQUEST) != null;
+    }
+}
@@ -0,0 +1,39 @@
+package ru.practicum.shareit.logging;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * One line per request with the endpoint, user, status and latency as {@code key=value} fields, written by the
+ * request logging filters of the server and of both gateway runtimes. A {@code shareit.request-logging.sample-rate}
+ * share of requests is logged, server errors always are.
+ */
+@Slf4j
+@Component
+public class RequestLog {
+    private static final int SERVER_ERROR = 500;
+
+    private final double sampleRate;
+
+    public RequestLog(@Value("${shareit.request-logging.sample-rate}") double sampleRate) {
+        if (sampleRate < 0 || sampleRate > 1) {
+            throw new IllegalArgumentException("Request log sample rate must be between 0 and 1, got " + sampleRate);
+        }
+        this.sampleRate = sampleRate;
+    }
+
+    public void log(String method, Object endpoint, String userId, int status, long startedNanos) {
+        if (status >= SERVER_ERROR || sampled()) {
+            log.info("endpoint=\"{} {}\" userId={} status={} latencyMs={}", method, endpoint, userId, status,
+                    TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startedNanos));
+        }
+    }
+
+    private boolean sampled() {
+        return sampleRate >= 1 || sampleRate > 0 && ThreadLocalRandom.current().nextDouble() < sampleRate;
+    }
+}
@@ -0,0 +1,25 @@
+package ru.practicum.shareit.config;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Default Java 11 build: the JDK 21 executor is looked up at runtime, and startup fails on an older JDK rather
+ * than silently falling back. The {@code jdk21} build profile compiles {@code src/main/java21} instead.
+ */
+final class VirtualThreads {
+
+    private VirtualThreads() {
+    }
+
+    static ExecutorService newVirtualThreadPerTaskExecutor() {
+        try {
+            return (ExecutorService) Executors.class.getMethod("newVirtualThreadPerTaskExecutor").invoke(null);
+        } catch (NoSuchMethodException e) {
+            throw new IllegalStateException("Virtual threads need JDK 21 or newer, running on "
+                    + Runtime.version(), e);
+        } catch (ReflectiveOperationException e) {
+            throw new IllegalStateException("Cannot create virtual thread executor", e);
+        }
+    }
+}
@@ -0,0 +1,17 @@
+package ru.practicum.shareit.config;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * {@code jdk21} build profile: compiled with {@code --release 21}, so the executor is created directly.
+ */
+final class VirtualThreads {
+
+    private VirtualThreads() {
+    }
+
+    static ExecutorService newVirtualThreadPerTaskExecutor() {
+        return Executors.newVirtualThreadPerTaskExecutor();
+    }
+}
@@ -0,0 +1,26 @@
+package ru.practicum.shareit.exception;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class LogRateLimiterTest {
+
+    @Test
+    void tryAcquire_whenLimitReached_thenRejectUntilNextSecondAndReportDropped() {
+        AtomicLong clock = new AtomicLong();
+        LogRateLimiter limiter = new LogRateLimiter(2, clock::get);
+
+        assertEquals(0, limiter.tryAcquire());
+        assertEquals(0, limiter.tryAcquire());
+        assertEquals(LogRateLimiter.REJECTED, limiter.tryAcquire());
+        assertEquals(LogRateLimiter.REJECTED, limiter.tryAcquire());
+
+        clock.addAndGet(TimeUnit.SECONDS.toNanos(1));
+        assertEquals(2, limiter.tryAcquire());
+        assertEquals(0, limiter.tryAcquire());
+    }
+}
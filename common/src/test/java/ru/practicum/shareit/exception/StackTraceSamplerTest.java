@@ -0,0 +1,46 @@
+package ru.practicum.shareit.exception;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class StackTraceSamplerTest {
+
+    @AfterEach
+    void resetRequest() {
+        RequestContextHolder.resetRequestAttributes();
+    }
+
+    @Test
+    void clientErrorException_whenRequestNotSampled_thenHasNoStackTrace() {
+        assertEquals(0, new ValidationException("missing").getStackTrace().length);
+
+        handle(new StackTraceSampler(0));
+        assertEquals(0, new ValidationException("missing").getStackTrace().length);
+    }
+
+    @Test
+    void clientErrorException_whenRequestSampled_thenHasStackTrace() {
+        handle(new StackTraceSampler(1));
+
+        assertTrue(new InvalidRequestException("invalid").getStackTrace().length > 0);
+    }
+
+    @Test
+    void constructor_whenRateOutOfRange_thenIllegalArgumentException() {
+        assertThrows(IllegalArgumentException.class, () -> new StackTraceSampler(1.5));
+    }
+
+    private static void handle(StackTraceSampler sampler) {
+        MockHttpServletRequest request = new MockHttpServletRequest();
+        RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(request));
+        sampler.preHandle(request, new MockHttpServletResponse(), new Object());
+    }
+}
@@ -0,0 +1,69 @@
+package ru.practicum.shareit;
+
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.http.*;
+import org.springframework.lang.Nullable;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+
+import static ru.practicum.shareit.Constants.HEADER;
+
+/**
+ * Sends a proxied request to the ShareIt server and hands the upstream body back as raw bytes,
+ * so a response is never parsed into a JSON tree and written out again.
+ */
+public abstract class GatewayTransport {
+    private static final Set<String> HOP_BY_HOP_HEADERS = Set.of("connection", "keep-alive", "transfer-encoding",
+            "te", "trailer", "upgrade", "proxy-authenticate", "proxy-authorization", "content-length");
+
+    public abstract Mono<ResponseEntity<Object>> exchange(HttpMethod method,
+                                                          String path,
+                                                          @Nullable Long userId,
+                                                          @Nullable Map<String, Object> parameters,
+                                                          @Nullable Object body);
+
+    /**
+     * Sends a GET and relays the upstream body chunk by chunk as it arrives, for responses whose size is
+     * not bounded by paging. The body must be subscribed to, that releases the upstream connection.
+     */
+    public abstract Mono<ResponseEntity<Flux<DataBuffer>>> stream(String path, List<MediaType> accept);
+
+    protected static HttpHeaders defaultHeaders(@Nullable Long userId) {
+        HttpHeaders headers = new HttpHeaders();
+        headers.setContentType(MediaType.APPLICATION_JSON);
+        headers.setAccept(List.of(MediaType.APPLICATION_JSON));
+        if (userId != null) {
+            headers.set(HEADER, String.valueOf(userId));
+        }
+        return headers;
+    }
+
+    protected static ResponseEntity<Object> prepareGatewayResponse(HttpStatus status,
+                                                                   @Nullable HttpHeaders upstreamHeaders,
+                                                                   @Nullable byte[] body) {
+        ResponseEntity.BodyBuilder responseBuilder = ResponseEntity.status(status).headers(endToEndHeaders(upstreamHeaders));
+
+        if (body != null && body.length > 0) {
+            return responseBuilder.body(body);
+        }
+
+        return responseBuilder.build();
+    }
+
+    protected static HttpHeaders endToEndHeaders(@Nullable HttpHeaders upstreamHeaders) {
+        HttpHeaders headers = new HttpHeaders();
+        if (upstreamHeaders != null) {
+            upstreamHeaders.forEach((name, values) -> {
+                if (!HOP_BY_HOP_HEADERS.contains(name.toLowerCase(Locale.ROOT))) {
+                    headers.addAll(name, values);
+                }
+            });
+        }
+        return headers;
+    }
+}
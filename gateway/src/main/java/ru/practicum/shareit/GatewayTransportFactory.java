@@ -0,0 +1,9 @@
+package ru.practicum.shareit;
+
+/**
+ * Creates the transport a client uses to reach the server endpoints under {@code apiPrefix}.
+ */
+@FunctionalInterface
+public interface GatewayTransportFactory {
+    GatewayTransport create(String apiPrefix);
+}
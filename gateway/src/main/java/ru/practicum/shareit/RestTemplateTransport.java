@@ -0,0 +1,94 @@
+package ru.practicum.shareit;
+
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferUtils;
+import org.springframework.core.io.buffer.DefaultDataBufferFactory;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.http.client.ClientHttpRequest;
+import org.springframework.http.client.ClientHttpResponse;
+import org.springframework.lang.Nullable;
+import org.springframework.web.client.HttpStatusCodeException;
+import org.springframework.web.client.RestTemplate;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Blocking transport for the servlet runtime: the exchange runs on the request thread when the client is
+ * called, exactly as a plain {@link RestTemplate} call would, and the Mono returned is already resolved.
+ * See {@link ru.practicum.shareit.config.ResolvedMonoConfig} for how Spring MVC writes it without async dispatch.
+ */
+public class RestTemplateTransport extends GatewayTransport {
+    private static final int STREAM_BUFFER_SIZE = 8192;
+
+    private final RestTemplate rest;
+
+    public RestTemplateTransport(RestTemplate rest) {
+        this.rest = rest;
+    }
+
+    @Override
+    public Mono<ResponseEntity<Object>> exchange(HttpMethod method,
+                                                 String path,
+                                                 @Nullable Long userId,
+                                                 @Nullable Map<String, Object> parameters,
+                                                 @Nullable Object body) {
+        return Mono.just(send(method, path, userId, parameters, body));
+    }
+
+    /**
+     * Goes to the request factory directly, because {@link RestTemplate} closes the response
+     * before the body could be relayed.
+     */
+    @Override
+    public Mono<ResponseEntity<Flux<DataBuffer>>> stream(String path, List<MediaType> accept) {
+        ClientHttpResponse response;
+        int status;
+        try {
+            response = open(path, accept);
+            status = response.getRawStatusCode();
+        } catch (IOException e) {
+            return Mono.error(e);
+        }
+        Flux<DataBuffer> body = DataBufferUtils.readInputStream(response::getBody,
+                        DefaultDataBufferFactory.sharedInstance, STREAM_BUFFER_SIZE)
+                .doFinally(signal -> response.close());
+        return Mono.just(ResponseEntity.status(status)
+                .headers(endToEndHeaders(response.getHeaders()))
+                .body(body));
+    }
+
+    private ClientHttpResponse open(String path, List<MediaType> accept) throws IOException {
+        ClientHttpRequest request = rest.getRequestFactory()
+                .createRequest(rest.getUriTemplateHandler().expand(path), HttpMethod.GET);
+        request.getHeaders().setAccept(accept);
+        return request.execute();
+    }
+
+    private ResponseEntity<Object> send(HttpMethod method,
+                                        String path,
+                                        @Nullable Long userId,
+                                        @Nullable Map<String, Object> parameters,
+                                        @Nullable Object body) {
+        HttpEntity<Object> requestEntity = new HttpEntity<>(body, defaultHeaders(userId));
+
+        ResponseEntity<byte[]> shareitServerResponse;
+        try {
+            if (parameters != null) {
+                shareitServerResponse = rest.exchange(path, method, requestEntity, byte[].class, parameters);
+            } else {
+                shareitServerResponse = rest.exchange(path, method, requestEntity, byte[].class);
+            }
+        } catch (HttpStatusCodeException e) {
+            return prepareGatewayResponse(e.getStatusCode(), e.getResponseHeaders(), e.getResponseBodyAsByteArray());
+        }
+        return prepareGatewayResponse(shareitServerResponse.getStatusCode(), shareitServerResponse.getHeaders(),
+                shareitServerResponse.getBody());
+    }
+}
@@ -0,0 +1,55 @@
+package ru.practicum.shareit;
+
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.lang.Nullable;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Non-blocking transport for the reactive runtime: no thread waits while the server handles the request.
+ */
+public class WebClientTransport extends GatewayTransport {
+    private final WebClient web;
+
+    public WebClientTransport(WebClient web) {
+        this.web = web;
+    }
+
+    @Override
+    public Mono<ResponseEntity<Object>> exchange(HttpMethod method,
+                                                 String path,
+                                                 @Nullable Long userId,
+                                                 @Nullable Map<String, Object> parameters,
+                                                 @Nullable Object body) {
+        WebClient.RequestBodySpec request = web.method(method)
+                .uri(path, parameters != null ? parameters : Map.of())
+                .headers(headers -> headers.addAll(defaultHeaders(userId)));
+        WebClient.RequestHeadersSpec<?> spec = body != null ? request.bodyValue(body) : request;
+        return spec.exchangeToMono(response -> response.toEntity(byte[].class))
+                .map(response -> prepareGatewayResponse(response.getStatusCode(), response.getHeaders(),
+                        response.getBody()));
+    }
+
+    /**
+     * Error statuses are relayed like any other response instead of being raised.
+     */
+    @Override
+    public Mono<ResponseEntity<Flux<DataBuffer>>> stream(String path, List<MediaType> accept) {
+        return web.get()
+                .uri(path)
+                .headers(headers -> headers.setAccept(accept))
+                .retrieve()
+                .onStatus(status -> true, response -> Mono.empty())
+                .toEntityFlux(DataBuffer.class)
+                .map(response -> ResponseEntity.status(response.getStatusCode())
+                        .headers(endToEndHeaders(response.getHeaders()))
+                        .body(response.getBody()));
+    }
+}
@@ -1,15 +1,15 @@
 package ru.practicum.shareit.booking;
 
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.beans.factory.annotation.Value;
-import org.springframework.boot.web.client.RestTemplateBuilder;
 import org.springframework.http.ResponseEntity;
-import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
 import org.springframework.stereotype.Service;
-import org.springframework.web.util.DefaultUriBuilderFactory;
+import reactor.core.publisher.Mono;
 import ru.practicum.shareit.BaseClient;
+import ru.practicum.shareit.GatewayTransportFactory;
+import ru.practicum.shareit.booking.dto.BookingApprovalReq;
 import ru.practicum.shareit.booking.dto.BookingDtoReq;
 
+import java.util.List;
 import java.util.Map;
 
 @Service
@@ -17,31 +17,48 @@ public class BookingClient extends BaseClient {
     private static final String API_PREFIX = "/bookings";
 
     @Autowired
-    public BookingClient(@Value("${shareit-server.url}") String serverUrl, RestTemplateBuilder builder) {
-        super(builder.uriTemplateHandler(new DefaultUriBuilderFactory(serverUrl + API_PREFIX)).requestFactory(HttpComponentsClientHttpRequestFactory::new).build());
+    public BookingClient(GatewayTransportFactory transportFactory) {
+        super(transportFactory.create(API_PREFIX));
     }
 
-    public ResponseEntity<Object> getBookingByBookerId(long userId, BookingState state, int from, int size) {
+    public Mono<ResponseEntity<Object>> getBookingByBookerId(long userId, BookingState state, int from, int size) {
         Map<String, Object> parameters = Map.of("state", state.name(), "from", from, "size", size);
         return get("?state={state}&from={from}&size={size}", userId, parameters);
     }
 
-    public ResponseEntity<Object> getBookingByItemOwner(long userId, BookingState state, int from, int size) {
+    public Mono<ResponseEntity<Object>> getBookingByItemOwner(long userId, BookingState state, int from, int size) {
         Map<String, Object> parameters = Map.of("state", state.name(), "from", from, "size", size);
         return get("/owner?state={state}&from={from}&size={size}", userId, parameters);
     }
 
+    public Mono<ResponseEntity<Object>> getBookingPageByBookerId(long userId, BookingState state, String cursor, int size) {
+        Map<String, Object> parameters = Map.of("state", state.name(), "cursor", cursor, "size", size);
+        return get("?state={state}&cursor={cursor}&size={size}", userId, parameters);
+    }
+
+    public Mono<ResponseEntity<Object>> getBookingPageByItemOwner(long userId, BookingState state, String cursor, int size) {
+        Map<String, Object> parameters = Map.of("state", state.name(), "cursor", cursor, "size", size);
+        return get("/owner?state={state}&cursor={cursor}&size={size}", userId, parameters);
+    }
 
-    public ResponseEntity<Object> addBooking(BookingDtoReq requestDto, long userId) {
+    public Mono<ResponseEntity<Object>> addBooking(BookingDtoReq requestDto, long userId) {
         return post("", userId, requestDto);
     }
 
-    public ResponseEntity<Object> getBookingById(long userId, Long bookingId) {
+    public Mono<ResponseEntity<Object>> addBookings(List<BookingDtoReq> requestDtos, long userId) {
+        return post("/batch", userId, requestDtos);
+    }
+
+    public Mono<ResponseEntity<Object>> getBookingById(long userId, Long bookingId) {
         return get("/" + bookingId, userId);
     }
 
-    public ResponseEntity<Object> approveBooking(long userId, long bookingId, Boolean approved) {
+    public Mono<ResponseEntity<Object>> approveBooking(long userId, long bookingId, Boolean approved) {
         Map<String, Object> parameters = Map.of("approved", approved);
         return patch("/" + bookingId + "/?approved={approved}", userId, parameters);
     }
-}
\ No newline at end of file
+
+    public Mono<ResponseEntity<Object>> approveBookings(long userId, List<BookingApprovalReq> approvals) {
+        return patch("/batch", userId, approvals);
+    }
+}
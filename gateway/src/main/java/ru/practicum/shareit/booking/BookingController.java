@@ -1,67 +1,88 @@
 package ru.practicum.shareit.booking;
 
 import lombok.RequiredArgsConstructor;
-import lombok.extern.slf4j.Slf4j;
 import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Controller;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
+import reactor.core.publisher.Mono;
+import ru.practicum.shareit.booking.dto.BookingApprovalReq;
 import ru.practicum.shareit.booking.dto.BookingDtoReq;
 
 import javax.validation.Valid;
 import javax.validation.constraints.Min;
+import javax.validation.constraints.Size;
+import java.util.List;
 
 import static ru.practicum.shareit.Constants.HEADER;
 
-@Slf4j
 @Validated
 @Controller
 @RequiredArgsConstructor
 @RequestMapping(path = "/bookings")
 public class BookingController {
 
+    private static final int MAX_BATCH_SIZE = 500;
+
     private final BookingClient bookingClient;
 
     @PostMapping
-    public ResponseEntity<Object> createBooking(@RequestBody @Valid BookingDtoReq bookingDto,
+    public Mono<ResponseEntity<Object>> createBooking(@RequestBody @Valid BookingDtoReq bookingDto,
                                                 @RequestHeader(HEADER) long userId) {
-        log.info("Created booking successfully for user {}", userId);
         return bookingClient.addBooking(bookingDto, userId);
     }
 
     @PatchMapping("/{bookingId}")
-    public ResponseEntity<Object> approveBooking(@PathVariable long bookingId,
+    public Mono<ResponseEntity<Object>> approveBooking(@PathVariable long bookingId,
                                                  @RequestParam Boolean approved,
                                                  @RequestHeader(HEADER) long userId) {
-        log.info("Updated booking {} successfully by user {}", bookingId, userId);
         return bookingClient.approveBooking(userId, bookingId, approved);
     }
 
+    @PostMapping("/batch")
+    public Mono<ResponseEntity<Object>> createBookings(@RequestBody @Size(min = 1, max = MAX_BATCH_SIZE)
+                                                       List<@Valid BookingDtoReq> bookingDtos,
+                                                       @RequestHeader(HEADER) long userId) {
+        return bookingClient.addBookings(bookingDtos, userId);
+    }
+
+    @PatchMapping("/batch")
+    public Mono<ResponseEntity<Object>> approveBookings(@RequestBody @Size(min = 1, max = MAX_BATCH_SIZE)
+                                                        List<@Valid BookingApprovalReq> approvals,
+                                                        @RequestHeader(HEADER) long userId) {
+        return bookingClient.approveBookings(userId, approvals);
+    }
+
     @GetMapping("/{bookingId}")
-    public ResponseEntity<Object> getBookingById(@PathVariable long bookingId,
+    public Mono<ResponseEntity<Object>> getBookingById(@PathVariable long bookingId,
                                                  @RequestHeader(HEADER) long userId) {
-        log.info("Fetched booking {} successfully by user {}", bookingId, userId);
         return bookingClient.getBookingById(userId, bookingId);
 
     }
 
     @GetMapping
-    public ResponseEntity<Object> getBookingsByUser(@RequestParam(defaultValue = "ALL") String state,
+    public Mono<ResponseEntity<Object>> getBookingsByUser(@RequestParam(defaultValue = "ALL") String state,
                                                     @RequestHeader(HEADER) long userId,
                                                     @RequestParam(name = "from", defaultValue = "0") @Min(0) int from,
-                                                    @RequestParam(name = "size", defaultValue = "10") @Min(0) int size) {
+                                                    @RequestParam(name = "size", defaultValue = "10") @Min(0) int size,
+                                                    @RequestParam(name = "cursor", required = false) String cursor) {
         BookingState bookingState = BookingState.toState(state);
-        log.info("Fetched bookings successfully for user {} with State {}", userId, state);
+        if (cursor != null) {
+            return bookingClient.getBookingPageByBookerId(userId, bookingState, cursor, size);
+        }
         return bookingClient.getBookingByBookerId(userId, bookingState, from, size);
     }
 
     @GetMapping("/owner")
-    public ResponseEntity<Object> getOwnerItemsBooking(@RequestParam(defaultValue = "ALL") String state,
+    public Mono<ResponseEntity<Object>> getOwnerItemsBooking(@RequestParam(defaultValue = "ALL") String state,
                                                        @RequestHeader(HEADER) long userId,
                                                        @RequestParam(name = "from", defaultValue = "0") @Min(0) int from,
-                                                       @RequestParam(name = "size", defaultValue = "10") @Min(0) int size) {
+                                                       @RequestParam(name = "size", defaultValue = "10") @Min(0) int size,
+                                                       @RequestParam(name = "cursor", required = false) String cursor) {
         BookingState bookingState = BookingState.toState(state);
-        log.info("Fetched bookings successfully for item owner {} with state {}", userId, state);
+        if (cursor != null) {
+            return bookingClient.getBookingPageByItemOwner(userId, bookingState, cursor, size);
+        }
         return bookingClient.getBookingByItemOwner(userId, bookingState, from, size);
     }
 }
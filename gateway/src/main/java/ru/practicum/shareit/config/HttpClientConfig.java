@@ -0,0 +1,79 @@
+package ru.practicum.shareit.config;
+
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.httpcomponents.PoolingHttpClientConnectionManagerMetricsBinder;
+import org.apache.http.client.config.RequestConfig;
+import org.apache.http.impl.client.HttpClients;
+import org.apache.http.impl.conn.PoolingHttpClientConnectionManager;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.boot.web.client.RestTemplateBuilder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.client.ClientHttpRequestFactory;
+import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
+import org.springframework.web.util.DefaultUriBuilderFactory;
+import ru.practicum.shareit.GatewayTransportFactory;
+import ru.practicum.shareit.RestTemplateTransport;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * One keep-alive connection pool to the ShareIt server shared by all gateway clients
+ * of the servlet runtime.
+ */
+@Configuration
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
+public class HttpClientConfig {
+    private static final String POOL_NAME = "shareit-server";
+
+    @Bean
+    public PoolingHttpClientConnectionManager shareItServerConnectionManager(
+            @Value("${shareit-server.http.max-total}") int maxTotal,
+            @Value("${shareit-server.http.max-per-route}") int maxPerRoute) {
+        PoolingHttpClientConnectionManager connectionManager = new PoolingHttpClientConnectionManager();
+        connectionManager.setMaxTotal(maxTotal);
+        connectionManager.setDefaultMaxPerRoute(maxPerRoute);
+        return connectionManager;
+    }
+
+    /**
+     * Closing the factory on shutdown closes the client and its pool.
+     * The connection request timeout bounds the wait for a free pooled connection.
+     */
+    @Bean
+    public ClientHttpRequestFactory shareItServerRequestFactory(
+            PoolingHttpClientConnectionManager connectionManager,
+            @Value("${shareit-server.http.connect-timeout}") Duration connectTimeout,
+            @Value("${shareit-server.http.read-timeout}") Duration readTimeout,
+            @Value("${shareit-server.http.pool-timeout}") Duration poolTimeout,
+            @Value("${shareit-server.http.idle-timeout}") Duration idleTimeout) {
+        RequestConfig requestConfig = RequestConfig.custom()
+                .setConnectTimeout((int) connectTimeout.toMillis())
+                .setSocketTimeout((int) readTimeout.toMillis())
+                .setConnectionRequestTimeout((int) poolTimeout.toMillis())
+                .build();
+        return new HttpComponentsClientHttpRequestFactory(HttpClients.custom()
+                .setConnectionManager(connectionManager)
+                .setDefaultRequestConfig(requestConfig)
+                .evictExpiredConnections()
+                .evictIdleConnections(idleTimeout.toMillis(), TimeUnit.MILLISECONDS)
+                .build());
+    }
+
+    @Bean
+    public GatewayTransportFactory restTemplateTransportFactory(@Value("${shareit-server.url}") String serverUrl,
+                                                                RestTemplateBuilder builder,
+                                                                ClientHttpRequestFactory requestFactory) {
+        return apiPrefix -> new RestTemplateTransport(builder
+                .uriTemplateHandler(new DefaultUriBuilderFactory(serverUrl + apiPrefix))
+                .requestFactory(() -> requestFactory)
+                .build());
+    }
+
+    @Bean
+    public MeterBinder shareItServerPoolMetrics(PoolingHttpClientConnectionManager connectionManager) {
+        return new PoolingHttpClientConnectionManagerMetricsBinder(connectionManager, POOL_NAME);
+    }
+}
@@ -0,0 +1,120 @@
+package ru.practicum.shareit.config;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.InitializingBean;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.MethodParameter;
+import org.springframework.core.ResolvableType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.context.request.NativeWebRequest;
+import org.springframework.web.method.support.HandlerMethodReturnValueHandler;
+import org.springframework.web.method.support.ModelAndViewContainer;
+import org.springframework.web.servlet.mvc.method.annotation.HttpEntityMethodProcessor;
+import org.springframework.web.servlet.mvc.method.annotation.RequestMappingHandlerAdapter;
+import reactor.core.Exceptions;
+import reactor.core.publisher.Mono;
+import ru.practicum.shareit.RestTemplateTransport;
+
+import java.lang.reflect.Type;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+
+/**
+ * The controllers return {@code Mono<ResponseEntity<...>>} for both runtimes, but in the servlet one
+ * {@link RestTemplateTransport} has already exchanged with the server by then. Spring MVC would still start
+ * async processing for the Mono and dispatch the request a second time, so the resolved value is written
+ * on the request thread instead. A Mono that is not resolved yet fails the request rather than parking
+ * the request thread on it.
+ * <p>
+ * The handler is put in front of the handlers the {@link RequestMappingHandlerAdapter} has already set up, which
+ * is why this runs once the adapter is injected: ahead of the adapter's own reactive-type handler, which would
+ * otherwise claim the Mono and start async processing. Writing the value is left to the adapter's
+ * {@link HttpEntityMethodProcessor}, so converters and response body advice apply as for a plain
+ * {@code ResponseEntity} return.
+ */
+@Configuration
+@RequiredArgsConstructor
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
+public class ResolvedMonoConfig implements InitializingBean {
+    private final RequestMappingHandlerAdapter handlerAdapter;
+
+    @Override
+    public void afterPropertiesSet() {
+        List<HandlerMethodReturnValueHandler> handlers = new ArrayList<>();
+        handlers.add(new ResolvedMonoReturnValueHandler(handlerAdapter.getReturnValueHandlers().stream()
+                .filter(HttpEntityMethodProcessor.class::isInstance)
+                .findFirst()
+                .orElseThrow()));
+        handlers.addAll(handlerAdapter.getReturnValueHandlers());
+        handlerAdapter.setReturnValueHandlers(handlers);
+    }
+
+    @RequiredArgsConstructor
+    static final class ResolvedMonoReturnValueHandler implements HandlerMethodReturnValueHandler {
+        private final HandlerMethodReturnValueHandler entityHandler;
+
+        @Override
+        public boolean supportsReturnType(MethodParameter returnType) {
+            return Mono.class.isAssignableFrom(returnType.getParameterType())
+                    && ResponseEntity.class.isAssignableFrom(ResolvableType.forMethodParameter(returnType)
+                    .getGeneric().resolve(Object.class));
+        }
+
+        @Override
+        public void handleReturnValue(Object returnValue, MethodParameter returnType,
+                                      ModelAndViewContainer mavContainer, NativeWebRequest webRequest)
+                throws Exception {
+            Object entity = returnValue == null ? null : resolvedValue((Mono<?>) returnValue);
+            entityHandler.handleReturnValue(entity, new ValueParameter(returnType), mavContainer, webRequest);
+        }
+
+        private static Object resolvedValue(Mono<?> mono) {
+            CompletableFuture<?> future = mono.toFuture();
+            if (!future.isDone()) {
+                future.cancel(true);
+                throw new IllegalStateException("Servlet runtime expects an already resolved Mono, "
+                        + "as returned by " + RestTemplateTransport.class.getSimpleName());
+            }
+            try {
+                return future.join();
+            } catch (CompletionException e) {
+                throw Exceptions.propagate(e.getCause());
+            }
+        }
+    }
+
+    /**
+     * The return type of the controller method as seen through the Mono.
+     */
+    private static final class ValueParameter extends MethodParameter {
+        private final Type valueType;
+
+        private ValueParameter(MethodParameter monoParameter) {
+            super(monoParameter);
+            this.valueType = ResolvableType.forMethodParameter(monoParameter).getGeneric().getType();
+        }
+
+        private ValueParameter(ValueParameter original) {
+            super(original);
+            this.valueType = original.valueType;
+        }
+
+        @Override
+        public Class<?> getParameterType() {
+            return ResolvableType.forType(valueType).resolve(Object.class);
+        }
+
+        @Override
+        public Type getGenericParameterType() {
+            return valueType;
+        }
+
+        @Override
+        public ValueParameter clone() {
+            return new ValueParameter(this);
+        }
+    }
+}
@@ -0,0 +1,61 @@
+package ru.practicum.shareit.config;
+
+import io.netty.channel.ChannelOption;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.client.reactive.ReactorClientHttpConnector;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.netty.http.client.HttpClient;
+import reactor.netty.resources.ConnectionProvider;
+import ru.practicum.shareit.GatewayTransportFactory;
+import ru.practicum.shareit.WebClientTransport;
+
+import java.time.Duration;
+
+/**
+ * Non-blocking counterpart of {@link HttpClientConfig} for the reactive runtime, driven by the same
+ * {@code shareit-server.http.*} settings. Pool metrics are published as {@code reactor.netty.connection.provider.*}.
+ */
+@Configuration
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+public class WebClientConfig {
+    private static final String POOL_NAME = "shareit-server";
+
+    /**
+     * Reactor Netty limits connections per remote address, not in total. The gateway has the server as its
+     * only route, so the limit is the smaller of {@code max-total} and {@code max-per-route}, as it is in
+     * the servlet runtime.
+     */
+    @Bean(destroyMethod = "dispose")
+    public ConnectionProvider shareItServerConnectionProvider(
+            @Value("${shareit-server.http.max-total}") int maxTotal,
+            @Value("${shareit-server.http.max-per-route}") int maxPerRoute,
+            @Value("${shareit-server.http.pool-timeout}") Duration poolTimeout,
+            @Value("${shareit-server.http.idle-timeout}") Duration idleTimeout) {
+        return ConnectionProvider.builder(POOL_NAME)
+                .maxConnections(Math.min(maxTotal, maxPerRoute))
+                .pendingAcquireTimeout(poolTimeout)
+                .maxIdleTime(idleTimeout)
+                .metrics(true)
+                .build();
+    }
+
+    @Bean
+    public GatewayTransportFactory webClientTransportFactory(
+            @Value("${shareit-server.url}") String serverUrl,
+            WebClient.Builder builder,
+            ConnectionProvider connectionProvider,
+            @Value("${shareit-server.http.connect-timeout}") Duration connectTimeout,
+            @Value("${shareit-server.http.read-timeout}") Duration readTimeout) {
+        HttpClient httpClient = HttpClient.create(connectionProvider)
+                .option(ChannelOption.CONNECT_TIMEOUT_MILLIS, (int) connectTimeout.toMillis())
+                .responseTimeout(readTimeout);
+        ReactorClientHttpConnector connector = new ReactorClientHttpConnector(httpClient);
+        return apiPrefix -> new WebClientTransport(builder.clone()
+                .baseUrl(serverUrl + apiPrefix)
+                .clientConnector(connector)
+                .build());
+    }
+}
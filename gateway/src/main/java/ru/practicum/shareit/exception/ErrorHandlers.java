@@ -3,11 +3,13 @@ package ru.practicum.shareit.exception;
 import lombok.Builder;
 import lombok.Data;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.http.HttpStatus;
 import org.springframework.validation.BindException;
 import org.springframework.web.bind.annotation.ExceptionHandler;
 import org.springframework.web.bind.annotation.ResponseStatus;
 import org.springframework.web.bind.annotation.RestControllerAdvice;
+import org.springframework.web.bind.support.WebExchangeBindException;
 import org.springframework.web.client.HttpStatusCodeException;
 
 import javax.validation.ConstraintViolationException;
@@ -15,12 +17,17 @@ import javax.validation.ConstraintViolationException;
 @Slf4j
 @RestControllerAdvice
 public class ErrorHandlers {
+    private final LogRateLimiter clientErrorLog;
+
+    public ErrorHandlers(@Value("${shareit.exceptions.log-rate-limit}") int logRateLimit) {
+        this.clientErrorLog = new LogRateLimiter(logRateLimit);
+    }
 
     @ExceptionHandler({ConstraintViolationException.class, HttpStatusCodeException.class,
-            InvalidRequestException.class, BindException.class})
+            InvalidRequestException.class, BindException.class, WebExchangeBindException.class})
     @ResponseStatus(HttpStatus.BAD_REQUEST)
     public ErrorResponse handlerBadRequest(final RuntimeException exception) {
-        log.debug("Получен статус 404 Bad request {}", exception.getMessage(), exception);
+        logBadRequest(exception);
         return ErrorResponse.builder().error(exception.getMessage()).build();
     }
 
@@ -31,6 +38,22 @@ public class ErrorHandlers {
         return ErrorResponse.builder().error(exception.getMessage()).build();
     }
 
+    /**
+     * Expected 4xx outcomes are logged at DEBUG, and within the rate limit even then. The stack trace
+     * is printed only for the sampled {@link ClientErrorException}s that captured one.
+     */
+    private void logBadRequest(RuntimeException exception) {
+        if (!log.isDebugEnabled()) return;
+        long suppressed = clientErrorLog.tryAcquire();
+        if (suppressed == LogRateLimiter.REJECTED) return;
+        if (exception instanceof ClientErrorException && exception.getStackTrace().length > 0) {
+            log.debug("Получен статус 400 Bad request {} ({} similar suppressed)", exception.getMessage(), suppressed,
+                    exception);
+        } else {
+            log.debug("Получен статус 400 Bad request {} ({} similar suppressed)", exception.getMessage(), suppressed);
+        }
+    }
+
     @Data
     @Builder
     public static class ErrorResponse {
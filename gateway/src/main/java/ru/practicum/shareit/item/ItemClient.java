@@ -1,16 +1,15 @@
 package ru.practicum.shareit.item;
 
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.beans.factory.annotation.Value;
-import org.springframework.boot.web.client.RestTemplateBuilder;
 import org.springframework.http.ResponseEntity;
-import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
 import org.springframework.stereotype.Service;
-import org.springframework.web.util.DefaultUriBuilderFactory;
+import reactor.core.publisher.Mono;
 import ru.practicum.shareit.BaseClient;
+import ru.practicum.shareit.GatewayTransportFactory;
 import ru.practicum.shareit.item.dto.CommentReqDto;
 import ru.practicum.shareit.item.dto.ItemDtoCreate;
 
+import java.time.LocalDateTime;
 import java.util.Map;
 
 @Service
@@ -19,24 +18,19 @@ public class ItemClient extends BaseClient {
     private static final String API_PREFIX = "/items";
 
     @Autowired
-    public ItemClient(@Value("${shareit-server.url}") String serverUrl, RestTemplateBuilder builder) {
-        super(
-                builder
-                        .uriTemplateHandler(new DefaultUriBuilderFactory(serverUrl + API_PREFIX))
-                        .requestFactory(HttpComponentsClientHttpRequestFactory::new)
-                        .build()
-        );
+    public ItemClient(GatewayTransportFactory transportFactory) {
+        super(transportFactory.create(API_PREFIX));
     }
 
-    public ResponseEntity<Object> createItem(long ownerId, ItemDtoCreate itemDto) {
+    public Mono<ResponseEntity<Object>> createItem(long ownerId, ItemDtoCreate itemDto) {
         return post("", ownerId, itemDto);
     }
 
-    public ResponseEntity<Object> getItemById(long itemId, long ownerId) {
+    public Mono<ResponseEntity<Object>> getItemById(long itemId, long ownerId) {
         return get("/" + itemId, ownerId);
     }
 
-    public ResponseEntity<Object> getItemsByOwner(long ownerId, int from, int size) {
+    public Mono<ResponseEntity<Object>> getItemsByOwner(long ownerId, int from, int size) {
         Map<String, Object> parameters = Map.of(
                 "from", from,
                 "size", size
@@ -44,11 +38,11 @@ public class ItemClient extends BaseClient {
         return get("?from={from}&size={size}", ownerId, parameters);
     }
 
-    public ResponseEntity<Object> updateItemData(long itemId, long ownerId, ItemDtoCreate itemDto) {
+    public Mono<ResponseEntity<Object>> updateItemData(long itemId, long ownerId, ItemDtoCreate itemDto) {
         return patch("/" + itemId, ownerId, itemDto);
     }
 
-    public ResponseEntity<Object> searchItems(String text, int from, int size) {
+    public Mono<ResponseEntity<Object>> searchItems(String text, int from, int size) {
         Map<String, Object> parameters = Map.of(
                 "text", text,
                 "from", from,
@@ -57,11 +51,22 @@ public class ItemClient extends BaseClient {
         return get("/search?text={text}&from={from}&size={size}", null, parameters);
     }
 
-    public ResponseEntity<Object> removeItem(long itemId) {
+    public Mono<ResponseEntity<Object>> searchItems(String text, LocalDateTime start, LocalDateTime end, int from, int size) {
+        Map<String, Object> parameters = Map.of(
+                "text", text,
+                "start", start,
+                "end", end,
+                "from", from,
+                "size", size
+        );
+        return get("/search?text={text}&start={start}&end={end}&from={from}&size={size}", null, parameters);
+    }
+
+    public Mono<ResponseEntity<Object>> removeItem(long itemId) {
         return delete("/" + itemId);
     }
 
-    public ResponseEntity<Object> addComment(long itemId, long bookerId, CommentReqDto commentRequestDto) {
+    public Mono<ResponseEntity<Object>> addComment(long itemId, long bookerId, CommentReqDto commentRequestDto) {
         return post("/" + itemId + "/comment", bookerId, commentRequestDto);
     }
 
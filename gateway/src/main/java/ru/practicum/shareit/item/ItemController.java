@@ -1,22 +1,24 @@
 package ru.practicum.shareit.item;
 
 import lombok.RequiredArgsConstructor;
-import lombok.extern.slf4j.Slf4j;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Controller;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
+import reactor.core.publisher.Mono;
 import ru.practicum.shareit.GroupsInterface;
+import ru.practicum.shareit.exception.InvalidRequestException;
 import ru.practicum.shareit.item.dto.CommentReqDto;
 import ru.practicum.shareit.item.dto.ItemDtoCreate;
 
 import javax.validation.Valid;
 import javax.validation.constraints.Min;
+import java.time.LocalDateTime;
 import java.util.Collections;
 
 import static ru.practicum.shareit.Constants.HEADER;
 
-@Slf4j
 @Validated
 @Controller
 @RequiredArgsConstructor
@@ -25,58 +27,61 @@ public class ItemController {
     private final ItemClient itemClient;
 
     @PostMapping
-    public ResponseEntity<Object> createItem(@RequestHeader(HEADER) long ownerId,
+    public Mono<ResponseEntity<Object>> createItem(@RequestHeader(HEADER) long ownerId,
                                              @RequestBody @Validated(GroupsInterface.Create.class) ItemDtoCreate itemDto) {
-        log.info("Creating item with owner ID {}", ownerId);
         return itemClient.createItem(ownerId, itemDto);
     }
 
     @GetMapping("/{itemId}")
-    public ResponseEntity<Object> getItemById(@PathVariable long itemId,
+    public Mono<ResponseEntity<Object>> getItemById(@PathVariable long itemId,
                                               @RequestHeader(HEADER) long ownerId) {
-        log.info("Fetching item by ID {}", itemId);
         return itemClient.getItemById(itemId, ownerId);
     }
 
     @GetMapping
-    public ResponseEntity<Object> getItemByOwner(@RequestHeader(HEADER) long ownerId,
+    public Mono<ResponseEntity<Object>> getItemByOwner(@RequestHeader(HEADER) long ownerId,
                                                  @RequestParam(name = "from", defaultValue = "0") @Min(0) int from,
                                                  @RequestParam(name = "size", defaultValue = "10") @Min(0) int size) {
-        log.info("Fetching items by owner ID {}", ownerId);
         return itemClient.getItemsByOwner(ownerId, from, size);
     }
 
     @PatchMapping("/{itemId}")
-    public ResponseEntity<Object> updateItem(@PathVariable long itemId,
+    public Mono<ResponseEntity<Object>> updateItem(@PathVariable long itemId,
                                              @RequestHeader(HEADER) long ownerId,
                                              @Validated(GroupsInterface.Update.class) @RequestBody ItemDtoCreate itemDto) {
-        log.info("Updating item with ID {} by owner ID {}", itemId, ownerId);
         return itemClient.updateItemData(itemId, ownerId, itemDto);
     }
 
     @GetMapping("/search")
-    public ResponseEntity<Object> searchItems(@RequestParam String text,
+    public Mono<ResponseEntity<Object>> searchItems(@RequestParam String text,
                                               @RequestParam(name = "from", defaultValue = "0") @Min(0) int from,
-                                              @RequestParam(name = "size", defaultValue = "10") @Min(0) int size) {
+                                              @RequestParam(name = "size", defaultValue = "10") @Min(0) int size,
+                                              @RequestParam(name = "start", required = false)
+                                              @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime start,
+                                              @RequestParam(name = "end", required = false)
+                                              @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime end) {
         if (text.isBlank()) {
             ResponseEntity.ok(Collections.emptyList());
         }
-        log.info("Searching items with text: {}", text);
+        if (start != null || end != null) {
+            if (start == null || end == null || !end.isAfter(start)) {
+                throw new InvalidRequestException("Search window needs both start and end, with end after start");
+            }
+            return itemClient.searchItems(text.toLowerCase(), start, end, from, size);
+        }
         return itemClient.searchItems(text.toLowerCase(), from, size);
     }
 
     @DeleteMapping("/{itemId}")
-    public ResponseEntity<Object> removeItem(@PathVariable long itemId) {
-        log.info("Removing item with ID {}", itemId);
+    public Mono<ResponseEntity<Object>> removeItem(@PathVariable long itemId) {
         return itemClient.removeItem(itemId);
     }
 
     @PostMapping("/{itemId}/comment")
-    public ResponseEntity<Object> addCommentToItem(
+    public Mono<ResponseEntity<Object>> addCommentToItem(
             @PathVariable long itemId,
             @RequestHeader(HEADER) long bookerId,
             @Valid @RequestBody CommentReqDto commentRequestDto) {
-        log.info("Received request to create comment for item with ID {} from booker with ID {}", itemId, bookerId);
         return itemClient.addComment(itemId, bookerId, commentRequestDto);
     }
 }
@@ -0,0 +1,46 @@
+package ru.practicum.shareit.logging;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.server.reactive.ServerHttpRequest;
+import org.springframework.stereotype.Component;
+import org.springframework.web.reactive.HandlerMapping;
+import org.springframework.web.server.ServerWebExchange;
+import org.springframework.web.server.WebFilter;
+import org.springframework.web.server.WebFilterChain;
+import reactor.core.publisher.Mono;
+
+import static ru.practicum.shareit.Constants.HEADER;
+
+/**
+ * Request log of the reactive runtime, written on the thread that completes the exchange.
+ */
+@Component
+@RequiredArgsConstructor
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+public class ReactiveRequestLoggingFilter implements WebFilter {
+    private final RequestLog requestLog;
+
+    @Override
+    public Mono<Void> filter(ServerWebExchange exchange, WebFilterChain chain) {
+        long started = System.nanoTime();
+        return chain.filter(exchange)
+                .doOnEach(signal -> {
+                    if (signal.isOnComplete() || signal.isOnError()) {
+                        log(exchange, signal.isOnError(), started);
+                    }
+                })
+                .doOnCancel(() -> log(exchange, false, started));
+    }
+
+    private void log(ServerWebExchange exchange, boolean failed, long started) {
+        ServerHttpRequest request = exchange.getRequest();
+        Object pattern = exchange.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        HttpStatus status = exchange.getResponse().getStatusCode();
+        int statusCode = failed ? HttpStatus.INTERNAL_SERVER_ERROR.value() : status == null ? HttpStatus.OK.value()
+                : status.value();
+        requestLog.log(request.getMethodValue(), pattern == null ? request.getPath().value() : pattern,
+                request.getHeaders().getFirst(HEADER), statusCode, started);
+    }
+}
@@ -0,0 +1,54 @@
+package ru.practicum.shareit.logging;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+
+import javax.servlet.FilterChain;
+import javax.servlet.ServletException;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
+
+import static ru.practicum.shareit.Constants.HEADER;
+
+/**
+ * Request log of the servlet runtime. Asynchronous controller results are logged once, when the
+ * dispatch that writes them completes.
+ */
+@Component
+@RequiredArgsConstructor
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
+public class RequestLoggingFilter extends OncePerRequestFilter {
+    private static final String STARTED_ATTRIBUTE = RequestLoggingFilter.class.getName() + ".started";
+
+    private final RequestLog requestLog;
+
+    @Override
+    protected boolean shouldNotFilterAsyncDispatch() {
+        return false;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        if (!isAsyncDispatch(request)) {
+            request.setAttribute(STARTED_ATTRIBUTE, System.nanoTime());
+        }
+        boolean failed = true;
+        try {
+            chain.doFilter(request, response);
+            failed = false;
+        } finally {
+            if (!isAsyncStarted(request)) {
+                Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+                requestLog.log(request.getMethod(), pattern == null ? request.getRequestURI() : pattern,
+                        request.getHeader(HEADER),
+                        failed ? HttpServletResponse.SC_INTERNAL_SERVER_ERROR : response.getStatus(),
+                        (long) request.getAttribute(STARTED_ATTRIBUTE));
+            }
+        }
+    }
+}
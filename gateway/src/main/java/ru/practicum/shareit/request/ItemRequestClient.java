@@ -1,13 +1,11 @@
 package ru.practicum.shareit.request;
 
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.beans.factory.annotation.Value;
-import org.springframework.boot.web.client.RestTemplateBuilder;
 import org.springframework.http.ResponseEntity;
-import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
 import org.springframework.stereotype.Service;
-import org.springframework.web.util.DefaultUriBuilderFactory;
+import reactor.core.publisher.Mono;
 import ru.practicum.shareit.BaseClient;
+import ru.practicum.shareit.GatewayTransportFactory;
 import ru.practicum.shareit.request.dto.ItemDescriptionRequestDto;
 
 import java.util.Map;
@@ -17,22 +15,19 @@ public class ItemRequestClient extends BaseClient {
     private static final String API_PREFIX = "/requests";
 
     @Autowired
-    public ItemRequestClient(@Value("${shareit-server.url}") String serverUrl, RestTemplateBuilder builder) {
-        super(builder
-                .uriTemplateHandler(new DefaultUriBuilderFactory(serverUrl + API_PREFIX))
-                .requestFactory(HttpComponentsClientHttpRequestFactory::new)
-                .build());
+    public ItemRequestClient(GatewayTransportFactory transportFactory) {
+        super(transportFactory.create(API_PREFIX));
     }
 
-    public ResponseEntity<Object> createNewRequestForItem(long userId, ItemDescriptionRequestDto request) {
+    public Mono<ResponseEntity<Object>> createNewRequestForItem(long userId, ItemDescriptionRequestDto request) {
         return post("", userId, request);
     }
 
-    public ResponseEntity<Object> getItemRequestsForUser(long userId) {
+    public Mono<ResponseEntity<Object>> getItemRequestsForUser(long userId) {
         return get("", userId);
     }
 
-    public ResponseEntity<Object> getItemRequestsFromOtherUsers(long userId, int from, int size) {
+    public Mono<ResponseEntity<Object>> getItemRequestsFromOtherUsers(long userId, int from, int size) {
         Map<String, Object> parameters = Map.of(
                 "from", from,
                 "size", size
@@ -40,7 +35,7 @@ public class ItemRequestClient extends BaseClient {
         return get("/all?from={from}&size={size}", userId, parameters);
     }
 
-    public ResponseEntity<Object> getItemRequestById(long userId, long requestId) {
+    public Mono<ResponseEntity<Object>> getItemRequestById(long userId, long requestId) {
         return get("/" + requestId, userId);
     }
 
@@ -0,0 +1,32 @@
+package ru.practicum.shareit.user;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Controller;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestMapping;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * Relays all users from the server to the client of the reactive runtime; buffers are written
+ * as the server produces them and released once written.
+ */
+@Controller
+@RequiredArgsConstructor
+@RequestMapping(path = "/users")
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+public class ReactiveUserStreamController {
+    private final UserClient userClient;
+
+    @GetMapping(params = {"!from", "!size", "!cursor"})
+    public Mono<ResponseEntity<Flux<DataBuffer>>> streamAllUsers(
+            @RequestHeader(name = HttpHeaders.ACCEPT, defaultValue = MediaType.APPLICATION_JSON_VALUE) String accept) {
+        return userClient.streamAllUsers(MediaType.parseMediaTypes(accept));
+    }
+}
@@ -1,46 +1,55 @@
 package ru.practicum.shareit.user;
 
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.beans.factory.annotation.Value;
-import org.springframework.boot.web.client.RestTemplateBuilder;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
-import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
 import org.springframework.stereotype.Service;
-import org.springframework.web.util.DefaultUriBuilderFactory;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
 import ru.practicum.shareit.BaseClient;
+import ru.practicum.shareit.GatewayTransportFactory;
 import ru.practicum.shareit.user.dto.UserDto;
 
+import java.util.List;
+import java.util.Map;
+
 @Service
 public class UserClient extends BaseClient {
     private static final String API_PREFIX = "/users";
 
     @Autowired
-    public UserClient(@Value("${shareit-server.url}") String serverUrl, RestTemplateBuilder builder) {
-        super(
-                builder
-                        .uriTemplateHandler(new DefaultUriBuilderFactory(serverUrl + API_PREFIX))
-                        .requestFactory(HttpComponentsClientHttpRequestFactory::new)
-                        .build()
-        );
+    public UserClient(GatewayTransportFactory transportFactory) {
+        super(transportFactory.create(API_PREFIX));
     }
 
-    public ResponseEntity<Object> addNewUser(UserDto userDto) {
+    public Mono<ResponseEntity<Object>> addNewUser(UserDto userDto) {
         return post("", userDto);
     }
 
-    public ResponseEntity<Object> getUserById(long userId) {
+    public Mono<ResponseEntity<Object>> getUserById(long userId) {
         return get("/" + userId);
     }
 
-    public ResponseEntity<Object> updateUserData(long userId, UserDto userDto) {
+    public Mono<ResponseEntity<Object>> updateUserData(long userId, UserDto userDto) {
         return patch("/" + userId, userDto);
     }
 
-    public ResponseEntity<Object> removeUser(long userId) {
+    public Mono<ResponseEntity<Object>> removeUser(long userId) {
         return delete("/" + userId);
     }
 
-    public ResponseEntity<Object> getAllUsers() {
-        return get("");
+    public Mono<ResponseEntity<Flux<DataBuffer>>> streamAllUsers(List<MediaType> accept) {
+        return stream("", accept);
+    }
+
+    public Mono<ResponseEntity<Object>> getAllUsers(int from, int size) {
+        Map<String, Object> parameters = Map.of("from", from, "size", size);
+        return get("?from={from}&size={size}", null, parameters);
+    }
+
+    public Mono<ResponseEntity<Object>> getUserPage(String cursor, int size) {
+        Map<String, Object> parameters = Map.of("cursor", cursor, "size", size);
+        return get("?cursor={cursor}&size={size}", null, parameters);
     }
-}
\ No newline at end of file
+}
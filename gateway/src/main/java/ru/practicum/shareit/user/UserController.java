@@ -1,17 +1,16 @@
 package ru.practicum.shareit.user;
 
 import lombok.RequiredArgsConstructor;
-import lombok.extern.slf4j.Slf4j;
 import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Controller;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
+import reactor.core.publisher.Mono;
 import ru.practicum.shareit.GroupsInterface;
 import ru.practicum.shareit.user.dto.UserDto;
 
 import javax.validation.constraints.Min;
 
-@Slf4j
 @Validated
 @Controller
 @RequiredArgsConstructor
@@ -20,33 +19,37 @@ public class UserController {
     private final UserClient userClient;
 
     @PostMapping
-    public ResponseEntity<Object> createUser(@RequestBody @Validated(GroupsInterface.Create.class) UserDto userDto) {
-        log.info("Received request to create user: {}", userDto);
+    public Mono<ResponseEntity<Object>> createUser(@RequestBody @Validated(GroupsInterface.Create.class) UserDto userDto) {
         return userClient.addNewUser(userDto);
     }
 
+    /**
+     * Requests without paging parameters are relayed as a stream by {@link UserStreamController}
+     * or {@link ReactiveUserStreamController}.
+     */
     @GetMapping
-    public ResponseEntity<Object> getAllUsers() {
-        log.info("Received request to retrieve all users");
-        return userClient.getAllUsers();
+    public Mono<ResponseEntity<Object>> getUsers(@RequestParam(name = "from", defaultValue = "0") @Min(0) int from,
+                                                 @RequestParam(name = "size", defaultValue = "10") @Min(1) int size,
+                                                 @RequestParam(name = "cursor", required = false) String cursor) {
+        if (cursor != null) {
+            return userClient.getUserPage(cursor, size);
+        }
+        return userClient.getAllUsers(from, size);
     }
 
     @GetMapping("/{userId}")
-    public ResponseEntity<Object> getUserById(@PathVariable long userId) {
-        log.info("Received request to retrieve user with ID: {}", userId);
+    public Mono<ResponseEntity<Object>> getUserById(@PathVariable long userId) {
         return userClient.getUserById(userId);
     }
 
     @PatchMapping("/{userId}")
-    public ResponseEntity<Object> updateUser(@PathVariable @Min(1) long userId,
+    public Mono<ResponseEntity<Object>> updateUser(@PathVariable @Min(1) long userId,
                                              @RequestBody @Validated(GroupsInterface.Update.class) UserDto userDto) {
-        log.info("Received request to update user with ID: {} with data: {}", userId, userDto);
         return userClient.updateUserData(userId, userDto);
     }
 
     @DeleteMapping("/{userId}")
-    public ResponseEntity<Object> removeUser(@PathVariable long userId) {
-        log.info("Received request to remove user with ID: {}", userId);
+    public Mono<ResponseEntity<Object>> removeUser(@PathVariable long userId) {
         return userClient.removeUser(userId);
     }
 }
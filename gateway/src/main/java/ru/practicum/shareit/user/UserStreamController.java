@@ -0,0 +1,41 @@
+package ru.practicum.shareit.user;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferUtils;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Controller;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestMapping;
+import reactor.core.publisher.Flux;
+
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
+
+/**
+ * Relays all users from the server to the client of the servlet runtime, copying one buffer at a time.
+ */
+@Controller
+@RequiredArgsConstructor
+@RequestMapping(path = "/users")
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
+public class UserStreamController {
+    private final UserClient userClient;
+
+    @GetMapping(params = {"!from", "!size", "!cursor"})
+    public void streamAllUsers(@RequestHeader(name = HttpHeaders.ACCEPT,
+                                       defaultValue = MediaType.APPLICATION_JSON_VALUE) String accept,
+                               HttpServletResponse response) throws IOException {
+        ResponseEntity<Flux<DataBuffer>> upstream = userClient.streamAllUsers(MediaType.parseMediaTypes(accept))
+                .block();
+        response.setStatus(upstream.getStatusCodeValue());
+        upstream.getHeaders().forEach((name, values) -> values.forEach(value -> response.addHeader(name, value)));
+        DataBufferUtils.write(upstream.getBody(), response.getOutputStream())
+                .doOnNext(DataBufferUtils::release)
+                .blockLast();
+    }
+}
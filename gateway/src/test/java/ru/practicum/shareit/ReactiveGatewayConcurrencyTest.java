@@ -0,0 +1,110 @@
+package ru.practicum.shareit;
+
+import com.sun.net.httpserver.HttpServer;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.web.server.LocalServerPort;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Proxies more concurrent requests than there are request threads to a slow server. A blocking gateway
+ * needs at least {@code REQUESTS / THREADS} server round trips, the reactive one should need about one.
+ */
+@Slf4j
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties = {
+        "spring.main.web-application-type=reactive",
+        "server.tomcat.threads.max=" + ReactiveGatewayConcurrencyTest.THREADS,
+        "shareit-server.http.max-per-route=" + ReactiveGatewayConcurrencyTest.REQUESTS})
+class ReactiveGatewayConcurrencyTest {
+    static final int THREADS = 4;
+    static final int REQUESTS = 64;
+    private static final long SERVER_DELAY_MILLIS = 500;
+
+    private static HttpServer server;
+
+    @LocalServerPort
+    private int port;
+
+    @DynamicPropertySource
+    static void serverUrl(DynamicPropertyRegistry registry) {
+        registry.add("shareit-server.url", () -> "http://localhost:" + server.getAddress().getPort());
+    }
+
+    @BeforeAll
+    static void startServer() {
+        server = startSlowServer();
+    }
+
+    @AfterAll
+    static void stopServer() {
+        server.stop(0);
+    }
+
+    @Test
+    void shouldServeMoreConcurrentRequestsThanRequestThreads() {
+        HttpClient client = HttpClient.newBuilder().executor(Executors.newFixedThreadPool(REQUESTS)).build();
+        HttpRequest request = HttpRequest.newBuilder(URI.create("http://localhost:" + port + "/users")).build();
+        client.sendAsync(request, HttpResponse.BodyHandlers.ofString()).join();
+
+        long started = System.nanoTime();
+        List<CompletableFuture<HttpResponse<String>>> responses = new ArrayList<>();
+        for (int i = 0; i < REQUESTS; i++) {
+            responses.add(client.sendAsync(request, HttpResponse.BodyHandlers.ofString()));
+        }
+        responses.forEach(response -> {
+            assertEquals(200, response.join().statusCode());
+            assertEquals("[]", response.join().body());
+        });
+        long elapsedMillis = (System.nanoTime() - started) / 1_000_000;
+
+        long blockingLowerBound = (long) Math.ceil((double) REQUESTS / THREADS) * SERVER_DELAY_MILLIS;
+        log.info("{}: {} concurrent requests on {} request threads took {} ms, a blocking gateway needs at least {} ms",
+                getClass().getSimpleName(), REQUESTS, THREADS, elapsedMillis, blockingLowerBound);
+        assertTrue(elapsedMillis < blockingLowerBound / 2,
+                "took " + elapsedMillis + " ms, blocking lower bound is " + blockingLowerBound + " ms");
+    }
+
+    private static HttpServer startSlowServer() {
+        try {
+            HttpServer server = HttpServer.create(new InetSocketAddress("localhost", 0), REQUESTS * 2);
+            server.setExecutor(Executors.newCachedThreadPool());
+            server.createContext("/users", exchange -> {
+                try {
+                    Thread.sleep(SERVER_DELAY_MILLIS);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                byte[] body = "[]".getBytes(StandardCharsets.UTF_8);
+                exchange.getResponseHeaders().add("Content-Type", "application/json");
+                exchange.sendResponseHeaders(200, body.length);
+                try (OutputStream out = exchange.getResponseBody()) {
+                    out.write(body);
+                }
+            });
+            server.start();
+            return server;
+        } catch (IOException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
@@ -0,0 +1,77 @@
+package ru.practicum.shareit;
+
+import com.sun.net.httpserver.HttpServer;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * The servlet runtime writes proxied responses on the request thread, without an async dispatch.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+class ServletGatewayDispatchTest {
+    private static final String USER = "{\"id\":1,\"name\":\"user1\",\"email\":\"user1@email.com\"}";
+
+    private static HttpServer server;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @DynamicPropertySource
+    static void serverUrl(DynamicPropertyRegistry registry) {
+        registry.add("shareit-server.url", () -> "http://localhost:" + server.getAddress().getPort());
+    }
+
+    @BeforeAll
+    static void startServer() throws IOException {
+        server = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+        server.createContext("/users", exchange -> {
+            byte[] body = (exchange.getRequestURI().getPath().equals("/users/1") ? USER : "{\"error\":\"not found\"}")
+                    .getBytes(StandardCharsets.UTF_8);
+            exchange.getResponseHeaders().add("Content-Type", "application/json");
+            exchange.sendResponseHeaders(exchange.getRequestURI().getPath().equals("/users/1") ? 200 : 404,
+                    body.length);
+            try (OutputStream out = exchange.getResponseBody()) {
+                out.write(body);
+            }
+        });
+        server.start();
+    }
+
+    @AfterAll
+    static void stopServer() {
+        server.stop(0);
+    }
+
+    @Test
+    void shouldWriteResponseWithoutAsyncDispatch() throws Exception {
+        mockMvc.perform(get("/users/{userId}", 1))
+                .andExpect(request().asyncNotStarted())
+                .andExpect(status().isOk())
+                .andExpect(content().json(USER));
+    }
+
+    @Test
+    void shouldRelayErrorStatusWithoutAsyncDispatch() throws Exception {
+        mockMvc.perform(get("/users/{userId}", 2))
+                .andExpect(request().asyncNotStarted())
+                .andExpect(status().isNotFound());
+    }
+}
@@ -0,0 +1,21 @@
+package ru.practicum.shareit;
+
+import org.junit.jupiter.api.condition.EnabledIf;
+import org.springframework.boot.test.context.SpringBootTest;
+
+/**
+ * Same load as {@link ReactiveGatewayConcurrencyTest} against the servlet gateway with request handling
+ * on virtual threads. Skipped on JDKs without virtual threads, run the build on JDK 21 (with or without
+ * {@code -P jdk21}) to include it.
+ */
+@EnabledIf("virtualThreadsAvailable")
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties = {
+        "shareit.virtual-threads.enabled=true",
+        "server.tomcat.threads.max=" + ReactiveGatewayConcurrencyTest.THREADS,
+        "shareit-server.http.max-per-route=" + ReactiveGatewayConcurrencyTest.REQUESTS})
+class VirtualThreadGatewayConcurrencyTest extends ReactiveGatewayConcurrencyTest {
+
+    static boolean virtualThreadsAvailable() {
+        return Runtime.version().feature() >= 21;
+    }
+}
@@ -0,0 +1,71 @@
+package ru.practicum.shareit.config;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.core.MethodParameter;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.method.support.HandlerMethodReturnValueHandler;
+import org.springframework.web.method.support.ModelAndViewContainer;
+import reactor.core.publisher.Mono;
+
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+
+class ResolvedMonoConfigTest {
+    private final HandlerMethodReturnValueHandler entityHandler = mock(HandlerMethodReturnValueHandler.class);
+    private final ResolvedMonoConfig.ResolvedMonoReturnValueHandler handler =
+            new ResolvedMonoConfig.ResolvedMonoReturnValueHandler(entityHandler);
+
+    @Test
+    void handleReturnValue_whenResolved_thenWriteEntity() throws Exception {
+        ResponseEntity<Object> entity = ResponseEntity.ok("body");
+
+        handler.handleReturnValue(Mono.just(entity), returnType(), new ModelAndViewContainer(), null);
+
+        verify(entityHandler).handleReturnValue(eq(entity), any(MethodParameter.class), any(), any());
+    }
+
+    @Test
+    void handleReturnValue_whenNotResolved_thenFailWithoutWaiting() {
+        boolean[] cancelled = new boolean[1];
+        Mono<ResponseEntity<Object>> pending = Mono.<ResponseEntity<Object>>never()
+                .doOnCancel(() -> cancelled[0] = true);
+
+        assertThrows(IllegalStateException.class,
+                () -> handler.handleReturnValue(pending, returnType(), new ModelAndViewContainer(), null));
+        assertTrue(cancelled[0]);
+        verifyNoInteractions(entityHandler);
+    }
+
+    @Test
+    void handleReturnValue_whenFailed_thenRethrowError() {
+        IllegalArgumentException error = new IllegalArgumentException("bad");
+
+        IllegalArgumentException thrown = assertThrows(IllegalArgumentException.class,
+                () -> handler.handleReturnValue(Mono.error(error), returnType(), new ModelAndViewContainer(), null));
+        assertSame(error, thrown);
+    }
+
+    @Test
+    void supportsReturnType_whenMonoOfResponseEntity_thenTrue() {
+        assertTrue(handler.supportsReturnType(returnType()));
+    }
+
+    private static MethodParameter returnType() {
+        try {
+            return new MethodParameter(ResolvedMonoConfigTest.class.getDeclaredMethod("endpoint"), -1);
+        } catch (NoSuchMethodException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    @SuppressWarnings("unused")
+    private static Mono<ResponseEntity<Object>> endpoint() {
+        return Mono.empty();
+    }
+}
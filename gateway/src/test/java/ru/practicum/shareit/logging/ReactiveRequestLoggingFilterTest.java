@@ -0,0 +1,69 @@
+package ru.practicum.shareit.logging;
+
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.core.read.ListAppender;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.HttpStatus;
+import org.springframework.mock.http.server.reactive.MockServerHttpRequest;
+import org.springframework.mock.web.server.MockServerWebExchange;
+import org.springframework.web.reactive.HandlerMapping;
+import reactor.core.publisher.Mono;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static ru.practicum.shareit.Constants.HEADER;
+
+class ReactiveRequestLoggingFilterTest {
+    private final Logger logger = (Logger) LoggerFactory.getLogger(RequestLog.class);
+    private final ListAppender<ILoggingEvent> appender = new ListAppender<>();
+
+    @BeforeEach
+    void attachAppender() {
+        appender.start();
+        logger.addAppender(appender);
+    }
+
+    @AfterEach
+    void detachAppender() {
+        logger.detachAppender(appender);
+    }
+
+    @Test
+    void filter_whenExchangeCompletes_thenLogOnce() {
+        MockServerWebExchange exchange = exchange();
+
+        new ReactiveRequestLoggingFilter(new RequestLog(1.0)).filter(exchange, ex -> {
+            ex.getResponse().setStatusCode(HttpStatus.NOT_FOUND);
+            return Mono.empty();
+        }).block();
+
+        assertEquals(1, appender.list.size());
+        String line = appender.list.get(0).getFormattedMessage();
+        assertTrue(line.startsWith("endpoint=\"GET /users/{userId}\" userId=7 status=404 latencyMs="), line);
+    }
+
+    @Test
+    void filter_whenNotSampled_thenLogFailedExchangeOnly() {
+        ReactiveRequestLoggingFilter filter = new ReactiveRequestLoggingFilter(new RequestLog(0));
+
+        filter.filter(exchange(), ex -> Mono.empty()).block();
+        assertEquals(0, appender.list.size());
+
+        Mono<Void> failed = filter.filter(exchange(), ex -> Mono.error(new IllegalStateException("server down")));
+        assertThrows(IllegalStateException.class, failed::block);
+        assertEquals(1, appender.list.size());
+        assertTrue(appender.list.get(0).getFormattedMessage().contains("status=500"));
+    }
+
+    private static MockServerWebExchange exchange() {
+        MockServerWebExchange exchange = MockServerWebExchange.from(MockServerHttpRequest.get("/users/1")
+                .header(HEADER, "7"));
+        exchange.getAttributes().put(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE, "/users/{userId}");
+        return exchange;
+    }
+}
@@ -0,0 +1,103 @@
+package ru.practicum.shareit.logging;
+
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.core.read.ListAppender;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.slf4j.LoggerFactory;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.web.context.request.async.StandardServletAsyncWebRequest;
+import org.springframework.web.context.request.async.WebAsyncUtils;
+import org.springframework.web.servlet.HandlerMapping;
+
+import javax.servlet.DispatcherType;
+import javax.servlet.http.HttpServlet;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static ru.practicum.shareit.Constants.HEADER;
+
+class RequestLoggingFilterTest {
+    private final Logger logger = (Logger) LoggerFactory.getLogger(RequestLog.class);
+    private final ListAppender<ILoggingEvent> appender = new ListAppender<>();
+
+    @BeforeEach
+    void attachAppender() {
+        appender.start();
+        logger.addAppender(appender);
+    }
+
+    @AfterEach
+    void detachAppender() {
+        logger.detachAppender(appender);
+    }
+
+    @Test
+    void doFilter_whenHandledSynchronously_thenLogOnce() throws Exception {
+        new RequestLoggingFilter(new RequestLog(1.0)).doFilter(request(), new MockHttpServletResponse(),
+                new MockFilterChain(servlet(200)));
+
+        assertEquals(1, appender.list.size());
+        String line = appender.list.get(0).getFormattedMessage();
+        assertTrue(line.startsWith("endpoint=\"GET /users/{userId}\" userId=7 status=200 latencyMs="), line);
+    }
+
+    @Test
+    void doFilter_whenHandledAsynchronously_thenLogOnceWhenDispatchCompletes() throws Exception {
+        RequestLoggingFilter filter = new RequestLoggingFilter(new RequestLog(1.0));
+        MockHttpServletRequest request = request();
+        request.setAsyncSupported(true);
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        filter.doFilter(request, response, new MockFilterChain(new HttpServlet() {
+            @Override
+            protected void service(HttpServletRequest req, HttpServletResponse resp) {
+                StandardServletAsyncWebRequest asyncWebRequest = new StandardServletAsyncWebRequest(req, resp);
+                WebAsyncUtils.getAsyncManager(req).setAsyncWebRequest(asyncWebRequest);
+                asyncWebRequest.startAsync();
+            }
+        }));
+        assertEquals(0, appender.list.size());
+
+        request.setAsyncStarted(false);
+        request.setDispatcherType(DispatcherType.ASYNC);
+        filter.doFilter(request, response, new MockFilterChain(servlet(404)));
+
+        assertEquals(1, appender.list.size());
+        String line = appender.list.get(0).getFormattedMessage();
+        assertTrue(line.startsWith("endpoint=\"GET /users/{userId}\" userId=7 status=404 latencyMs="), line);
+    }
+
+    @Test
+    void doFilter_whenNotSampled_thenLogServerErrorsOnly() throws Exception {
+        RequestLoggingFilter filter = new RequestLoggingFilter(new RequestLog(0));
+
+        filter.doFilter(request(), new MockHttpServletResponse(), new MockFilterChain(servlet(404)));
+        assertEquals(0, appender.list.size());
+
+        filter.doFilter(request(), new MockHttpServletResponse(), new MockFilterChain(servlet(502)));
+        assertEquals(1, appender.list.size());
+    }
+
+    private static MockHttpServletRequest request() {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/users/1");
+        request.addHeader(HEADER, "7");
+        request.setAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE, "/users/{userId}");
+        return request;
+    }
+
+    private static HttpServlet servlet(int status) {
+        return new HttpServlet() {
+            @Override
+            protected void service(HttpServletRequest request, HttpServletResponse response) {
+                response.setStatus(status);
+            }
+        };
+    }
+}
@@ -0,0 +1,8 @@
+package ru.practicum.shareit.user;
+
+import org.springframework.boot.test.context.SpringBootTest;
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT,
+        properties = "spring.main.web-application-type=reactive")
+class ReactiveUserStreamGatewayTest extends UserStreamGatewayTest {
+}
@@ -0,0 +1,95 @@
+package ru.practicum.shareit.user;
+
+import com.sun.net.httpserver.HttpServer;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.web.server.LocalServerPort;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Relays an unpaged user list much larger than one transfer buffer and checks that it arrives intact.
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+class UserStreamGatewayTest {
+    private static final int USERS = 20_000;
+    private static final String NDJSON = "application/x-ndjson";
+
+    private static HttpServer server;
+
+    @LocalServerPort
+    private int port;
+
+    @DynamicPropertySource
+    static void serverUrl(DynamicPropertyRegistry registry) {
+        registry.add("shareit-server.url", () -> "http://localhost:" + server.getAddress().getPort());
+    }
+
+    @BeforeAll
+    static void startServer() throws IOException {
+        server = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+        server.createContext("/users", exchange -> {
+            String query = exchange.getRequestURI().getRawQuery();
+            exchange.getResponseHeaders().add("Content-Type", exchange.getRequestHeaders().getFirst("Accept"));
+            exchange.sendResponseHeaders(200, 0);
+            try (OutputStream out = exchange.getResponseBody()) {
+                if (query != null) {
+                    out.write(query.getBytes(StandardCharsets.UTF_8));
+                    return;
+                }
+                for (int id = 1; id <= USERS; id++) {
+                    out.write(line(id).getBytes(StandardCharsets.UTF_8));
+                }
+            }
+        });
+        server.start();
+    }
+
+    @AfterAll
+    static void stopServer() {
+        server.stop(0);
+    }
+
+    @Test
+    void shouldRelayAllUsersAsNdjson() throws Exception {
+        HttpResponse<Stream<String>> response = HttpClient.newHttpClient().send(
+                HttpRequest.newBuilder(URI.create("http://localhost:" + port + "/users"))
+                        .header("Accept", NDJSON)
+                        .build(),
+                HttpResponse.BodyHandlers.ofLines());
+
+        assertEquals(200, response.statusCode());
+        assertEquals(NDJSON, response.headers().firstValue("Content-Type").orElseThrow());
+        int[] expectedId = {1};
+        response.body().forEach(line -> assertEquals(line(expectedId[0]++).trim(), line));
+        assertEquals(USERS + 1, expectedId[0]);
+    }
+
+    @Test
+    void shouldForwardPagingParameters() throws Exception {
+        HttpResponse<String> response = HttpClient.newHttpClient().send(
+                HttpRequest.newBuilder(URI.create("http://localhost:" + port + "/users?cursor=abc&size=5")).build(),
+                HttpResponse.BodyHandlers.ofString());
+
+        assertEquals(200, response.statusCode());
+        assertEquals("cursor=abc&size=5", response.body());
+    }
+
+    private static String line(int id) {
+        return "{\"id\":" + id + ",\"name\":\"user" + id + "\",\"email\":\"user" + id + "@email.com\"}\n";
+    }
+}
@@ -2,6 +2,11 @@ package ru.practicum.shareit;
 
 public class Constants {
     public static final String HEADER = "X-Sharer-User-Id";
+    public static final String NEXT_CURSOR_HEADER = "X-Next-Cursor";
+    /**
+     * Ids an entity takes from its sequence per round trip, equal to INCREMENT BY of the sequences in schema.sql.
+     */
+    public static final int ID_ALLOCATION_SIZE = 50;
 
     public Constants() {
     }
@@ -0,0 +1,180 @@
+package ru.practicum.shareit.booking.availability;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import ru.practicum.shareit.booking.bookingRepository.BookingRepository;
+import ru.practicum.shareit.booking.dto.BookingInterval;
+import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.booking.model.enums.Status;
+
+import java.sql.SQLException;
+import java.time.LocalDateTime;
+import java.util.*;
+
+/**
+ * Per-item calendars of APPROVED bookings that had not ended when the calendar was loaded.
+ * Approved bookings of one item never overlap, so a calendar is a set of disjoint intervals
+ * sorted by start and an overlap check is a single floor lookup.
+ * Calendars expire, other nodes are kept honest by the bookings exclusion constraint.
+ */
+@Component
+public class BookingAvailability {
+    private static final String EXCLUSION_VIOLATION = "23P01";
+    private static final String OVERLAP_CONSTRAINT = "ex_bookings_approved_overlap";
+
+    private final BookingRepository bookingRepository;
+    private final Cache<Long, ItemCalendar> calendars;
+
+    public BookingAvailability(BookingRepository bookingRepository,
+                               @Value("${shareit.availability.spec}") String spec) {
+        this.bookingRepository = bookingRepository;
+        this.calendars = Caffeine.from(spec).build();
+    }
+
+    public boolean isFree(long itemId, LocalDateTime start, LocalDateTime end) {
+        return !hasOverlap(itemId, start, end);
+    }
+
+    public boolean hasOverlap(long itemId, LocalDateTime start, LocalDateTime end) {
+        return hasOverlap(itemId, start, end, null);
+    }
+
+    /**
+     * Checks [start, end) against the approved bookings of the item, ignoring the booking
+     * with {@code exceptBookingId} so that a booking does not conflict with itself.
+     */
+    public boolean hasOverlap(long itemId, LocalDateTime start, LocalDateTime end, Long exceptBookingId) {
+        return calendar(itemId).hasOverlap(start, end, exceptBookingId);
+    }
+
+    /**
+     * Loads the calendars missing from the cache for all the items with one query,
+     * so that a batch of overlap checks does not query item by item.
+     */
+    public void preload(Collection<Long> itemIds) {
+        calendars.getAll(itemIds, ids -> {
+            Map<Long, ItemCalendar> loaded = new HashMap<>();
+            for (Long id : ids) {
+                loaded.put(id, new ItemCalendar());
+            }
+            for (BookingInterval booking : bookingRepository.findApprovedIntervals(toList(ids), LocalDateTime.now())) {
+                loaded.get(booking.getItemId()).add(toInterval(booking));
+            }
+            return loaded;
+        });
+    }
+
+    /**
+     * Applies the new status of the booking once the transaction commits.
+     */
+    public void statusChanged(Booking booking) {
+        long itemId = booking.getItem().getId();
+        Interval interval = new Interval(booking.getId(), booking.getStart(), booking.getEnd());
+        boolean approved = booking.getStatus() == Status.APPROVED;
+        afterCommit(() -> {
+            ItemCalendar calendar = calendars.getIfPresent(itemId);
+            if (calendar == null) return;
+            calendar.remove(interval.id);
+            if (approved) {
+                calendar.add(interval);
+            }
+        });
+    }
+
+    public void evict(long itemId) {
+        afterCommit(() -> calendars.invalidate(itemId));
+    }
+
+    /**
+     * Tells the bookings exclusion constraint rejecting an overlapping approval apart from
+     * any other integrity violation, which is not the client's fault.
+     */
+    public static boolean isOverlapViolation(Throwable e) {
+        for (Throwable cause = e; cause != null; cause = cause.getCause()) {
+            if (cause instanceof SQLException) {
+                SQLException sqlException = (SQLException) cause;
+                if (EXCLUSION_VIOLATION.equals(sqlException.getSQLState())
+                        && String.valueOf(sqlException.getMessage()).contains(OVERLAP_CONSTRAINT))
+                    return true;
+            }
+        }
+        return false;
+    }
+
+    private ItemCalendar calendar(long itemId) {
+        return calendars.get(itemId, id -> {
+            ItemCalendar calendar = new ItemCalendar();
+            for (BookingInterval booking : bookingRepository.findApprovedIntervals(id, LocalDateTime.now())) {
+                calendar.add(toInterval(booking));
+            }
+            return calendar;
+        });
+    }
+
+    private static Interval toInterval(BookingInterval booking) {
+        return new Interval(booking.getId(), booking.getStart(), booking.getEnd());
+    }
+
+    private static List<Long> toList(Iterable<? extends Long> ids) {
+        List<Long> list = new ArrayList<>();
+        ids.forEach(list::add);
+        return list;
+    }
+
+    private static void afterCommit(Runnable action) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            action.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                action.run();
+            }
+        });
+    }
+
+    private static final class ItemCalendar {
+        private final NavigableSet<Interval> intervals = new TreeSet<>(Interval.ORDER);
+        private final Map<Long, Interval> byId = new HashMap<>();
+
+        private synchronized boolean hasOverlap(LocalDateTime start, LocalDateTime end, Long exceptBookingId) {
+            Interval before = intervals.lower(new Interval(Long.MIN_VALUE, end, end));
+            if (before != null && before.id.equals(exceptBookingId)) {
+                before = intervals.lower(before);
+            }
+            return before != null && before.end.isAfter(start);
+        }
+
+        private synchronized void add(Interval interval) {
+            intervals.add(interval);
+            byId.put(interval.id, interval);
+        }
+
+        private synchronized void remove(long bookingId) {
+            Interval interval = byId.remove(bookingId);
+            if (interval != null) {
+                intervals.remove(interval);
+            }
+        }
+    }
+
+    private static final class Interval {
+        private static final Comparator<Interval> ORDER = Comparator.comparing((Interval i) -> i.start)
+                .thenComparingLong(i -> i.id);
+
+        private final Long id;
+        private final LocalDateTime start;
+        private final LocalDateTime end;
+
+        private Interval(long id, LocalDateTime start, LocalDateTime end) {
+            this.id = id;
+            this.start = start;
+            this.end = end;
+        }
+    }
+}
@@ -0,0 +1,25 @@
+package ru.practicum.shareit.booking.bookingRepository;
+
+import lombok.Value;
+import ru.practicum.shareit.booking.model.enums.Status;
+
+import java.util.List;
+
+public interface BookingBatchRepository {
+    /**
+     * Batched {@link BookingRepository#updateStatus}: all changes go to the database in one JDBC batch.
+     * Returns an update count per change in order, 0 where another transaction changed the status first.
+     * If the overlap constraint rejects the batch, it is rolled back to a savepoint and the changes are retried
+     * one by one, each under its own savepoint; the rejected ones get {@link java.sql.Statement#EXECUTE_FAILED}
+     * and the transaction stays usable.
+     * Like {@code updateStatus} it clears the persistence context.
+     */
+    int[] updateStatuses(List<StatusChange> changes);
+
+    @Value
+    class StatusChange {
+        long bookingId;
+        Status expected;
+        Status status;
+    }
+}
@@ -0,0 +1,63 @@
+package ru.practicum.shareit.booking.bookingRepository;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import ru.practicum.shareit.booking.availability.BookingAvailability;
+
+import javax.persistence.EntityManager;
+import java.sql.Savepoint;
+import java.sql.Statement;
+import java.util.List;
+
+@RequiredArgsConstructor
+public class BookingBatchRepositoryImpl implements BookingBatchRepository {
+    private static final String UPDATE_STATUS = "UPDATE bookings SET status = ?, version = version + 1 " +
+            "WHERE id = ? AND status = ?";
+
+    private final EntityManager entityManager;
+    private final JdbcTemplate jdbcTemplate;
+
+    @Override
+    public int[] updateStatuses(List<StatusChange> changes) {
+        if (changes.isEmpty()) {
+            return new int[0];
+        }
+        entityManager.flush();
+        int[] updated = jdbcTemplate.execute((ConnectionCallback<int[]>) connection -> {
+            Savepoint batch = connection.setSavepoint();
+            try {
+                int[] counts = batchUpdate(changes);
+                connection.releaseSavepoint(batch);
+                return counts;
+            } catch (DataIntegrityViolationException e) {
+                if (!BookingAvailability.isOverlapViolation(e)) throw e;
+                connection.rollback(batch);
+            }
+            int[] counts = new int[changes.size()];
+            for (int i = 0; i < changes.size(); i++) {
+                Savepoint change = connection.setSavepoint();
+                try {
+                    counts[i] = batchUpdate(List.of(changes.get(i)))[0];
+                    connection.releaseSavepoint(change);
+                } catch (DataIntegrityViolationException e) {
+                    if (!BookingAvailability.isOverlapViolation(e)) throw e;
+                    connection.rollback(change);
+                    counts[i] = Statement.EXECUTE_FAILED;
+                }
+            }
+            return counts;
+        });
+        entityManager.clear();
+        return updated;
+    }
+
+    private int[] batchUpdate(List<StatusChange> changes) {
+        return jdbcTemplate.batchUpdate(UPDATE_STATUS, changes, changes.size(), (statement, change) -> {
+            statement.setString(1, change.getStatus().name());
+            statement.setLong(2, change.getBookingId());
+            statement.setString(3, change.getExpected().name());
+        })[0];
+    }
+}
@@ -2,16 +2,52 @@ package ru.practicum.shareit.booking.bookingRepository;
 
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import ru.practicum.shareit.booking.dto.BookingDto;
+import ru.practicum.shareit.booking.dto.BookingInterval;
+import ru.practicum.shareit.booking.dto.NearestBooking;
+import ru.practicum.shareit.booking.dto.UpcomingBooking;
 import ru.practicum.shareit.booking.model.Booking;
 import ru.practicum.shareit.booking.model.enums.Status;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
 
-public interface BookingRepository extends JpaRepository<Booking, Long> {
+public interface BookingRepository extends JpaRepository<Booking, Long>, BookingBatchRepository {
+    @Query("SELECT b FROM Booking b " +
+            "JOIN FETCH b.item " +
+            "JOIN FETCH b.booker " +
+            "WHERE b.id = :bookingId")
+    Optional<Booking> findWithItemAndBookerById(long bookingId);
+
+    @Query("SELECT b FROM Booking b " +
+            "JOIN FETCH b.item " +
+            "JOIN FETCH b.booker " +
+            "WHERE b.id IN :bookingIds")
+    List<Booking> findAllWithItemAndBookerByIdIn(Collection<Long> bookingIds);
+
+    /**
+     * Moves the booking from {@code expected} to {@code status} in one statement and returns 0 when another
+     * transaction changed the status first. The persistence context is cleared afterwards, so loaded
+     * bookings are detached and never flushed over the new row.
+     */
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE Booking b SET b.status = :status, b.version = b.version + 1 " +
+            "WHERE b.id = :bookingId " +
+            "AND b.status = :expected")
+    int updateStatus(long bookingId, Status expected, Status status);
+
+    @Query("SELECT b FROM Booking b " +
+            "WHERE b.booker.id = :bookerId ")
     List<Booking> findAllByBookerId(long bookerId, Pageable pageable);
 
+    @Query("SELECT b FROM Booking b " +
+            "WHERE b.booker.id = :bookerId " +
+            "AND b.status = :status ")
     List<Booking> findAllByBookerIdAndStatus(long bookerId, Status status, Pageable pageable);
 
     @Query("SELECT b FROM Booking b " +
@@ -30,6 +66,8 @@ public interface BookingRepository extends JpaRepository<Booking, Long> {
             "AND b.start > CURRENT_TIMESTAMP ")
     List<Booking> findAllByBookerIdFuture(long bookerId, Pageable pageable);
 
+    @Query("SELECT b FROM Booking b " +
+            "WHERE b.item.owner.id = :userId ")
     List<Booking> findAllByItemOwnerId(long userId, Pageable pageable);
 
     @Query("SELECT b FROM Booking b " +
@@ -48,16 +86,19 @@ public interface BookingRepository extends JpaRepository<Booking, Long> {
             "AND b.start > CURRENT_TIMESTAMP ")
     List<Booking> findAllByItemOwnerIdFuture(long ownerId, Pageable pageable);
 
+    @Query("SELECT b FROM Booking b " +
+            "WHERE b.item.owner.id = :ownerId " +
+            "AND b.status = :status ")
     List<Booking> findAllByItemOwnerIdAndStatus(long ownerId, Status status, Pageable pageable);
 
-    @Query("SELECT new ru.practicum.shareit.booking.dto.BookingDto(b.id, b.booker.id) " +
+    @Query("SELECT b.id AS id, b.booker.id AS bookerId, b.start AS start " +
             "FROM Booking AS b " +
             "WHERE b.item.owner.id = :ownerId " +
             "AND b.status = 'APPROVED' " +
             "AND b.item.id = :itemId " +
             "AND b.start > CURRENT_TIMESTAMP " +
             "ORDER BY b.start ASC ")
-    List<BookingDto> findNextClosestBookingByOwnerId(long ownerId, long itemId);
+    List<UpcomingBooking> findNextClosestBookingByOwnerId(long ownerId, long itemId);
 
     @Query("SELECT new ru.practicum.shareit.booking.dto.BookingDto(b.id, b.booker.id) " +
             "FROM Booking AS b " +
@@ -75,5 +116,88 @@ public interface BookingRepository extends JpaRepository<Booking, Long> {
             "ORDER BY b.start DESC")
     List<Booking> findAllByBookerIdAndItemIdPast(long bookerId, long itemId);
 
-    List<Booking> findAllByItemIdIn(List<Long> ids);
+    @Query("SELECT b FROM Booking b " +
+            "WHERE b.booker.id = :bookerId " +
+            "AND (b.start < :start OR (b.start = :start AND b.id < :id)) ")
+    List<Booking> findPageByBookerId(long bookerId, LocalDateTime start, long id, Pageable pageable);
+
+    @Query("SELECT b FROM Booking b " +
+            "WHERE b.booker.id = :bookerId " +
+            "AND b.start < CURRENT_TIMESTAMP " +
+            "AND b.end > CURRENT_TIMESTAMP " +
+            "AND (b.start < :start OR (b.start = :start AND b.id < :id)) ")
+    List<Booking> findPageByBookerIdCurrent(long bookerId, LocalDateTime start, long id, Pageable pageable);
+
+    @Query("SELECT b FROM Booking b " +
+            "WHERE b.booker.id = :bookerId " +
+            "AND b.end < CURRENT_TIMESTAMP " +
+            "AND (b.start < :start OR (b.start = :start AND b.id < :id)) ")
+    List<Booking> findPageByBookerIdPast(long bookerId, LocalDateTime start, long id, Pageable pageable);
+
+    @Query("SELECT b FROM Booking b " +
+            "WHERE b.booker.id = :bookerId " +
+            "AND b.start > CURRENT_TIMESTAMP " +
+            "AND (b.start < :start OR (b.start = :start AND b.id < :id)) ")
+    List<Booking> findPageByBookerIdFuture(long bookerId, LocalDateTime start, long id, Pageable pageable);
+
+    @Query("SELECT b FROM Booking b " +
+            "WHERE b.booker.id = :bookerId " +
+            "AND b.status = :status " +
+            "AND (b.start < :start OR (b.start = :start AND b.id < :id)) ")
+    List<Booking> findPageByBookerIdAndStatus(long bookerId, Status status, LocalDateTime start, long id, Pageable pageable);
+
+    @Query("SELECT b FROM Booking b " +
+            "WHERE b.item.owner.id = :ownerId " +
+            "AND (b.start < :start OR (b.start = :start AND b.id < :id)) ")
+    List<Booking> findPageByItemOwnerId(long ownerId, LocalDateTime start, long id, Pageable pageable);
+
+    @Query("SELECT b FROM Booking b " +
+            "WHERE b.item.owner.id = :ownerId " +
+            "AND b.start < CURRENT_TIMESTAMP " +
+            "AND b.end > CURRENT_TIMESTAMP " +
+            "AND (b.start < :start OR (b.start = :start AND b.id < :id)) ")
+    List<Booking> findPageByItemOwnerIdCurrent(long ownerId, LocalDateTime start, long id, Pageable pageable);
+
+    @Query("SELECT b FROM Booking b " +
+            "WHERE b.item.owner.id = :ownerId " +
+            "AND b.end < CURRENT_TIMESTAMP " +
+            "AND (b.start < :start OR (b.start = :start AND b.id < :id)) ")
+    List<Booking> findPageByItemOwnerIdPast(long ownerId, LocalDateTime start, long id, Pageable pageable);
+
+    @Query("SELECT b FROM Booking b " +
+            "WHERE b.item.owner.id = :ownerId " +
+            "AND b.start > CURRENT_TIMESTAMP " +
+            "AND (b.start < :start OR (b.start = :start AND b.id < :id)) ")
+    List<Booking> findPageByItemOwnerIdFuture(long ownerId, LocalDateTime start, long id, Pageable pageable);
+
+    @Query("SELECT b FROM Booking b " +
+            "WHERE b.item.owner.id = :ownerId " +
+            "AND b.status = :status " +
+            "AND (b.start < :start OR (b.start = :start AND b.id < :id)) ")
+    List<Booking> findPageByItemOwnerIdAndStatus(long ownerId, Status status, LocalDateTime start, long id, Pageable pageable);
+
+    @Query(value = "SELECT r.id AS id, r.item_id AS itemId, r.booker_id AS bookerId, r.upcoming AS upcoming " +
+            "FROM (SELECT f.*, ROW_NUMBER() OVER (PARTITION BY f.item_id, f.upcoming " +
+            "ORDER BY CASE WHEN f.upcoming THEN f.start_date END ASC, f.end_date DESC) AS rn " +
+            "FROM (SELECT b.id, b.item_id, b.booker_id, b.start_date, b.end_date, " +
+            "b.start_date > CURRENT_TIMESTAMP AS upcoming " +
+            "FROM bookings b " +
+            "WHERE b.item_id IN (:itemIds) " +
+            "AND b.status = 'APPROVED' " +
+            "AND b.start_date <> CURRENT_TIMESTAMP) f) r " +
+            "WHERE r.rn = 1",
+            nativeQuery = true)
+    List<NearestBooking> findNearestApprovedBookings(@Param("itemIds") List<Long> itemIds);
+
+    @Query("SELECT b.id AS id, b.item.id AS itemId, b.start AS start, b.end AS end FROM Booking b " +
+            "WHERE b.item.id = :itemId " +
+            "AND b.status = 'APPROVED' " +
+            "AND b.end > :after")
+    List<BookingInterval> findApprovedIntervals(long itemId, LocalDateTime after);
+
+    @Query("SELECT b.id AS id, b.item.id AS itemId, b.start AS start, b.end AS end FROM Booking b " +
+            "WHERE b.item.id IN :itemIds " +
+            "AND b.status = 'APPROVED' " +
+            "AND b.end > :after")
+    List<BookingInterval> findApprovedIntervals(Collection<Long> itemIds, LocalDateTime after);
 }
@@ -1,18 +1,21 @@
 package ru.practicum.shareit.booking.controller;
 
 import lombok.RequiredArgsConstructor;
-import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.ResponseEntity;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
+import ru.practicum.shareit.booking.dto.BookingApprovalReq;
+import ru.practicum.shareit.booking.dto.BookingBatchResult;
 import ru.practicum.shareit.booking.dto.BookingDtoReq;
 import ru.practicum.shareit.booking.dto.BookingDtoResp;
+import ru.practicum.shareit.booking.dto.BookingPage;
 import ru.practicum.shareit.booking.service.BookingService;
 
 import java.util.List;
 
 import static ru.practicum.shareit.Constants.HEADER;
+import static ru.practicum.shareit.Constants.NEXT_CURSOR_HEADER;
 
-@Slf4j
 @Validated
 @RestController
 @RequiredArgsConstructor
@@ -24,50 +27,63 @@ public class BookingController {
     @PostMapping
     public BookingDtoResp createBooking(@RequestBody BookingDtoReq bookingDto,
                                         @RequestHeader(HEADER) long userId) {
-        log.info("Received request to create booking for user {}", userId);
-        BookingDtoResp response = bookingService.addBooking(bookingDto, userId);
-        log.info("Created booking successfully for user {}", userId);
-        return response;
+        return bookingService.addBooking(bookingDto, userId);
     }
 
     @PatchMapping("/{bookingId}")
     public BookingDtoResp approveBooking(@PathVariable long bookingId,
                                          @RequestParam Boolean approved,
                                          @RequestHeader(HEADER) long userId) {
-        log.info("Received request to update booking {} by user {}", bookingId, userId);
-        BookingDtoResp response = bookingService.approveBooking(userId, bookingId, approved);
-        log.info("Updated booking {} successfully by user {}", bookingId, userId);
-        return response;
+        return bookingService.approveBooking(userId, bookingId, approved);
+    }
+
+    @PostMapping("/batch")
+    public List<BookingBatchResult> createBookings(@RequestBody List<BookingDtoReq> bookingDtos,
+                                                   @RequestHeader(HEADER) long userId) {
+        return bookingService.addBookings(bookingDtos, userId);
+    }
+
+    @PatchMapping("/batch")
+    public List<BookingBatchResult> approveBookings(@RequestBody List<BookingApprovalReq> approvals,
+                                                    @RequestHeader(HEADER) long userId) {
+        return bookingService.approveBookings(userId, approvals);
     }
 
     @GetMapping("/{bookingId}")
     public BookingDtoResp getBookingById(@PathVariable long bookingId,
                                          @RequestHeader(HEADER) long userId) {
-        log.info("Received request to fetch booking {} by user {}", bookingId, userId);
-        BookingDtoResp response = bookingService.getBookingById(userId, bookingId);
-        log.info("Fetched booking {} successfully by user {}", bookingId, userId);
-        return response;
+        return bookingService.getBookingById(userId, bookingId);
     }
 
     @GetMapping
-    public List<BookingDtoResp> getBookingsByUser(@RequestParam(defaultValue = "ALL") String state,
-                                                  @RequestHeader(HEADER) long userId,
-                                                  @RequestParam(name = "from", defaultValue = "0") int from,
-                                                  @RequestParam(name = "size", defaultValue = "10") int size) {
-        log.info("Received request to fetch bookings for user {} with state {}", userId, state);
-        List<BookingDtoResp> response = bookingService.getBookingByBookerId(userId, state, from, size);
-        log.info("Fetched bookings successfully for user {} with state {}", userId, state);
-        return response;
+    public ResponseEntity<List<BookingDtoResp>> getBookingsByUser(@RequestParam(defaultValue = "ALL") String state,
+                                                                  @RequestHeader(HEADER) long userId,
+                                                                  @RequestParam(name = "from", defaultValue = "0") int from,
+                                                                  @RequestParam(name = "size", defaultValue = "10") int size,
+                                                                  @RequestParam(name = "cursor", required = false) String cursor) {
+        if (cursor != null) {
+            return toResponse(bookingService.getBookingPageByBookerId(userId, state, cursor, size));
+        }
+        return ResponseEntity.ok(bookingService.getBookingByBookerId(userId, state, from, size));
     }
 
     @GetMapping("/owner")
-    public List<BookingDtoResp> getOwnerItemsBooking(@RequestParam(defaultValue = "ALL") String state,
-                                                     @RequestHeader(HEADER) long userId,
-                                                     @RequestParam(name = "from", defaultValue = "0") int from,
-                                                     @RequestParam(name = "size", defaultValue = "10") int size) {
-        log.info("Received request to fetch bookings for item owner {} with state {}", userId, state);
-        List<BookingDtoResp> response = bookingService.getBookingByItemOwner(userId, state, from, size);
-        log.info("Fetched bookings successfully for item owner {} with state {}", userId, state);
-        return response;
+    public ResponseEntity<List<BookingDtoResp>> getOwnerItemsBooking(@RequestParam(defaultValue = "ALL") String state,
+                                                                     @RequestHeader(HEADER) long userId,
+                                                                     @RequestParam(name = "from", defaultValue = "0") int from,
+                                                                     @RequestParam(name = "size", defaultValue = "10") int size,
+                                                                     @RequestParam(name = "cursor", required = false) String cursor) {
+        if (cursor != null) {
+            return toResponse(bookingService.getBookingPageByItemOwner(userId, state, cursor, size));
+        }
+        return ResponseEntity.ok(bookingService.getBookingByItemOwner(userId, state, from, size));
+    }
+
+    private static ResponseEntity<List<BookingDtoResp>> toResponse(BookingPage page) {
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok();
+        if (page.getNextCursor() != null) {
+            response.header(NEXT_CURSOR_HEADER, page.getNextCursor());
+        }
+        return response.body(page.getBookings());
     }
 }
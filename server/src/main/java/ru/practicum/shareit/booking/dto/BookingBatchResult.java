@@ -0,0 +1,32 @@
+package ru.practicum.shareit.booking.dto;
+
+import lombok.Builder;
+import lombok.Data;
+import org.springframework.http.HttpStatus;
+import ru.practicum.shareit.exception.ConflictException;
+import ru.practicum.shareit.exception.NotFoundException;
+
+/**
+ * Outcome of one entry of a batch request, with the status and body the single-booking endpoint would return.
+ */
+@Data
+@Builder
+public class BookingBatchResult {
+    private int status;
+    private BookingDtoResp booking;
+    private String error;
+
+    public static BookingBatchResult ok(BookingDtoResp booking) {
+        return BookingBatchResult.builder().status(HttpStatus.OK.value()).booking(booking).build();
+    }
+
+    public static BookingBatchResult failed(RuntimeException e) {
+        HttpStatus status = HttpStatus.BAD_REQUEST;
+        if (e instanceof NotFoundException) {
+            status = HttpStatus.NOT_FOUND;
+        } else if (e instanceof ConflictException) {
+            status = HttpStatus.CONFLICT;
+        }
+        return BookingBatchResult.builder().status(status.value()).error(e.getMessage()).build();
+    }
+}
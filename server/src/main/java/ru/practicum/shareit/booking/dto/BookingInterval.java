@@ -0,0 +1,16 @@
+package ru.practicum.shareit.booking.dto;
+
+import java.time.LocalDateTime;
+
+/**
+ * Time window of a booking, without the item and booker associations.
+ */
+public interface BookingInterval {
+    Long getId();
+
+    Long getItemId();
+
+    LocalDateTime getStart();
+
+    LocalDateTime getEnd();
+}
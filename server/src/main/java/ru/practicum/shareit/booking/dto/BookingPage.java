@@ -0,0 +1,16 @@
+package ru.practicum.shareit.booking.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+import java.util.List;
+
+@Data
+@AllArgsConstructor
+public class BookingPage {
+    private List<BookingDtoResp> bookings;
+    /**
+     * Token of the next page, {@code null} when this page is the last one.
+     */
+    private String nextCursor;
+}
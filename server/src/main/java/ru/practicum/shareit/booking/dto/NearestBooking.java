@@ -0,0 +1,14 @@
+package ru.practicum.shareit.booking.dto;
+
+/**
+ * Closest approved booking of an item: the next one when {@code upcoming} is true, the last one otherwise.
+ */
+public interface NearestBooking {
+    Long getId();
+
+    Long getItemId();
+
+    Long getBookerId();
+
+    Boolean getUpcoming();
+}
@@ -0,0 +1,14 @@
+package ru.practicum.shareit.booking.dto;
+
+import java.time.LocalDateTime;
+
+/**
+ * Next booking of an item with the start that makes it the last one.
+ */
+public interface UpcomingBooking {
+    Long getId();
+
+    Long getBookerId();
+
+    LocalDateTime getStart();
+}
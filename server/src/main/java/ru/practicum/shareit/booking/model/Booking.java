@@ -11,6 +11,8 @@ import ru.practicum.shareit.user.model.User;
 import javax.persistence.*;
 import java.time.LocalDateTime;
 
+import static ru.practicum.shareit.Constants.ID_ALLOCATION_SIZE;
+
 @Data
 @Entity
 @Builder
@@ -19,7 +21,8 @@ import java.time.LocalDateTime;
 @AllArgsConstructor
 public class Booking {
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "bookings_seq")
+    @SequenceGenerator(name = "bookings_seq", sequenceName = "bookings_seq", allocationSize = ID_ALLOCATION_SIZE)
     private long id;
     @Column(name = "start_date")
     private LocalDateTime start;
@@ -32,4 +35,10 @@ public class Booking {
     @Enumerated(EnumType.STRING)
     @Column(name = "status", nullable = false)
     private Status status;
+    /**
+     * Guards entity updates against lost writes; status transitions bump it in
+     * {@code BookingRepository.updateStatus}.
+     */
+    @Version
+    private long version;
 }
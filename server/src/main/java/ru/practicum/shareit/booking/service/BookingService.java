@@ -1,7 +1,10 @@
 package ru.practicum.shareit.booking.service;
 
+import ru.practicum.shareit.booking.dto.BookingApprovalReq;
+import ru.practicum.shareit.booking.dto.BookingBatchResult;
 import ru.practicum.shareit.booking.dto.BookingDtoReq;
 import ru.practicum.shareit.booking.dto.BookingDtoResp;
+import ru.practicum.shareit.booking.dto.BookingPage;
 
 import java.util.List;
 
@@ -10,9 +13,17 @@ public interface BookingService {
 
     BookingDtoResp approveBooking(long userId, long bookingId, boolean approved);
 
+    List<BookingBatchResult> addBookings(List<BookingDtoReq> bookingDtos, long userId);
+
+    List<BookingBatchResult> approveBookings(long userId, List<BookingApprovalReq> approvals);
+
     BookingDtoResp getBookingById(long bookingId, long userId);
 
     List<BookingDtoResp> getBookingByBookerId(long userId, String state, int from, int size);
 
     List<BookingDtoResp> getBookingByItemOwner(long userId, String state, int from, int size);
+
+    BookingPage getBookingPageByBookerId(long userId, String state, String cursor, int size);
+
+    BookingPage getBookingPageByItemOwner(long userId, String state, String cursor, int size);
 }
@@ -1,26 +1,41 @@
 package ru.practicum.shareit.booking.service;
 
 import lombok.RequiredArgsConstructor;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import ru.practicum.shareit.booking.availability.BookingAvailability;
+import ru.practicum.shareit.booking.bookingRepository.BookingBatchRepository.StatusChange;
 import ru.practicum.shareit.booking.bookingRepository.BookingRepository;
+import ru.practicum.shareit.booking.dto.BookingApprovalReq;
+import ru.practicum.shareit.booking.dto.BookingBatchResult;
 import ru.practicum.shareit.booking.dto.BookingDtoReq;
 import ru.practicum.shareit.booking.dto.BookingDtoResp;
+import ru.practicum.shareit.booking.dto.BookingPage;
 import ru.practicum.shareit.booking.mapper.BookingMapper;
 import ru.practicum.shareit.booking.model.Booking;
 import ru.practicum.shareit.booking.model.enums.BookingState;
 import ru.practicum.shareit.booking.model.enums.Status;
+import ru.practicum.shareit.exception.ClientErrorException;
+import ru.practicum.shareit.exception.ConflictException;
 import ru.practicum.shareit.exception.InvalidRequestException;
 import ru.practicum.shareit.exception.NotFoundException;
+import ru.practicum.shareit.item.itemService.ItemDtoCache;
 import ru.practicum.shareit.item.model.Item;
 import ru.practicum.shareit.item.repository.ItemRepository;
+import ru.practicum.shareit.pagination.KeysetCursor;
 import ru.practicum.shareit.pagination.Paginator;
 import ru.practicum.shareit.user.model.User;
 import ru.practicum.shareit.user.repository.UserRepository;
+import ru.practicum.shareit.user.userService.UserExistence;
 
-import java.util.List;
+import java.sql.Statement;
+import java.time.LocalDateTime;
+import java.util.*;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 @Service
 @Transactional
@@ -29,22 +44,23 @@ public class BookingServiceImpl implements BookingService {
     private final UserRepository userRepository;
     private final ItemRepository itemRepository;
     private final BookingRepository bookingRepository;
+    private final ItemDtoCache itemDtoCache;
+    private final BookingAvailability bookingAvailability;
+    private final UserExistence userExistence;
     private static final Sort SORT_START_DESC = Sort.by(Sort.Direction.DESC, "start");
+    private static final Sort SORT_START_ID_DESC = SORT_START_DESC.and(Sort.by(Sort.Direction.DESC, "id"));
 
     @Override
     @Transactional
     public BookingDtoResp addBooking(BookingDtoReq bookingDto, long userId) {
-        User booker = checkUser(userId);
+        User booker = findUser(userId);
         Item item = checkItem(bookingDto.getItemId());
-
-        if (!item.getAvailable())
-            throw new InvalidRequestException("Item with id " + bookingDto.getItemId() + " is not available");
-        if (item.getOwner().getId().equals(booker.getId()))
-            throw new NotFoundException("You cannot reserve your item");
+        checkBookable(item, booker, bookingDto);
 
         Booking booking = BookingMapper.fromBookingDtoRequest(bookingDto, booker, item);
         booking.setStatus(Status.WAITING);
         bookingRepository.save(booking);
+        itemDtoCache.evictBookings(item.getId());
         return BookingMapper.toBookingDto(booking);
     }
 
@@ -52,19 +68,130 @@ public class BookingServiceImpl implements BookingService {
     @Transactional
     public BookingDtoResp approveBooking(long userId, long bookingId, boolean approved) {
         checkUser(userId);
-        Booking booking = checkBooking(bookingId);
+        Booking booking = bookingRepository.findWithItemAndBookerById(bookingId)
+                .orElseThrow(() -> new NotFoundException("Booking with id " + bookingId + " not found"));
+        Status currentStatus = booking.getStatus();
+        Status newStatus = checkTransition(booking, userId, approved);
 
-        if (booking.getItem().getOwner().getId() != userId)
-            throw new NotFoundException("User with id " + userId + " is not the owner of item");
+        int updated;
+        try {
+            updated = bookingRepository.updateStatus(bookingId, currentStatus, newStatus);
+        } catch (DataIntegrityViolationException e) {
+            if (!BookingAvailability.isOverlapViolation(e)) throw e;
+            throw new InvalidRequestException("Booking with id " + bookingId + " overlaps an approved booking");
+        }
+        if (updated == 0)
+            throw new ConflictException("Booking with id " + bookingId + " was changed by another request");
+        statusUpdated(booking, newStatus);
+        return BookingMapper.toBookingDto(booking);
+    }
 
-        Status currentStatus = booking.getStatus();
-        if ((currentStatus == Status.APPROVED && approved) || (currentStatus == Status.REJECTED && !approved))
-            throw new InvalidRequestException("Booking status changed");
+    /**
+     * Creates the bookings with one item query and one calendar query for the whole batch.
+     * Entries are checked as by {@link #addBooking} and a failed entry does not stop the others.
+     */
+    @Override
+    @Transactional
+    public List<BookingBatchResult> addBookings(List<BookingDtoReq> bookingDtos, long userId) {
+        User booker = findUser(userId);
+        Set<Long> itemIds = bookingDtos.stream().map(BookingDtoReq::getItemId).collect(Collectors.toSet());
+        Map<Long, Item> items = itemRepository.findAllById(itemIds).stream()
+                .collect(Collectors.toMap(Item::getId, Function.identity()));
+        bookingAvailability.preload(items.keySet());
 
-        booking.setStatus(approved ? Status.APPROVED : Status.REJECTED);
-        bookingRepository.save(booking);
+        BookingBatchResult[] results = new BookingBatchResult[bookingDtos.size()];
+        List<Booking> bookings = new ArrayList<>();
+        List<Integer> positions = new ArrayList<>();
+        for (int i = 0; i < bookingDtos.size(); i++) {
+            BookingDtoReq bookingDto = bookingDtos.get(i);
+            try {
+                Item item = items.get(bookingDto.getItemId());
+                if (item == null)
+                    throw new NotFoundException("Item with id " + bookingDto.getItemId() + " not found");
+                checkBookable(item, booker, bookingDto);
+                Booking booking = BookingMapper.fromBookingDtoRequest(bookingDto, booker, item);
+                booking.setStatus(Status.WAITING);
+                bookings.add(booking);
+                positions.add(i);
+            } catch (ClientErrorException e) {
+                results[i] = BookingBatchResult.failed(e);
+            }
+        }
 
-        return BookingMapper.toBookingDto(booking);
+        bookingRepository.saveAll(bookings);
+        for (int i = 0; i < bookings.size(); i++) {
+            Booking booking = bookings.get(i);
+            itemDtoCache.evictBookings(booking.getItem().getId());
+            results[positions.get(i)] = BookingBatchResult.ok(BookingMapper.toBookingDto(booking));
+        }
+        return Arrays.asList(results);
+    }
+
+    /**
+     * Approves or rejects the bookings with one booking query and a single JDBC batch of conditional updates.
+     * Entries are checked as by {@link #approveBooking} against the state before the batch, approvals within
+     * the batch are also checked against each other, and a failed entry does not stop the others, including
+     * one the overlap constraint rejects after another transaction approved an overlapping booking.
+     */
+    @Override
+    @Transactional
+    public List<BookingBatchResult> approveBookings(long userId, List<BookingApprovalReq> approvals) {
+        checkUser(userId);
+        Set<Long> bookingIds = approvals.stream().map(BookingApprovalReq::getBookingId).collect(Collectors.toSet());
+        Map<Long, Booking> bookings = bookingRepository.findAllWithItemAndBookerByIdIn(bookingIds).stream()
+                .collect(Collectors.toMap(Booking::getId, Function.identity()));
+        bookingAvailability.preload(bookings.values().stream()
+                .map(booking -> booking.getItem().getId())
+                .collect(Collectors.toSet()));
+
+        BookingBatchResult[] results = new BookingBatchResult[approvals.size()];
+        List<StatusChange> changes = new ArrayList<>();
+        List<Integer> positions = new ArrayList<>();
+        Set<Long> seen = new HashSet<>();
+        Map<Long, List<Booking>> approvedInBatch = new HashMap<>();
+        for (int i = 0; i < approvals.size(); i++) {
+            BookingApprovalReq approval = approvals.get(i);
+            long bookingId = approval.getBookingId();
+            try {
+                Booking booking = bookings.get(bookingId);
+                if (booking == null)
+                    throw new NotFoundException("Booking with id " + bookingId + " not found");
+                if (!seen.add(bookingId))
+                    throw new InvalidRequestException("Booking with id " + bookingId + " is repeated in the batch");
+                Status newStatus = checkTransition(booking, userId, approval.isApproved());
+                if (newStatus == Status.APPROVED) {
+                    List<Booking> approved = approvedInBatch.computeIfAbsent(booking.getItem().getId(),
+                            itemId -> new ArrayList<>());
+                    if (approved.stream().anyMatch(other -> overlaps(other, booking)))
+                        throw new InvalidRequestException("Booking with id " + bookingId +
+                                " overlaps a booking approved in the batch");
+                    approved.add(booking);
+                }
+                changes.add(new StatusChange(bookingId, booking.getStatus(), newStatus));
+                positions.add(i);
+            } catch (ClientErrorException e) {
+                results[i] = BookingBatchResult.failed(e);
+            }
+        }
+
+        int[] updated = bookingRepository.updateStatuses(changes);
+        for (int i = 0; i < changes.size(); i++) {
+            StatusChange change = changes.get(i);
+            Booking booking = bookings.get(change.getBookingId());
+            if (updated[i] == Statement.EXECUTE_FAILED) {
+                results[positions.get(i)] = BookingBatchResult.failed(new InvalidRequestException(
+                        "Booking with id " + change.getBookingId() + " overlaps an approved booking"));
+                continue;
+            }
+            if (updated[i] == 0) {
+                results[positions.get(i)] = BookingBatchResult.failed(new ConflictException(
+                        "Booking with id " + change.getBookingId() + " was changed by another request"));
+                continue;
+            }
+            statusUpdated(booking, change.getStatus());
+            results[positions.get(i)] = BookingBatchResult.ok(BookingMapper.toBookingDto(booking));
+        }
+        return Arrays.asList(results);
     }
 
     @Override
@@ -142,7 +269,130 @@ public class BookingServiceImpl implements BookingService {
     }
 
 
-    private User checkUser(long userId) {
+    @Override
+    @Transactional(readOnly = true)
+    public BookingPage getBookingPageByBookerId(long userId, String stateString, String cursor, int size) {
+        Pageable page = Paginator.createKeysetPageRequest(size, SORT_START_ID_DESC);
+        KeysetCursor after = KeysetCursor.decode(cursor);
+        checkUser(userId);
+        BookingState state = BookingState.toState(stateString);
+        LocalDateTime start = after.getStart();
+        long id = after.getId();
+        List<Booking> bookings;
+        switch (state) {
+            case ALL:
+                bookings = bookingRepository.findPageByBookerId(userId, start, id, page);
+                break;
+            case CURRENT:
+                bookings = bookingRepository.findPageByBookerIdCurrent(userId, start, id, page);
+                break;
+            case PAST:
+                bookings = bookingRepository.findPageByBookerIdPast(userId, start, id, page);
+                break;
+            case FUTURE:
+                bookings = bookingRepository.findPageByBookerIdFuture(userId, start, id, page);
+                break;
+            case WAITING:
+                bookings = bookingRepository.findPageByBookerIdAndStatus(userId, Status.WAITING, start, id, page);
+                break;
+            case REJECTED:
+                bookings = bookingRepository.findPageByBookerIdAndStatus(userId, Status.REJECTED, start, id, page);
+                break;
+            default:
+                throw new InvalidRequestException("Unknown state: " + state);
+        }
+        return toBookingPage(bookings, size);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public BookingPage getBookingPageByItemOwner(long userId, String stateString, String cursor, int size) {
+        Pageable page = Paginator.createKeysetPageRequest(size, SORT_START_ID_DESC);
+        KeysetCursor after = KeysetCursor.decode(cursor);
+        checkUser(userId);
+        BookingState state = BookingState.toState(stateString);
+        LocalDateTime start = after.getStart();
+        long id = after.getId();
+        List<Booking> bookings;
+        switch (state) {
+            case ALL:
+                bookings = bookingRepository.findPageByItemOwnerId(userId, start, id, page);
+                break;
+            case CURRENT:
+                bookings = bookingRepository.findPageByItemOwnerIdCurrent(userId, start, id, page);
+                break;
+            case FUTURE:
+                bookings = bookingRepository.findPageByItemOwnerIdFuture(userId, start, id, page);
+                break;
+            case PAST:
+                bookings = bookingRepository.findPageByItemOwnerIdPast(userId, start, id, page);
+                break;
+            case WAITING:
+                bookings = bookingRepository.findPageByItemOwnerIdAndStatus(userId, Status.WAITING, start, id, page);
+                break;
+            case REJECTED:
+                bookings = bookingRepository.findPageByItemOwnerIdAndStatus(userId, Status.REJECTED, start, id, page);
+                break;
+            default:
+                throw new InvalidRequestException("Unknown state: " + state);
+        }
+        return toBookingPage(bookings, size);
+    }
+
+    private BookingPage toBookingPage(List<Booking> bookings, int size) {
+        String nextCursor = null;
+        if (bookings.size() == size) {
+            Booking last = bookings.get(bookings.size() - 1);
+            nextCursor = new KeysetCursor(last.getStart(), last.getId()).encode();
+        }
+        return new BookingPage(BookingMapper.toBookingDto(bookings), nextCursor);
+    }
+
+    private void checkBookable(Item item, User booker, BookingDtoReq bookingDto) {
+        if (!item.getAvailable())
+            throw new InvalidRequestException("Item with id " + item.getId() + " is not available");
+        if (item.getOwner().getId().equals(booker.getId()))
+            throw new NotFoundException("You cannot reserve your item");
+        if (bookingAvailability.hasOverlap(item.getId(), bookingDto.getStart(), bookingDto.getEnd()))
+            throw new InvalidRequestException("Item with id " + item.getId() + " is already booked for these dates");
+    }
+
+    private Status checkTransition(Booking booking, long userId, boolean approved) {
+        if (booking.getItem().getOwner().getId() != userId)
+            throw new NotFoundException("User with id " + userId + " is not the owner of item");
+
+        Status currentStatus = booking.getStatus();
+        if ((currentStatus == Status.APPROVED && approved) || (currentStatus == Status.REJECTED && !approved))
+            throw new InvalidRequestException("Booking status changed");
+        long itemId = booking.getItem().getId();
+        if (approved && bookingAvailability.hasOverlap(itemId, booking.getStart(), booking.getEnd(), booking.getId()))
+            throw new InvalidRequestException("Booking with id " + booking.getId() + " overlaps an approved booking");
+        return approved ? Status.APPROVED : Status.REJECTED;
+    }
+
+    /**
+     * Mirrors a successful conditional update on the booking, which is detached by then.
+     */
+    private void statusUpdated(Booking booking, Status newStatus) {
+        booking.setStatus(newStatus);
+        booking.setVersion(booking.getVersion() + 1);
+        bookingAvailability.statusChanged(booking);
+        itemDtoCache.evictBookings(booking.getItem().getId());
+    }
+
+    private static boolean overlaps(Booking first, Booking second) {
+        return first.getStart().isBefore(second.getEnd()) && second.getStart().isBefore(first.getEnd());
+    }
+
+    private void checkUser(long userId) {
+        if (!userExistence.exists(userId))
+            throw new NotFoundException("User with id " + userId + " not found");
+    }
+
+    /**
+     * The booker is loaded rather than checked, a new booking is returned with the booker's details.
+     */
+    private User findUser(long userId) {
         return userRepository.findById(userId)
                 .orElseThrow(() -> new NotFoundException("User with id " + userId + " not found"));
     }
@@ -0,0 +1,70 @@
+package ru.practicum.shareit.config;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.cache.caffeine.CaffeineCacheManager;
+import org.springframework.cache.transaction.TransactionAwareCacheManagerProxy;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import ru.practicum.shareit.item.itemService.ItemDtoCache.ItemBookings;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+
+@Configuration
+@EnableCaching
+public class CacheConfig {
+    public static final String ITEMS = "items";
+    public static final String ITEM_BOOKINGS = "itemBookings";
+
+    /**
+     * Puts and evictions are deferred until the surrounding transaction commits,
+     * so a rolled back write never evicts and an uncommitted read is never cached.
+     */
+    @Bean
+    public CacheManager cacheManager(@Value("${shareit.cache.spec}") String spec,
+                                     @Value("${shareit.cache.item-bookings.maximum-size}") long bookingsMaximumSize,
+                                     @Value("${shareit.cache.item-bookings.expire-after-write}") Duration bookingsTtl) {
+        CaffeineCacheManager cacheManager = new CaffeineCacheManager(ITEMS);
+        cacheManager.setCacheSpecification(spec);
+        cacheManager.setAllowNullValues(false);
+        cacheManager.registerCustomCache(ITEM_BOOKINGS, Caffeine.newBuilder()
+                .maximumSize(bookingsMaximumSize)
+                .expireAfter(new UntilNextBooking(bookingsTtl))
+                .recordStats()
+                .build());
+        return new TransactionAwareCacheManagerProxy(cacheManager);
+    }
+
+    /**
+     * Expires {@link ItemBookings} after the TTL or when the next booking starts, whichever comes first.
+     */
+    static final class UntilNextBooking implements Expiry<Object, Object> {
+        private final long ttlNanos;
+
+        UntilNextBooking(Duration ttl) {
+            this.ttlNanos = ttl.toNanos();
+        }
+
+        @Override
+        public long expireAfterCreate(Object key, Object value, long currentTime) {
+            LocalDateTime validUntil = ((ItemBookings) value).getValidUntil();
+            if (validUntil == null) return ttlNanos;
+            long untilNext = Duration.between(LocalDateTime.now(), validUntil).toNanos();
+            return Math.max(0, Math.min(ttlNanos, untilNext));
+        }
+
+        @Override
+        public long expireAfterUpdate(Object key, Object value, long currentTime, long currentDuration) {
+            return expireAfterCreate(key, value, currentTime);
+        }
+
+        @Override
+        public long expireAfterRead(Object key, Object value, long currentTime, long currentDuration) {
+            return currentDuration;
+        }
+    }
+}
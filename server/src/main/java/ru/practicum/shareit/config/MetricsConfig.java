@@ -0,0 +1,80 @@
+package ru.practicum.shareit.config;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.aopalliance.intercept.MethodInterceptor;
+import org.aopalliance.intercept.MethodInvocation;
+import org.hibernate.cfg.AvailableSettings;
+import org.springframework.aop.framework.autoproxy.AbstractBeanFactoryAwareAdvisingPostProcessor;
+import org.springframework.aop.support.ComposablePointcut;
+import org.springframework.aop.support.DefaultPointcutAdvisor;
+import org.springframework.aop.support.RootClassFilter;
+import org.springframework.aop.support.annotation.AnnotationMatchingPointcut;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.data.repository.Repository;
+import org.springframework.stereotype.Service;
+import ru.practicum.shareit.metrics.MethodMetrics;
+import ru.practicum.shareit.metrics.SqlStatementCounter;
+
+/**
+ * Adds {@link MethodMetrics} to the {@link Service} beans as {@code shareit.service} and to the
+ * Spring Data repositories as {@code shareit.repository}. Both run outside of the transaction interceptor,
+ * so service timings include the commit. Spring Data's own repository timer is switched off in
+ * application.properties to avoid timing the same calls twice.
+ * {@link SqlStatementCounter} is registered as the Hibernate statement inspector for the per-request SQL count.
+ */
+@Configuration
+public class MetricsConfig {
+
+    @Bean
+    public static AbstractBeanFactoryAwareAdvisingPostProcessor serviceMetricsPostProcessor(
+            ObjectProvider<MeterRegistry> meterRegistry) {
+        return new MethodMetricsPostProcessor(new DefaultPointcutAdvisor(
+                new AnnotationMatchingPointcut(Service.class),
+                new LazyMethodMetrics(meterRegistry, "shareit.service")));
+    }
+
+    @Bean
+    public static AbstractBeanFactoryAwareAdvisingPostProcessor repositoryMetricsPostProcessor(
+            ObjectProvider<MeterRegistry> meterRegistry) {
+        return new MethodMetricsPostProcessor(new DefaultPointcutAdvisor(
+                new ComposablePointcut(new RootClassFilter(Repository.class)),
+                new LazyMethodMetrics(meterRegistry, "shareit.repository")));
+    }
+
+    @Bean
+    public HibernatePropertiesCustomizer sqlStatementCounterCustomizer() {
+        return properties -> properties.put(AvailableSettings.STATEMENT_INSPECTOR, new SqlStatementCounter());
+    }
+
+    private static final class MethodMetricsPostProcessor extends AbstractBeanFactoryAwareAdvisingPostProcessor {
+        private MethodMetricsPostProcessor(DefaultPointcutAdvisor advisor) {
+            this.advisor = advisor;
+            setBeforeExistingAdvisors(true);
+        }
+    }
+
+    /**
+     * Post processors are created before the meter registry, which is looked up on the first call.
+     */
+    private static final class LazyMethodMetrics implements MethodInterceptor {
+        private final ObjectProvider<MeterRegistry> meterRegistry;
+        private final String name;
+        private volatile MethodMetrics delegate;
+
+        private LazyMethodMetrics(ObjectProvider<MeterRegistry> meterRegistry, String name) {
+            this.meterRegistry = meterRegistry;
+            this.name = name;
+        }
+
+        @Override
+        public Object invoke(MethodInvocation invocation) throws Throwable {
+            if (delegate == null) {
+                delegate = new MethodMetrics(meterRegistry.getObject(), name);
+            }
+            return delegate.invoke(invocation);
+        }
+    }
+}
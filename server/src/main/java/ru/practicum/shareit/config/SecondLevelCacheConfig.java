@@ -0,0 +1,53 @@
+package ru.practicum.shareit.config;
+
+import com.github.benmanes.caffeine.jcache.configuration.CaffeineConfiguration;
+import com.github.benmanes.caffeine.jcache.spi.CaffeineCachingProvider;
+import org.hibernate.cache.jcache.ConfigSettings;
+import org.hibernate.cfg.AvailableSettings;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import javax.cache.CacheManager;
+import java.time.Duration;
+import java.util.OptionalLong;
+
+/**
+ * Hibernate second-level cache of the {@link #USER_REGION user} and {@link #ITEM_REGION item} entities on an
+ * in-process Caffeine JCache, so {@code findById} and lazy owner loads skip the database. Updates go through the
+ * loaded entities and keep their entries current, and a bulk JPQL statement clears the region of the entity it
+ * targets. Rows deleted by an {@code ON DELETE CASCADE} are the exception, Hibernate does not see them, so they
+ * are evicted with {@link ru.practicum.shareit.persistence.SecondLevelCacheRepository#evictCached}.
+ * Hit and miss counts are the {@code hibernate.second.level.cache.requests} metrics, tagged by region.
+ */
+@Configuration
+@ConditionalOnProperty(name = "shareit.l2-cache.enabled", havingValue = "true")
+public class SecondLevelCacheConfig {
+    public static final String USER_REGION = "users";
+    public static final String ITEM_REGION = "items";
+
+    @Bean(destroyMethod = "close")
+    public CacheManager secondLevelCacheManager(@Value("${shareit.l2-cache.maximum-size}") long maximumSize,
+                                                @Value("${shareit.l2-cache.expire-after-write}") Duration ttl) {
+        CacheManager cacheManager = new CaffeineCachingProvider().getCacheManager();
+        CaffeineConfiguration<Object, Object> configuration = new CaffeineConfiguration<>();
+        configuration.setMaximumSize(OptionalLong.of(maximumSize));
+        configuration.setExpireAfterWrite(OptionalLong.of(ttl.toNanos()));
+        cacheManager.createCache(USER_REGION, configuration);
+        cacheManager.createCache(ITEM_REGION, configuration);
+        return cacheManager;
+    }
+
+    @Bean
+    public HibernatePropertiesCustomizer secondLevelCacheCustomizer(CacheManager secondLevelCacheManager) {
+        return properties -> {
+            properties.put(AvailableSettings.USE_SECOND_LEVEL_CACHE, true);
+            properties.put(AvailableSettings.CACHE_REGION_FACTORY, "jcache");
+            properties.put(ConfigSettings.CACHE_MANAGER, secondLevelCacheManager);
+            properties.put(ConfigSettings.MISSING_CACHE_STRATEGY, "fail");
+            properties.put(AvailableSettings.GENERATE_STATISTICS, true);
+        };
+    }
+}
@@ -0,0 +1,10 @@
+package ru.practicum.shareit.exception;
+
+/**
+ * The resource was changed by a concurrent request; re-reading it and retrying may succeed.
+ */
+public class ConflictException extends ClientErrorException {
+    public ConflictException(String message) {
+        super(message);
+    }
+}
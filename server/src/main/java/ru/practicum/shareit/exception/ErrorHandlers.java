@@ -1,6 +1,8 @@
 package ru.practicum.shareit.exception;
 
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.OptimisticLockingFailureException;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.MethodArgumentNotValidException;
@@ -11,20 +13,33 @@ import org.springframework.web.bind.annotation.RestControllerAdvice;
 @Slf4j
 @RestControllerAdvice
 public class ErrorHandlers {
+    private final LogRateLimiter clientErrorLog;
+
+    public ErrorHandlers(@Value("${shareit.exceptions.log-rate-limit}") int logRateLimit) {
+        this.clientErrorLog = new LogRateLimiter(logRateLimit);
+    }
+
     @ExceptionHandler({MethodArgumentNotValidException.class, ValidationException.class})
     @ResponseStatus(HttpStatus.BAD_REQUEST)
     public ErrorResponse handleValidationExceptions(RuntimeException e) {
-        log.error("Validation Error: {}", e.getMessage(), e);
+        logClientError("Validation Error", e);
         return new ErrorResponse("validation error: " + e.getMessage());
     }
 
     @ExceptionHandler(NotFoundException.class)
     @ResponseStatus(HttpStatus.NOT_FOUND)
     public ErrorResponse notFoundError(NotFoundException e) {
-        log.error("Not Found Error: {}", e.getMessage(), e);
+        logClientError("Not Found Error", e);
         return new ErrorResponse(String.format("not found: %s", e.getMessage()));
     }
 
+    @ExceptionHandler({ConflictException.class, OptimisticLockingFailureException.class})
+    @ResponseStatus(HttpStatus.CONFLICT)
+    public ErrorResponse conflictError(RuntimeException e) {
+        logClientError("Conflict", e);
+        return new ErrorResponse("conflict: " + e.getMessage());
+    }
+
     @ExceptionHandler(Throwable.class)
     public ResponseEntity<ErrorResponse> handleThrowable(Throwable ex) {
         log.error("An unexpected error occurred: {}", ex.getMessage(), ex);
@@ -35,8 +50,21 @@ public class ErrorHandlers {
     @ExceptionHandler
     @ResponseStatus(HttpStatus.BAD_REQUEST)
     public ErrorResponse handleStateException(final InvalidRequestException ex) {
-        log.error("An unexpected error occurred: {}", ex.getMessage(), ex);
+        logClientError("Invalid Request", ex);
         return new ErrorResponse(ex.getMessage());
     }
 
+    /**
+     * Expected 4xx outcomes are logged at INFO within the rate limit. The stack trace is printed
+     * only for the sampled {@link ClientErrorException}s that captured one.
+     */
+    private void logClientError(String kind, RuntimeException e) {
+        long suppressed = clientErrorLog.tryAcquire();
+        if (suppressed == LogRateLimiter.REJECTED) return;
+        if (e instanceof ClientErrorException && e.getStackTrace().length > 0) {
+            log.info("{}: {} ({} similar suppressed)", kind, e.getMessage(), suppressed, e);
+        } else {
+            log.info("{}: {} ({} similar suppressed)", kind, e.getMessage(), suppressed);
+        }
+    }
 }
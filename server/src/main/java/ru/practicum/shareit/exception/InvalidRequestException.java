@@ -1,7 +0,0 @@
-package ru.practicum.shareit.exception;
-
-public class InvalidRequestException extends RuntimeException {
-    public InvalidRequestException(String message) {
-        super(message);
-    }
-}
@@ -1,7 +0,0 @@
-package ru.practicum.shareit.exception;
-
-public class ValidationException extends RuntimeException {
-    public ValidationException(String message) {
-        super(message);
-    }
-}
@@ -1,20 +1,21 @@
 package ru.practicum.shareit.item.controllers;
 
 import lombok.RequiredArgsConstructor;
-import lombok.extern.slf4j.Slf4j;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
+import ru.practicum.shareit.exception.InvalidRequestException;
 import ru.practicum.shareit.item.dto.CommentReqDto;
 import ru.practicum.shareit.item.dto.CommentResDto;
 import ru.practicum.shareit.item.dto.ItemDto;
 import ru.practicum.shareit.item.dto.ItemDtoCreate;
 import ru.practicum.shareit.item.itemService.ItemService;
 
+import java.time.LocalDateTime;
 import java.util.List;
 
 import static ru.practicum.shareit.Constants.HEADER;
 
-@Slf4j
 @Validated
 @RestController
 @RequiredArgsConstructor
@@ -25,14 +26,12 @@ public class ItemController {
     @PostMapping
     public ItemDto createItem(@RequestHeader(HEADER) long ownerId,
                               @RequestBody ItemDtoCreate itemDto) {
-        log.info("Creating item with owner Id {}", ownerId);
         return itemService.createItem(ownerId, itemDto);
     }
 
     @GetMapping("/{itemId}")
     public ItemDto getItemById(@PathVariable long itemId,
                                @RequestHeader(HEADER) long ownerId) {
-        log.info("Fetching item by ID {}", itemId);
         return itemService.getItemById(itemId, ownerId);
     }
 
@@ -40,7 +39,6 @@ public class ItemController {
     public List<ItemDto> getItemByOwner(@RequestHeader(HEADER) long ownerId,
                                         @RequestParam(name = "from", defaultValue = "0") int from,
                                         @RequestParam(name = "size", defaultValue = "10") int size) {
-        log.info("Fetching items by owner ID {}", ownerId);
         return itemService.getItemsByOwner(ownerId, from, size);
     }
 
@@ -48,21 +46,27 @@ public class ItemController {
     public ItemDto updateItem(@PathVariable long itemId,
                               @RequestHeader(HEADER) long ownerId,
                               @RequestBody ItemDtoCreate itemDto) {
-        log.info("Updating item with ID {} by owner ID {}", itemId, ownerId);
         return itemService.updateItemData(itemId, ownerId, itemDto);
     }
 
     @GetMapping("/search")
     public List<ItemDto> searchItems(@RequestParam String text,
                                      @RequestParam(name = "from", defaultValue = "0") int from,
-                                     @RequestParam(name = "size", defaultValue = "10") int size) {
-        log.info("Searching items with text: {}", text);
+                                     @RequestParam(name = "size", defaultValue = "10") int size,
+                                     @RequestParam(name = "start", required = false)
+                                     @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime start,
+                                     @RequestParam(name = "end", required = false)
+                                     @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime end) {
+        if (start != null || end != null) {
+            if (start == null || end == null)
+                throw new InvalidRequestException("Search window needs both start and end");
+            return itemService.searchFreeItems(text.toLowerCase(), start, end, from, size);
+        }
         return itemService.searchItems(text.toLowerCase(), from, size);
     }
 
     @DeleteMapping("/{itemId}")
     public void removeItem(@PathVariable long itemId) {
-        log.info("Removing item with ID {}", itemId);
         itemService.removeItem(itemId);
     }
 
@@ -71,7 +75,6 @@ public class ItemController {
             @PathVariable long itemId,
             @RequestHeader(HEADER) long bookerId,
             @RequestBody CommentReqDto commentRequestDto) {
-        log.info("Received request to create comment for item with ID {} from booker with ID {}", itemId, bookerId);
         return itemService.addComment(commentRequestDto, bookerId, itemId);
     }
 }
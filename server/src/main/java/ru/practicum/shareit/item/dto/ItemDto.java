@@ -7,7 +7,7 @@ import ru.practicum.shareit.booking.dto.BookingDto;
 import java.util.List;
 
 @Data
-@Builder
+@Builder(toBuilder = true)
 public class ItemDto {
     private long id;
     private String name;
@@ -0,0 +1,81 @@
+package ru.practicum.shareit.item.itemService;
+
+import lombok.RequiredArgsConstructor;
+import lombok.Value;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.stereotype.Component;
+import ru.practicum.shareit.booking.bookingRepository.BookingRepository;
+import ru.practicum.shareit.booking.dto.BookingDto;
+import ru.practicum.shareit.booking.dto.UpcomingBooking;
+import ru.practicum.shareit.exception.NotFoundException;
+import ru.practicum.shareit.item.dto.CommentMapper;
+import ru.practicum.shareit.item.dto.ItemDto;
+import ru.practicum.shareit.item.dto.ItemMapper;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.repository.CommentRepository;
+import ru.practicum.shareit.item.repository.ItemRepository;
+
+import java.time.LocalDateTime;
+
+import static ru.practicum.shareit.config.CacheConfig.ITEMS;
+import static ru.practicum.shareit.config.CacheConfig.ITEM_BOOKINGS;
+
+/**
+ * Read-through cache of the item card shown by {@link ItemService#getItemById}.
+ * The item with its comments is the same for every viewer, next/last bookings are only shown to the owner,
+ * so they are cached separately and evicted independently.
+ */
+@Component
+@RequiredArgsConstructor
+public class ItemDtoCache {
+    private final ItemRepository itemRepository;
+    private final CommentRepository commentRepository;
+    private final BookingRepository bookingRepository;
+
+    /**
+     * Returns the shared cached instance, callers must copy it before modification.
+     */
+    @Cacheable(cacheNames = ITEMS, key = "#itemId")
+    public ItemDto getItem(long itemId) {
+        Item item = itemRepository.findById(itemId)
+                .orElseThrow(() -> new NotFoundException("Item with ID " + itemId + " not found."));
+        ItemDto itemDto = ItemMapper.toItemDto(item);
+        itemDto.setComments(CommentMapper.toCommentListResponseDto(commentRepository.findAllByItemId(itemId)));
+        return itemDto;
+    }
+
+    /**
+     * Next and last bookings change as time passes without any write, so the entry is valid only
+     * until the next booking starts, see {@link ItemBookings#getValidUntil}.
+     */
+    @Cacheable(cacheNames = ITEM_BOOKINGS, key = "#itemId")
+    public ItemBookings getBookings(long ownerId, long itemId) {
+        UpcomingBooking next = bookingRepository.findNextClosestBookingByOwnerId(ownerId, itemId)
+                .stream().findFirst().orElse(null);
+        BookingDto lastBooking = bookingRepository.findLastClosestBookingByOwnerId(ownerId, itemId)
+                .stream().findFirst().orElse(null);
+        if (next == null) {
+            return new ItemBookings(null, lastBooking, null);
+        }
+        return new ItemBookings(new BookingDto(next.getId(), next.getBookerId()), lastBooking, next.getStart());
+    }
+
+    @CacheEvict(cacheNames = ITEMS, key = "#itemId")
+    public void evictItem(long itemId) {
+    }
+
+    @CacheEvict(cacheNames = ITEM_BOOKINGS, key = "#itemId")
+    public void evictBookings(long itemId) {
+    }
+
+    @Value
+    public static class ItemBookings {
+        BookingDto nextBooking;
+        BookingDto lastBooking;
+        /**
+         * Start of the next booking, when it becomes the last one; null when there is no next booking.
+         */
+        LocalDateTime validUntil;
+    }
+}
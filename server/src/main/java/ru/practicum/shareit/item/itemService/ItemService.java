@@ -5,6 +5,8 @@ import ru.practicum.shareit.item.dto.CommentResDto;
 import ru.practicum.shareit.item.dto.ItemDto;
 import ru.practicum.shareit.item.dto.ItemDtoCreate;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 
 public interface ItemService {
@@ -18,7 +20,21 @@ public interface ItemService {
 
     List<ItemDto> searchItems(String text, int from, int size);
 
+    List<ItemDto> searchFreeItems(String text, LocalDateTime start, LocalDateTime end, int from, int size);
+
     void removeItem(long itemId);
 
+    /**
+     * Drops items deleted from the database, by {@link #removeItem} or by a cascade, from the search index
+     * and the caches once the transaction commits.
+     */
+    void itemsRemoved(Collection<Long> itemIds);
+
+    /**
+     * Drops the cached cards, bookings and calendars of items whose bookings or comments the database deleted
+     * by a cascade once the transaction commits.
+     */
+    void bookingsOrCommentsRemoved(Collection<Long> itemIds);
+
     CommentResDto addComment(CommentReqDto commentRequestDto, long bookerId, long itemId);
 }
@@ -4,11 +4,11 @@ import lombok.RequiredArgsConstructor;
 import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import ru.practicum.shareit.booking.availability.BookingAvailability;
 import ru.practicum.shareit.booking.bookingRepository.BookingRepository;
 import ru.practicum.shareit.booking.dto.BookingDto;
-import ru.practicum.shareit.booking.mapper.BookingMapper;
+import ru.practicum.shareit.booking.dto.NearestBooking;
 import ru.practicum.shareit.booking.model.Booking;
-import ru.practicum.shareit.booking.model.enums.Status;
 import ru.practicum.shareit.exception.InvalidRequestException;
 import ru.practicum.shareit.exception.NotFoundException;
 import ru.practicum.shareit.item.dto.*;
@@ -16,11 +16,15 @@ import ru.practicum.shareit.item.model.Comment;
 import ru.practicum.shareit.item.model.Item;
 import ru.practicum.shareit.item.repository.CommentRepository;
 import ru.practicum.shareit.item.repository.ItemRepository;
+import ru.practicum.shareit.item.search.FullTextQuery;
+import ru.practicum.shareit.item.search.ItemSearchIndex;
+import ru.practicum.shareit.item.search.SearchEngine;
+import ru.practicum.shareit.item.search.SearchEngineSelector;
 import ru.practicum.shareit.pagination.Paginator;
-import ru.practicum.shareit.request.model.ItemRequest;
 import ru.practicum.shareit.request.repository.ItemRequestRepository;
 import ru.practicum.shareit.user.model.User;
 import ru.practicum.shareit.user.repository.UserRepository;
+import ru.practicum.shareit.user.userService.UserExistence;
 
 import java.time.LocalDateTime;
 import java.util.*;
@@ -35,41 +39,40 @@ public class ItemServiceImpl implements ItemService {
     private final CommentRepository commentRepository;
     private final BookingRepository bookingRepository;
     private final ItemRequestRepository itemRequestRepository;
+    private final ItemSearchIndex itemSearchIndex;
+    private final SearchEngineSelector searchEngineSelector;
+    private final ItemDtoCache itemDtoCache;
+    private final BookingAvailability bookingAvailability;
+    private final UserExistence userExistence;
 
     @Override
     @Transactional
     public ItemDto createItem(long ownerId, ItemDtoCreate itemDto) {
-        User user = checkUser(ownerId);
+        checkUser(ownerId);
         Item item = ItemMapper.toItem(itemDto);
-        item.setOwner(user);
+        item.setOwner(userRepository.getReferenceById(ownerId));
         Long requestId = itemDto.getRequestId();
-        ItemRequest request = requestId != null ? itemRequestRepository.findById(requestId)
-                .orElseThrow(() -> new NotFoundException("Item request " + requestId + " not found")) : null;
-        item.setRequest(request);
+        if (requestId != null) {
+            if (!itemRequestRepository.existsById(requestId))
+                throw new NotFoundException("Item request " + requestId + " not found");
+            item.setRequest(itemRequestRepository.getReferenceById(requestId));
+        }
         itemRepository.save(item);
+        itemSearchIndex.index(item);
         return ItemMapper.toItemDto(item);
     }
 
     @Override
     @Transactional
     public ItemDto getItemById(long itemId, long ownerId) {
-        Item item = checkItem(itemId);
-        ItemDto itemDto = ItemMapper.toItemDto(item);
-
-        List<Comment> comments = commentRepository.findAllByItemId(itemId);
-        itemDto.setComments(CommentMapper.toCommentListResponseDto(comments));
+        ItemDto itemDto = itemDtoCache.getItem(itemId).toBuilder().build();
 
         if (itemDto.getOwnerId() == ownerId) {
-            BookingDto nextBooking = bookingRepository.findNextClosestBookingByOwnerId(ownerId, itemId)
-                    .stream().findFirst().orElse(null);
-            itemDto.setNextBooking(nextBooking);
-
-            BookingDto lastBooking = bookingRepository.findLastClosestBookingByOwnerId(ownerId, itemId)
-                    .stream().findFirst().orElse(null);
-            itemDto.setLastBooking(lastBooking);
+            ItemDtoCache.ItemBookings bookings = itemDtoCache.getBookings(ownerId, itemId);
+            itemDto.setNextBooking(bookings.getNextBooking());
+            itemDto.setLastBooking(bookings.getLastBooking());
         }
         return itemDto;
-
     }
 
     @Override
@@ -79,14 +82,19 @@ public class ItemServiceImpl implements ItemService {
         List<Item> items = itemRepository.findAllByOwnerId(ownerId, Paginator.createPageRequestWithSort(from, size, sortById));
         List<Long> itemIds = extractItemIds(items);
         List<ItemDto> itemDtoList = getItemsWithCommentsForItemIds(items, itemIds);
-        Map<Long, List<Booking>> bookingsMap = findAllBookingsForItems(itemIds);
+        if (itemIds.isEmpty()) return itemDtoList;
+        Map<Long, List<NearestBooking>> bookingsMap = bookingRepository.findNearestApprovedBookings(itemIds)
+                .stream().collect(Collectors.groupingBy(NearestBooking::getItemId));
 
         for (ItemDto i : itemDtoList) {
-            List<Booking> bookingsForItem = bookingsMap.get(i.getId());
-            BookingDto nextBooking = BookingMapper.maptoBookingDtoForOwner(findNextBooking(bookingsForItem));
-            BookingDto lastBooking = BookingMapper.maptoBookingDtoForOwner(findLastBooking(bookingsForItem));
-            i.setNextBooking(nextBooking);
-            i.setLastBooking(lastBooking);
+            for (NearestBooking booking : bookingsMap.getOrDefault(i.getId(), Collections.emptyList())) {
+                BookingDto bookingDto = new BookingDto(booking.getId(), booking.getBookerId());
+                if (booking.getUpcoming()) {
+                    i.setNextBooking(bookingDto);
+                } else {
+                    i.setLastBooking(bookingDto);
+                }
+            }
         }
         return itemDtoList;
     }
@@ -95,9 +103,15 @@ public class ItemServiceImpl implements ItemService {
     @Transactional
     public ItemDto updateItemData(long itemId, long ownerId, ItemDtoCreate itemDto) {
         checkUser(ownerId);
-        Item updatedItem = ItemMapper.toItem(itemDto);
-        itemRepository.updateItemFields(updatedItem, ownerId, itemId);
-        ItemDto updatedItemDto = ItemMapper.toItemDto(checkItem(itemId));
+        Item item = checkItem(itemId);
+        if (item.getOwner().getId() == ownerId) {
+            if (itemDto.getName() != null) item.setName(itemDto.getName());
+            if (itemDto.getDescription() != null) item.setDescription(itemDto.getDescription());
+            if (itemDto.getAvailable() != null) item.setAvailable(itemDto.getAvailable());
+        }
+        itemSearchIndex.index(item);
+        itemDtoCache.evictItem(itemId);
+        ItemDto updatedItemDto = ItemMapper.toItemDto(item);
         List<Comment> comments = commentRepository.findAllByItemId(itemId);
         updatedItemDto.setComments(CommentMapper.toCommentListResponseDto(comments));
         return updatedItemDto;
@@ -107,7 +121,41 @@ public class ItemServiceImpl implements ItemService {
     @Transactional(readOnly = true)
     public List<ItemDto> searchItems(String text, int from, int size) {
         if (text.isBlank()) return Collections.emptyList();
-        List<Item> items = itemRepository.searchItemByNameOrDescription(text, Paginator.createSimplePageRequest(from, size));
+        List<Item> items;
+        if (itemSearchIndex.isEnabled()) {
+            items = findAllByIdsInOrder(itemSearchIndex.search(text, from, size));
+        } else if (searchEngineSelector.getEngine() == SearchEngine.FULLTEXT) {
+            String query = FullTextQuery.toPrefixQuery(text);
+            if (query.isEmpty()) return Collections.emptyList();
+            items = itemRepository.searchItemByFullText(query, Paginator.createSimplePageRequest(from, size));
+        } else {
+            items = itemRepository.searchItemByNameOrDescription(text, Paginator.createSimplePageRequest(from, size));
+        }
+        List<Long> itemIds = extractItemIds(items);
+        return getItemsWithCommentsForItemIds(items, itemIds);
+    }
+
+    /**
+     * Same as {@link #searchItems} but leaves out items with an APPROVED booking overlapping [start, end).
+     * The availability filter is an anti-join in the search query itself so that paging counts only free items,
+     * which is why the in-memory index engine falls back to the SQL search here.
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public List<ItemDto> searchFreeItems(String text, LocalDateTime start, LocalDateTime end, int from, int size) {
+        if (!end.isAfter(start))
+            throw new InvalidRequestException("End of the search window must be after its start");
+        if (text.isBlank()) return Collections.emptyList();
+        List<Item> items;
+        if (searchEngineSelector.getEngine() == SearchEngine.FULLTEXT) {
+            String query = FullTextQuery.toPrefixQuery(text);
+            if (query.isEmpty()) return Collections.emptyList();
+            items = itemRepository.searchFreeItemByFullText(query, start, end,
+                    Paginator.createSimplePageRequest(from, size));
+        } else {
+            items = itemRepository.searchFreeItemByNameOrDescription(text, start, end,
+                    Paginator.createSimplePageRequest(from, size));
+        }
         List<Long> itemIds = extractItemIds(items);
         return getItemsWithCommentsForItemIds(items, itemIds);
     }
@@ -116,12 +164,33 @@ public class ItemServiceImpl implements ItemService {
     @Transactional
     public void removeItem(long itemId) {
         itemRepository.deleteById(itemId);
+        itemsRemoved(List.of(itemId));
+    }
+
+    @Override
+    public void itemsRemoved(Collection<Long> itemIds) {
+        for (Long itemId : itemIds) {
+            itemRepository.evictCached(Item.class, itemId);
+            itemSearchIndex.evict(itemId);
+            itemDtoCache.evictItem(itemId);
+            itemDtoCache.evictBookings(itemId);
+            bookingAvailability.evict(itemId);
+        }
+    }
+
+    @Override
+    public void bookingsOrCommentsRemoved(Collection<Long> itemIds) {
+        for (Long itemId : itemIds) {
+            itemDtoCache.evictItem(itemId);
+            itemDtoCache.evictBookings(itemId);
+            bookingAvailability.evict(itemId);
+        }
     }
 
     @Override
     @Transactional
     public CommentResDto addComment(CommentReqDto commentRequestDto, long bookerId, long itemId) {
-        User user = checkUser(bookerId);
+        User user = findUser(bookerId);
         Item item = checkItem(itemId);
 
         Booking booking = bookingRepository.findAllByBookerIdAndItemIdPast(bookerId, itemId)
@@ -142,10 +211,19 @@ public class ItemServiceImpl implements ItemService {
         comment.setItem(item);
         comment.setAuthorName(user);
         commentRepository.save(comment);
+        itemDtoCache.evictItem(itemId);
         return CommentMapper.toCommentResponseDto(comment);
     }
 
-    private User checkUser(long userId) {
+    private void checkUser(long userId) {
+        if (!userExistence.exists(userId))
+            throw new NotFoundException("User not found with userId: " + userId);
+    }
+
+    /**
+     * The author is loaded rather than checked, a comment is returned with the author's name.
+     */
+    private User findUser(long userId) {
         return userRepository.findById(userId)
                 .orElseThrow(() -> new NotFoundException("User not found with userId: " + userId));
     }
@@ -155,6 +233,15 @@ public class ItemServiceImpl implements ItemService {
                 .orElseThrow(() -> new NotFoundException("Item with ID " + itemId + " not found."));
     }
 
+    private List<Item> findAllByIdsInOrder(List<Long> itemIds) {
+        Map<Long, Item> itemsById = itemRepository.findAllById(itemIds).stream()
+                .collect(Collectors.toMap(Item::getId, item -> item));
+        return itemIds.stream()
+                .map(itemsById::get)
+                .filter(Objects::nonNull)
+                .collect(Collectors.toList());
+    }
+
     private List<Long> extractItemIds(List<Item> items) {
         return items.stream().map(Item::getId).collect(Collectors.toList());
     }
@@ -172,36 +259,4 @@ public class ItemServiceImpl implements ItemService {
         }
         return itemDtoList;
     }
-
-    private Booking findLastBooking(List<Booking> allBookingsForItems) {
-        Optional<Booking> lastBooking = allBookingsForItems.stream()
-                .filter(booking -> booking.getStart().isBefore(LocalDateTime.now()))
-                .filter(booking -> booking.getStatus() == Status.APPROVED)
-                .max(Comparator.comparing(Booking::getEnd));
-
-        return lastBooking.orElse(null);
-    }
-
-    private Booking findNextBooking(List<Booking> allBookingsForItems) {
-        Optional<Booking> nextBooking = allBookingsForItems.stream()
-                .filter(booking -> booking.getStart().isAfter(LocalDateTime.now()))
-                .filter(booking -> booking.getStatus() == Status.APPROVED)
-                .min(Comparator.comparing(Booking::getStart));
-
-        return nextBooking.orElse(null);
-    }
-
-    private Map<Long, List<Booking>> findAllBookingsForItems(List<Long> itemIds) {
-        Map<Long, List<Booking>> bookingsMap = new HashMap<>();
-        List<Booking> allBookings = bookingRepository.findAllByItemIdIn(itemIds);
-
-        for (Long itemId : itemIds) {
-            List<Booking> bookingsForItem = allBookings.stream()
-                    .filter(booking -> booking.getItem().getId() == itemId)
-                    .collect(Collectors.toList());
-            bookingsMap.put(itemId, bookingsForItem);
-        }
-
-        return bookingsMap;
-    }
 }
@@ -6,6 +6,8 @@ import ru.practicum.shareit.user.model.User;
 import javax.persistence.*;
 import java.time.LocalDateTime;
 
+import static ru.practicum.shareit.Constants.ID_ALLOCATION_SIZE;
+
 @Entity
 @Table(name = "comments")
 @Getter
@@ -14,7 +16,8 @@ import java.time.LocalDateTime;
 @RequiredArgsConstructor
 public class Comment {
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "comments_seq")
+    @SequenceGenerator(name = "comments_seq", sequenceName = "comments_seq", allocationSize = ID_ALLOCATION_SIZE)
     private long id;
     private String text;
     @ManyToOne(fetch = FetchType.LAZY)
@@ -1,12 +1,17 @@
 package ru.practicum.shareit.item.repository;
 
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
 import ru.practicum.shareit.item.model.Comment;
 
 import java.util.List;
 
 public interface CommentRepository extends JpaRepository<Comment, Long> {
+    @Query("SELECT c FROM Comment c " +
+            "WHERE c.item.id = :itemId")
     List<Comment> findAllByItemId(long itemId);
 
+    @Query("SELECT c FROM Comment c " +
+            "WHERE c.item.id IN :id")
     List<Comment> findAllByItemIdIn(List<Long> id);
-}
\ No newline at end of file
+}
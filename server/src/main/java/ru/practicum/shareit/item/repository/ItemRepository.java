@@ -2,23 +2,17 @@ package ru.practicum.shareit.item.repository;
 
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
-import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import ru.practicum.shareit.item.dto.ItemForRequestDto;
 import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.persistence.SecondLevelCacheRepository;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 
-public interface ItemRepository extends JpaRepository<Item, Long> {
-
-    @Modifying
-    @Query("UPDATE Item e SET " +
-            "e.name = CASE WHEN :#{#item.name} IS NOT NULL THEN :#{#item.name} ELSE e.name END, " +
-            "e.description = CASE WHEN :#{#item.description} IS NOT NULL THEN :#{#item.description} ELSE e.description END, " +
-            "e.available = CASE WHEN :#{#item.available} IS NOT NULL THEN :#{#item.available} ELSE e.available END " +
-            "WHERE e.id = :itemId AND e.owner.id = :ownerId")
-    void updateItemFields(@Param("item") Item item, @Param("ownerId") Long ownerId, @Param("itemId") Long itemId);
+public interface ItemRepository extends JpaRepository<Item, Long>, SecondLevelCacheRepository {
 
     @Query("SELECT it FROM Item it " +
             "WHERE (LOWER(it.name) LIKE LOWER(CONCAT('%', :text, '%')) " +
@@ -26,10 +20,65 @@ public interface ItemRepository extends JpaRepository<Item, Long> {
             "AND it.available = true ")
     List<Item> searchItemByNameOrDescription(@Param("text") String text, Pageable pageable);
 
+    @Query(value = "SELECT it.* FROM items it " +
+            "WHERE it.search_vector @@ to_tsquery('simple', :query) " +
+            "AND it.is_available = true " +
+            "ORDER BY ts_rank(it.search_vector, to_tsquery('simple', :query)) DESC, it.id ",
+            nativeQuery = true)
+    List<Item> searchItemByFullText(@Param("query") String query, Pageable pageable);
+
+    @Query("SELECT it FROM Item it " +
+            "WHERE (LOWER(it.name) LIKE LOWER(CONCAT('%', :text, '%')) " +
+            "OR LOWER(it.description) LIKE LOWER(CONCAT('%', :text, '%'))) " +
+            "AND it.available = true " +
+            "AND NOT EXISTS (SELECT b.id FROM Booking b " +
+            "WHERE b.item = it " +
+            "AND b.status = 'APPROVED' " +
+            "AND b.start < :end " +
+            "AND b.end > :start)")
+    List<Item> searchFreeItemByNameOrDescription(@Param("text") String text, @Param("start") LocalDateTime start,
+                                                 @Param("end") LocalDateTime end, Pageable pageable);
+
+    @Query(value = "SELECT it.* FROM items it " +
+            "WHERE it.search_vector @@ to_tsquery('simple', :query) " +
+            "AND it.is_available = true " +
+            "AND NOT EXISTS (SELECT 1 FROM bookings b " +
+            "WHERE b.item_id = it.id " +
+            "AND b.status = 'APPROVED' " +
+            "AND b.start_date < :end " +
+            "AND b.end_date > :start) " +
+            "ORDER BY ts_rank(it.search_vector, to_tsquery('simple', :query)) DESC, it.id ",
+            nativeQuery = true)
+    List<Item> searchFreeItemByFullText(@Param("query") String query, @Param("start") LocalDateTime start,
+                                        @Param("end") LocalDateTime end, Pageable pageable);
+
     List<Item> findAllByOwnerId(@Param("ownerId") long ownerId, Pageable pageable);
 
+    List<Item> findAllByAvailableTrue();
+
+    /**
+     * Ids of the items the database deletes along with the user: the user's own items
+     * and the items answering the user's requests.
+     */
+    @Query("SELECT i.id FROM Item i LEFT JOIN i.request r " +
+            "WHERE i.owner.id = :userId OR r.requester.id = :userId")
+    List<Long> findIdsDeletedWithUser(@Param("userId") long userId);
+
+    /**
+     * Ids of the items the user booked or commented on, their bookings and comments are deleted along with the user.
+     */
+    @Query(value = "SELECT b.item_id FROM bookings b WHERE b.booker_id = :userId " +
+            "UNION SELECT c.item_id FROM comments c WHERE c.author_id = :userId",
+            nativeQuery = true)
+    List<Long> findIdsBookedOrCommentedBy(@Param("userId") long userId);
+
     @Query("SELECT new ru.practicum.shareit.item.dto.ItemForRequestDto(i.id, i.name, i.description, i.available, i.request.id) " +
             "FROM Item AS i " +
             "WHERE i.request.id = :requestId")
     List<ItemForRequestDto> getItemDescriptionForRequest(long requestId);
+
+    @Query("SELECT new ru.practicum.shareit.item.dto.ItemForRequestDto(i.id, i.name, i.description, i.available, i.request.id) " +
+            "FROM Item AS i " +
+            "WHERE i.request.id IN :requestIds")
+    List<ItemForRequestDto> getItemDescriptionForRequests(@Param("requestIds") Collection<Long> requestIds);
 }
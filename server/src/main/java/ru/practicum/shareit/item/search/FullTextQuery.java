@@ -0,0 +1,24 @@
+package ru.practicum.shareit.item.search;
+
+import lombok.experimental.UtilityClass;
+
+import java.util.Arrays;
+import java.util.Locale;
+import java.util.stream.Collectors;
+
+@UtilityClass
+public class FullTextQuery {
+    private static final String NON_WORD = "[^\\p{L}\\p{N}]+";
+
+    /**
+     * Turns free text into a PostgreSQL tsquery where every word is matched as a prefix,
+     * e.g. {@code "cordless dri"} becomes {@code "cordless:* & dri:*"}.
+     * Returns an empty string when the text has no words.
+     */
+    public String toPrefixQuery(String text) {
+        return Arrays.stream(text.toLowerCase(Locale.ROOT).split(NON_WORD))
+                .filter(word -> !word.isEmpty())
+                .map(word -> word + ":*")
+                .collect(Collectors.joining(" & "));
+    }
+}
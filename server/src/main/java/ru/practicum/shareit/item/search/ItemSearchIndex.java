@@ -0,0 +1,190 @@
+package ru.practicum.shareit.item.search;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.repository.ItemRepository;
+
+import java.util.*;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.stream.Collectors;
+
+/**
+ * In-memory trigram index over the name and description of available items.
+ * Answers the same case-insensitive substring queries as
+ * {@link ItemRepository#searchItemByNameOrDescription} without scanning the items table.
+ */
+@Slf4j
+@Component
+public class ItemSearchIndex {
+    private static final int GRAM = 3;
+
+    private final ItemRepository itemRepository;
+    private final SearchEngineSelector searchEngineSelector;
+    private final Map<Long, Document> documents = new HashMap<>();
+    private final Map<String, Set<Long>> postings = new HashMap<>();
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    public ItemSearchIndex(ItemRepository itemRepository, SearchEngineSelector searchEngineSelector) {
+        this.itemRepository = itemRepository;
+        this.searchEngineSelector = searchEngineSelector;
+    }
+
+    public boolean isEnabled() {
+        return searchEngineSelector.getEngine() == SearchEngine.INDEX;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuild() {
+        if (!isEnabled()) return;
+        List<Item> items = itemRepository.findAllByAvailableTrue();
+        lock.writeLock().lock();
+        try {
+            documents.clear();
+            postings.clear();
+            items.forEach(this::add);
+        } finally {
+            lock.writeLock().unlock();
+        }
+        log.info("Item search index built with {} items", items.size());
+    }
+
+    /**
+     * Returns ids of matching items ordered by id, paged the same way as
+     * {@link ru.practicum.shareit.pagination.Paginator#createSimplePageRequest}.
+     */
+    public List<Long> search(String text, int from, int size) {
+        String query = text.toLowerCase(Locale.ROOT);
+        long offset = (long) (from / size) * size;
+        lock.readLock().lock();
+        try {
+            return candidates(query).stream()
+                    .filter(id -> documents.get(id).matches(query))
+                    .skip(offset)
+                    .limit(size)
+                    .collect(Collectors.toList());
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public void index(Item item) {
+        if (!isEnabled()) return;
+        long id = item.getId();
+        Document document = Boolean.TRUE.equals(item.getAvailable()) ? new Document(item) : null;
+        afterCommit(() -> {
+            lock.writeLock().lock();
+            try {
+                remove(id);
+                if (document != null) {
+                    add(id, document);
+                }
+            } finally {
+                lock.writeLock().unlock();
+            }
+        });
+    }
+
+    public void evict(long itemId) {
+        if (!isEnabled()) return;
+        afterCommit(() -> {
+            lock.writeLock().lock();
+            try {
+                remove(itemId);
+            } finally {
+                lock.writeLock().unlock();
+            }
+        });
+    }
+
+    private Collection<Long> candidates(String query) {
+        if (query.length() < GRAM) {
+            return new TreeSet<>(documents.keySet());
+        }
+        List<Set<Long>> lists = new ArrayList<>();
+        for (String gram : grams(query)) {
+            Set<Long> ids = postings.get(gram);
+            if (ids == null) return Collections.emptyList();
+            lists.add(ids);
+        }
+        lists.sort(Comparator.comparingInt(Set::size));
+        TreeSet<Long> result = new TreeSet<>(lists.get(0));
+        for (int i = 1; i < lists.size() && !result.isEmpty(); i++) {
+            result.retainAll(lists.get(i));
+        }
+        return result;
+    }
+
+    private void add(Item item) {
+        add(item.getId(), new Document(item));
+    }
+
+    private void add(long id, Document document) {
+        documents.put(id, document);
+        for (String gram : document.grams()) {
+            postings.computeIfAbsent(gram, g -> new HashSet<>()).add(id);
+        }
+    }
+
+    private void remove(long id) {
+        Document document = documents.remove(id);
+        if (document == null) return;
+        for (String gram : document.grams()) {
+            Set<Long> ids = postings.get(gram);
+            ids.remove(id);
+            if (ids.isEmpty()) {
+                postings.remove(gram);
+            }
+        }
+    }
+
+    private static void afterCommit(Runnable action) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            action.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                action.run();
+            }
+        });
+    }
+
+    private static Set<String> grams(String text) {
+        Set<String> grams = new HashSet<>();
+        for (int i = 0; i + GRAM <= text.length(); i++) {
+            grams.add(text.substring(i, i + GRAM));
+        }
+        return grams;
+    }
+
+    private static final class Document {
+        private final String name;
+        private final String description;
+
+        private Document(Item item) {
+            this.name = lower(item.getName());
+            this.description = lower(item.getDescription());
+        }
+
+        private boolean matches(String query) {
+            return name.contains(query) || description.contains(query);
+        }
+
+        private Set<String> grams() {
+            Set<String> grams = ItemSearchIndex.grams(name);
+            grams.addAll(ItemSearchIndex.grams(description));
+            return grams;
+        }
+
+        private static String lower(String value) {
+            return value == null ? "" : value.toLowerCase(Locale.ROOT);
+        }
+    }
+}
@@ -0,0 +1,42 @@
+package ru.practicum.shareit.item.search;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.support.JdbcUtils;
+import org.springframework.jdbc.support.MetaDataAccessException;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+import java.sql.DatabaseMetaData;
+
+/**
+ * Resolves the configured item search engine. Full-text search relies on PostgreSQL
+ * tsvector support, so on any other database it falls back to the LIKE query.
+ */
+@Slf4j
+@Component
+public class SearchEngineSelector {
+    private static final String POSTGRESQL = "PostgreSQL";
+
+    private final SearchEngine engine;
+
+    public SearchEngineSelector(@Value("${shareit.search.engine:like}") SearchEngine engine, DataSource dataSource) {
+        this.engine = engine == SearchEngine.FULLTEXT && !isPostgreSql(dataSource) ? SearchEngine.LIKE : engine;
+        log.info("Item search engine: {}", this.engine);
+    }
+
+    public SearchEngine getEngine() {
+        return engine;
+    }
+
+    private static boolean isPostgreSql(DataSource dataSource) {
+        try {
+            String product = JdbcUtils.extractDatabaseMetaData(dataSource, DatabaseMetaData::getDatabaseProductName);
+            if (POSTGRESQL.equals(product)) return true;
+            log.warn("Full-text item search is not supported by {}, falling back to LIKE", product);
+        } catch (MetaDataAccessException e) {
+            log.warn("Cannot detect database for full-text item search, falling back to LIKE", e);
+        }
+        return false;
+    }
+}
@@ -0,0 +1,39 @@
+package ru.practicum.shareit.logging;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+
+import javax.servlet.FilterChain;
+import javax.servlet.ServletException;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
+
+import static ru.practicum.shareit.Constants.HEADER;
+
+/**
+ * Request log of the server, see {@link RequestLog}.
+ */
+@Component
+@RequiredArgsConstructor
+public class RequestLoggingFilter extends OncePerRequestFilter {
+    private final RequestLog requestLog;
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        long started = System.nanoTime();
+        boolean failed = true;
+        try {
+            chain.doFilter(request, response);
+            failed = false;
+        } finally {
+            Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+            requestLog.log(request.getMethod(), pattern == null ? request.getRequestURI() : pattern,
+                    request.getHeader(HEADER),
+                    failed ? HttpServletResponse.SC_INTERNAL_SERVER_ERROR : response.getStatus(), started);
+        }
+    }
+}
@@ -0,0 +1,126 @@
+package ru.practicum.shareit.metrics;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.Timer;
+import org.aopalliance.intercept.MethodInterceptor;
+import org.aopalliance.intercept.MethodInvocation;
+import org.springframework.aop.ProxyMethodInvocation;
+import org.springframework.core.DefaultParameterNameDiscoverer;
+import org.springframework.core.ParameterNameDiscoverer;
+import org.springframework.data.domain.Slice;
+import org.springframework.util.ClassUtils;
+import ru.practicum.shareit.booking.model.enums.BookingState;
+import ru.practicum.shareit.exception.InvalidRequestException;
+
+import java.lang.reflect.Method;
+import java.util.Collection;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Times every call of a service or repository and counts the rows it returns.
+ * The booking state of a service call, taken from its {@code state} argument, also tags
+ * the repository calls made inside it, so a slow query can be traced to the state that issues it.
+ */
+public class MethodMetrics implements MethodInterceptor {
+    public static final String STATE_TAG = "booking.state";
+    private static final String STATE_PARAMETER = "state";
+    private static final String NO_STATE = "none";
+    private static final ThreadLocal<String> CURRENT_STATE = new ThreadLocal<>();
+
+    private final MeterRegistry meterRegistry;
+    private final String timerName;
+    private final String rowsName;
+    private final ParameterNameDiscoverer parameterNames = new DefaultParameterNameDiscoverer();
+    private final Map<Class<?>, String> classNames = new ConcurrentHashMap<>();
+    private final Map<Method, Integer> stateArguments = new ConcurrentHashMap<>();
+
+    public MethodMetrics(MeterRegistry meterRegistry, String name) {
+        this.meterRegistry = meterRegistry;
+        this.timerName = name;
+        this.rowsName = name + ".rows";
+    }
+
+    @Override
+    public Object invoke(MethodInvocation invocation) throws Throwable {
+        String outerState = CURRENT_STATE.get();
+        String state = stateOf(invocation, outerState);
+        CURRENT_STATE.set(state);
+        Tags tags = Tags.of("class", classNameOf(invocation), "method", invocation.getMethod().getName(),
+                STATE_TAG, state == null ? NO_STATE : state);
+        Timer.Sample sample = Timer.start(meterRegistry);
+        String exception = "none";
+        try {
+            Object result = invocation.proceed();
+            Long rows = rows(result);
+            if (rows != null) {
+                meterRegistry.counter(rowsName, tags).increment(rows);
+            }
+            return result;
+        } catch (Throwable e) {
+            exception = e.getClass().getSimpleName();
+            throw e;
+        } finally {
+            sample.stop(meterRegistry.timer(timerName, tags.and("exception", exception)));
+            if (outerState == null) {
+                CURRENT_STATE.remove();
+            } else {
+                CURRENT_STATE.set(outerState);
+            }
+        }
+    }
+
+    private String stateOf(MethodInvocation invocation, String outerState) {
+        int index = stateArguments.computeIfAbsent(invocation.getMethod(), this::stateArgument);
+        if (index < 0) return outerState;
+        Object argument = invocation.getArguments()[index];
+        if (argument instanceof BookingState) return ((BookingState) argument).name();
+        try {
+            return BookingState.toState(String.valueOf(argument)).name();
+        } catch (InvalidRequestException e) {
+            return "INVALID";
+        }
+    }
+
+    /**
+     * Parameter names are read from the interface method, implementations are free to rename them.
+     */
+    private int stateArgument(Method method) {
+        Method declared = ClassUtils.getInterfaceMethodIfPossible(method);
+        String[] names = parameterNames.getParameterNames(declared);
+        Class<?>[] types = declared.getParameterTypes();
+        for (int i = 0; i < types.length; i++) {
+            if (types[i] == BookingState.class
+                    || types[i] == String.class && names != null && STATE_PARAMETER.equals(names[i])) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Name of the service or repository interface, the target of a repository proxy is the generic
+     * Spring Data implementation.
+     */
+    private String classNameOf(MethodInvocation invocation) {
+        Object bean = invocation instanceof ProxyMethodInvocation
+                ? ((ProxyMethodInvocation) invocation).getProxy() : invocation.getThis();
+        return classNames.computeIfAbsent(bean.getClass(), type -> {
+            for (Class<?> candidate : ClassUtils.getAllInterfacesForClassAsSet(type)) {
+                if (candidate.getPackageName().startsWith("ru.practicum.shareit")) {
+                    return candidate.getSimpleName();
+                }
+            }
+            return ClassUtils.getUserClass(type).getSimpleName();
+        });
+    }
+
+    private static Long rows(Object result) {
+        if (result instanceof Collection) return (long) ((Collection<?>) result).size();
+        if (result instanceof Slice) return (long) ((Slice<?>) result).getNumberOfElements();
+        if (result instanceof Optional) return ((Optional<?>) result).isPresent() ? 1L : 0L;
+        return null;
+    }
+}
@@ -0,0 +1,111 @@
+package ru.practicum.shareit.metrics;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+
+import javax.servlet.FilterChain;
+import javax.servlet.ServletException;
+import javax.servlet.ServletOutputStream;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import javax.servlet.http.HttpServletResponseWrapper;
+import java.io.IOException;
+import java.io.PrintWriter;
+
+/**
+ * Counts the SQL statements of each HTTP request with {@link SqlStatementCounter}. The count is returned in the
+ * {@value #HEADER} header, recorded in the {@code shareit.http.sql.statements} summary by endpoint and logged
+ * as a warning above {@code shareit.sql.statement-warn-threshold}, which is usually an N+1 query.
+ * The header carries the statements run before the body started, the summary and the warning all of them.
+ */
+@Slf4j
+@Component
+public class SqlStatementCountFilter extends OncePerRequestFilter {
+    public static final String HEADER = "X-Sql-Statement-Count";
+
+    private final MeterRegistry meterRegistry;
+    private final int warnThreshold;
+
+    public SqlStatementCountFilter(MeterRegistry meterRegistry,
+                                   @Value("${shareit.sql.statement-warn-threshold}") int warnThreshold) {
+        this.meterRegistry = meterRegistry;
+        this.warnThreshold = warnThreshold;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        SqlStatementCounter.start();
+        CountHeaderResponse countedResponse = new CountHeaderResponse(response);
+        try {
+            chain.doFilter(request, countedResponse);
+        } finally {
+            countedResponse.setCountHeader();
+            int count = SqlStatementCounter.stop();
+            Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+            String uri = pattern == null ? "UNKNOWN" : pattern.toString();
+            DistributionSummary.builder("shareit.http.sql.statements")
+                    .tag("method", request.getMethod())
+                    .tag("uri", uri)
+                    .register(meterRegistry)
+                    .record(count);
+            if (count > warnThreshold) {
+                log.warn("{} {} ran {} SQL statements, more than {}: possible N+1 query",
+                        request.getMethod(), request.getRequestURI(), count, warnThreshold);
+            }
+        }
+    }
+
+    /**
+     * Adds the header just before the response starts, while headers can still be set.
+     */
+    private static final class CountHeaderResponse extends HttpServletResponseWrapper {
+        private boolean headerSet;
+
+        private CountHeaderResponse(HttpServletResponse response) {
+            super(response);
+        }
+
+        @Override
+        public ServletOutputStream getOutputStream() throws IOException {
+            setCountHeader();
+            return super.getOutputStream();
+        }
+
+        @Override
+        public PrintWriter getWriter() throws IOException {
+            setCountHeader();
+            return super.getWriter();
+        }
+
+        @Override
+        public void flushBuffer() throws IOException {
+            setCountHeader();
+            super.flushBuffer();
+        }
+
+        @Override
+        public void sendError(int sc, String msg) throws IOException {
+            setCountHeader();
+            super.sendError(sc, msg);
+        }
+
+        @Override
+        public void sendError(int sc) throws IOException {
+            setCountHeader();
+            super.sendError(sc);
+        }
+
+        private void setCountHeader() {
+            if (!headerSet && !isCommitted()) {
+                setHeader(HEADER, String.valueOf(SqlStatementCounter.current()));
+                headerSet = true;
+            }
+        }
+    }
+}
@@ -0,0 +1,35 @@
+package ru.practicum.shareit.pagination;
+
+import lombok.Value;
+import ru.practicum.shareit.exception.InvalidRequestException;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+/**
+ * Seek position of the last row of a page sorted by id ascending.
+ * It travels to clients as an opaque URL-safe token, like {@link KeysetCursor}.
+ */
+@Value
+public class IdCursor {
+    public static final IdCursor FIRST = new IdCursor(0);
+
+    long id;
+
+    public String encode() {
+        return Base64.getUrlEncoder().withoutPadding()
+                .encodeToString(String.valueOf(id).getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Returns {@link #FIRST} for an empty token.
+     */
+    public static IdCursor decode(String token) {
+        if (token.isBlank()) return FIRST;
+        try {
+            return new IdCursor(Long.parseLong(new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8)));
+        } catch (IllegalArgumentException e) {
+            throw new InvalidRequestException("Invalid cursor: " + token);
+        }
+    }
+}
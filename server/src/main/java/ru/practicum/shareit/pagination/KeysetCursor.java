@@ -0,0 +1,46 @@
+package ru.practicum.shareit.pagination;
+
+import lombok.Value;
+import ru.practicum.shareit.exception.InvalidRequestException;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+
+/**
+ * Seek position {@code (start, id)} of the last row of a page sorted by start and id descending.
+ * It travels to clients as an opaque URL-safe token.
+ */
+@Value
+public class KeysetCursor {
+    /**
+     * Position before the first row, bounded by the TIMESTAMP range of PostgreSQL.
+     */
+    public static final KeysetCursor FIRST = new KeysetCursor(LocalDateTime.of(9999, 12, 31, 23, 59, 59), Long.MAX_VALUE);
+
+    private static final String SEPARATOR = "|";
+
+    LocalDateTime start;
+    long id;
+
+    public String encode() {
+        String raw = start + SEPARATOR + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Returns {@link #FIRST} for an empty token.
+     */
+    public static KeysetCursor decode(String token) {
+        if (token.isBlank()) return FIRST;
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+            int separator = raw.lastIndexOf(SEPARATOR);
+            return new KeysetCursor(LocalDateTime.parse(raw.substring(0, separator)),
+                    Long.parseLong(raw.substring(separator + 1)));
+        } catch (IllegalArgumentException | IndexOutOfBoundsException | DateTimeParseException e) {
+            throw new InvalidRequestException("Invalid cursor: " + token);
+        }
+    }
+}
@@ -11,4 +11,8 @@ public class Paginator {
     public static PageRequest createSimplePageRequest(int from, int size) {
         return PageRequest.of(from / size, size);
     }
+
+    public static PageRequest createKeysetPageRequest(int size, Sort sort) {
+        return PageRequest.of(0, size, sort);
+    }
 }
@@ -0,0 +1,14 @@
+package ru.practicum.shareit.persistence;
+
+/**
+ * Repository fragment for entities in the Hibernate second-level cache, see
+ * {@link ru.practicum.shareit.config.SecondLevelCacheConfig}. Rows the database deletes by cascade bypass the
+ * cached entries, so they are evicted through this fragment.
+ */
+public interface SecondLevelCacheRepository {
+    /**
+     * Evicts the entity right away, so the rest of the transaction does not load the deleted row, and again after
+     * commit, in case a concurrent transaction cached the old row in between. A no-op without the cache.
+     */
+    void evictCached(Class<?> entityClass, Object id);
+}
@@ -0,0 +1,27 @@
+package ru.practicum.shareit.persistence;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.persistence.Cache;
+import javax.persistence.EntityManager;
+
+@RequiredArgsConstructor
+public class SecondLevelCacheRepositoryImpl implements SecondLevelCacheRepository {
+    private final EntityManager entityManager;
+
+    @Override
+    public void evictCached(Class<?> entityClass, Object id) {
+        Cache cache = entityManager.getEntityManagerFactory().getCache();
+        cache.evict(entityClass, id);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    cache.evict(entityClass, id);
+                }
+            });
+        }
+    }
+}
@@ -6,13 +6,16 @@ import ru.practicum.shareit.user.model.User;
 import javax.persistence.*;
 import java.time.LocalDateTime;
 
+import static ru.practicum.shareit.Constants.ID_ALLOCATION_SIZE;
+
 
 @Data
 @Entity
 @Table(name = "requests")
 public class ItemRequest {
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "requests_seq")
+    @SequenceGenerator(name = "requests_seq", sequenceName = "requests_seq", allocationSize = ID_ALLOCATION_SIZE)
     private long id;
     private String description;
     @ManyToOne(fetch = FetchType.LAZY)
@@ -2,12 +2,23 @@ package ru.practicum.shareit.request.repository;
 
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import ru.practicum.shareit.request.model.ItemRequest;
 
 import java.util.List;
 
 public interface ItemRequestRepository extends JpaRepository<ItemRequest, Long> {
+    @Query("SELECT r FROM ItemRequest r " +
+            "WHERE r.requester.id = :requesterId " +
+            "ORDER BY r.created DESC")
     List<ItemRequest> findAllByRequesterIdOrderByCreatedDesc(long requesterId);
 
     List<ItemRequest> findByRequesterIdIsNot(long id, Pageable pageable);
+
+    /**
+     * Locks the requester's requests, so that no item answering one of them can be added until the transaction ends.
+     */
+    @Query(value = "SELECT id FROM requests WHERE requester_id = :requesterId FOR UPDATE", nativeQuery = true)
+    List<Long> lockIdsByRequesterId(@Param("requesterId") long requesterId);
 }
@@ -15,12 +15,12 @@ import ru.practicum.shareit.request.mapper.ItemRequestMapper;
 import ru.practicum.shareit.request.model.ItemRequest;
 import ru.practicum.shareit.request.repository.ItemRequestRepository;
 import ru.practicum.shareit.user.repository.UserRepository;
+import ru.practicum.shareit.user.userService.UserExistence;
 
 import java.time.LocalDateTime;
 import java.util.Collections;
 import java.util.List;
 import java.util.Map;
-import java.util.function.Function;
 import java.util.stream.Collectors;
 
 @Service
@@ -30,19 +30,18 @@ public class ItemRequestServiceImpl implements ItemRequestService {
     private final UserRepository userRepository;
     private final ItemRepository itemRepository;
     private final ItemRequestRepository itemRequestRepository;
+    private final UserExistence userExistence;
 
     @Override
     @Transactional
     public ItemRequestDto createNewRequestForItem(long userId, ItemDescriptionRequestDto request) {
-        return userRepository.findById(userId)
-                .map(user -> {
-                    ItemRequest itemRequest = ItemRequestMapper.fromItemRequestDto(request);
-                    itemRequest.setRequester(user);
-                    itemRequest.setCreated(LocalDateTime.now());
-                    itemRequest = itemRequestRepository.save(itemRequest);
-                    return ItemRequestMapper.toRequestWithItemsDto(itemRequest);
-                })
-                .orElseThrow(() -> new NotFoundException("User with id " + userId + " doesn't exist."));
+        if (!userExistence.exists(userId))
+            throw new NotFoundException("User with id " + userId + " doesn't exist.");
+        ItemRequest itemRequest = ItemRequestMapper.fromItemRequestDto(request);
+        itemRequest.setRequester(userRepository.getReferenceById(userId));
+        itemRequest.setCreated(LocalDateTime.now());
+        itemRequest = itemRequestRepository.save(itemRequest);
+        return ItemRequestMapper.toRequestWithItemsDto(itemRequest);
     }
 
     @Override
@@ -76,10 +75,9 @@ public class ItemRequestServiceImpl implements ItemRequestService {
     }
 
     @Override
-    @Transactional
+    @Transactional(readOnly = true)
     public ItemRequestDto getItemRequestById(long userId, long requestId) {
         checkUser(userId);
-        checkItemRequest(requestId);
         ItemRequest itemRequest = itemRequestRepository.findById(requestId)
                 .orElseThrow(() -> new NotFoundException("Item request not found " + requestId));
         ItemRequestDto response = ItemRequestMapper.toRequestWithItemsDto(itemRequest);
@@ -98,18 +96,18 @@ public class ItemRequestServiceImpl implements ItemRequestService {
     }
 
     private void checkUser(long userId) {
-        userRepository.findById(userId)
-                .orElseThrow(() -> new NotFoundException("User not found with userId: " + userId));
-    }
-
-    private void checkItemRequest(long requestId) {
-        userRepository.findById(requestId)
-                .orElseThrow(() -> new NotFoundException("Item request not found" + requestId));
+        if (!userExistence.exists(userId))
+            throw new NotFoundException("User not found with userId: " + userId);
     }
 
     private Map<Long, List<ItemForRequestDto>> getItemResponsesForRequests(List<ItemRequest> itemRequests) {
-        return itemRequests.stream()
+        if (itemRequests.isEmpty()) {
+            return Collections.emptyMap();
+        }
+        List<Long> requestIds = itemRequests.stream()
                 .map(ItemRequest::getId)
-                .collect(Collectors.toMap(Function.identity(), this::getItemResponsesForRequest));
+                .collect(Collectors.toList());
+        return itemRepository.getItemDescriptionForRequests(requestIds).stream()
+                .collect(Collectors.groupingBy(ItemForRequestDto::getRequestId));
     }
 }
@@ -1,48 +1,105 @@
 package ru.practicum.shareit.user.controllers;
 
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
 import lombok.RequiredArgsConstructor;
-import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 import ru.practicum.shareit.user.dto.UserDto;
+import ru.practicum.shareit.user.dto.UserPage;
 import ru.practicum.shareit.user.userService.UserService;
 
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.io.UncheckedIOException;
 import java.util.List;
 
-@Slf4j
+import static ru.practicum.shareit.Constants.NEXT_CURSOR_HEADER;
+
 @RestController
 @RequiredArgsConstructor
 @RequestMapping(path = "/users")
 public class UserController {
     private final UserService userService;
+    private final ObjectMapper objectMapper;
 
     @PostMapping
     public UserDto createUser(@RequestBody UserDto userDto) {
-        log.info("Received request to create user: {}", userDto);
         return userService.addNewUser(userDto);
     }
 
+    /**
+     * Without paging parameters all users are streamed as one JSON array, read from the database in keyset chunks.
+     */
+    @GetMapping(params = {"!from", "!size", "!cursor"})
+    public void getAllUsers(HttpServletResponse response) throws IOException {
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        try (JsonGenerator generator = objectMapper.createGenerator(response.getOutputStream())) {
+            generator.writeStartArray();
+            writeAllUsers(generator, "");
+            generator.writeEndArray();
+        }
+    }
+
+    /**
+     * Streams all users as newline-delimited JSON, one user per line.
+     */
+    @GetMapping(params = {"!from", "!size", "!cursor"}, produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public void streamAllUsers(HttpServletResponse response) throws IOException {
+        response.setContentType(MediaType.APPLICATION_NDJSON_VALUE);
+        try (JsonGenerator generator = objectMapper.createGenerator(response.getOutputStream())) {
+            generator.setRootValueSeparator(null);
+            writeAllUsers(generator, "\n");
+        }
+    }
+
     @GetMapping
-    public List<UserDto> getAllUsers() {
-        log.info("Received request to retrieve all users");
-        return userService.getAllUsers();
+    public ResponseEntity<List<UserDto>> getUsers(@RequestParam(name = "from", defaultValue = "0") int from,
+                                                  @RequestParam(name = "size", defaultValue = "10") int size,
+                                                  @RequestParam(name = "cursor", required = false) String cursor) {
+        if (cursor != null) {
+            UserPage page = userService.getUserPage(cursor, size);
+            ResponseEntity.BodyBuilder response = ResponseEntity.ok();
+            if (page.getNextCursor() != null) {
+                response.header(NEXT_CURSOR_HEADER, page.getNextCursor());
+            }
+            return response.body(page.getUsers());
+        }
+        return ResponseEntity.ok(userService.getAllUsers(from, size));
     }
 
     @GetMapping("/{userId}")
     public UserDto getUserById(@PathVariable long userId) {
-        log.info("Received request to retrieve user with ID: {}", userId);
         return userService.getUserById(userId);
     }
 
     @PatchMapping("/{userId}")
     public UserDto updateUser(@PathVariable long userId,
                               @RequestBody UserDto userDto) {
-        log.info("Received request to update user with ID: {} with data: {}", userId, userDto);
         return userService.updateUserData(userId, userDto);
     }
 
     @DeleteMapping("/{userId}")
     public void removeUser(@PathVariable long userId) {
-        log.info("Received request to remove user with ID: {}", userId);
         userService.removeUser(userId);
     }
+
+    /**
+     * Writes users through the generator buffer, which is flushed to the client whenever it fills up.
+     */
+    private void writeAllUsers(JsonGenerator generator, String separator) {
+        ObjectWriter writer = objectMapper.writerFor(UserDto.class)
+                .without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+        userService.streamAllUsers(user -> {
+            try {
+                writer.writeValue(generator, user);
+                generator.writeRaw(separator);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        });
+    }
 }
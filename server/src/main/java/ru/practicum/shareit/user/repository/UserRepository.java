@@ -1,17 +1,44 @@
 package ru.practicum.shareit.user.repository;
 
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
+import ru.practicum.shareit.user.dto.UserDto;
 import ru.practicum.shareit.user.model.User;
 
+import java.util.List;
+import java.util.Optional;
+
 public interface UserRepository extends JpaRepository<User, Long> {
+    int STREAM_CHUNK_SIZE = 500;
+
+    /**
+     * Locks the user row, so that rows referencing the user, whose foreign key checks lock it too, cannot be added
+     * until the transaction ends; empty when there is no such user.
+     */
+    @Query(value = "SELECT id FROM users WHERE id = :userId FOR UPDATE", nativeQuery = true)
+    Optional<Long> lockById(@Param("userId") long userId);
+
+    /**
+     * Deletes the user without loading it first as {@link #deleteById} does; returns 0 when there is no such user.
+     */
     @Modifying
-    @Query("UPDATE User e SET " +
-            "e.name = CASE WHEN :#{#user.name} IS NOT NULL THEN :#{#user.name} ELSE e.name END, " +
-            "e.email = CASE WHEN :#{#user.email} IS NOT NULL THEN :#{#user.email} ELSE e.email END " +
-            "WHERE e.id = :userId")
-    void updateUserFields(@Param("user") User user, @Param("userId") Long userId);
+    @Query("DELETE FROM User u WHERE u.id = :userId")
+    int deleteUserById(@Param("userId") long userId);
+
+    /**
+     * Offset page without the count query of {@link #findAll(Pageable)}.
+     */
+    List<User> findAllBy(Pageable pageable);
+
+    List<User> findAllByIdGreaterThan(long id, Pageable pageable);
 
+    /**
+     * The next chunk of users after {@code afterId}, as DTOs rather than entities, so that reading all users
+     * chunk by chunk does not grow a persistence context.
+     */
+    @Query("SELECT new ru.practicum.shareit.user.dto.UserDto(u.id, u.name, u.email) FROM User u WHERE u.id > :afterId")
+    List<UserDto> findDtosByIdGreaterThan(@Param("afterId") long afterId, Pageable pageable);
 }
@@ -0,0 +1,54 @@
+package ru.practicum.shareit.user.userService;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import ru.practicum.shareit.user.repository.UserRepository;
+
+/**
+ * Checks that a user exists for the endpoints that do not need the user itself: an {@code existsById}
+ * query instead of loading the entity. With a non-blank {@code shareit.known-users.spec} the ids found
+ * are remembered, so the requests of one user in a row are checked once. A removed user is forgotten
+ * right away and again when the transaction commits; other nodes keep it until the entry expires, hence the short expiry,
+ * and writes referencing it fail on the foreign key meanwhile.
+ */
+@Component
+public class UserExistence {
+    private final UserRepository userRepository;
+    private final Cache<Long, Boolean> knownUsers;
+
+    public UserExistence(UserRepository userRepository,
+                         @Value("${shareit.known-users.spec:}") String spec) {
+        this.userRepository = userRepository;
+        this.knownUsers = spec.isBlank() ? null : Caffeine.from(spec).build();
+    }
+
+    public boolean exists(long userId) {
+        if (knownUsers == null) {
+            return userRepository.existsById(userId);
+        }
+        if (knownUsers.getIfPresent(userId) != null) {
+            return true;
+        }
+        boolean exists = userRepository.existsById(userId);
+        if (exists) {
+            knownUsers.put(userId, Boolean.TRUE);
+        }
+        return exists;
+    }
+
+    public void removed(long userId) {
+        if (knownUsers == null) return;
+        knownUsers.invalidate(userId);
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) return;
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                knownUsers.invalidate(userId);
+            }
+        });
+    }
+}
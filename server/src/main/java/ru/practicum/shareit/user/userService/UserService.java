@@ -1,8 +1,10 @@
 package ru.practicum.shareit.user.userService;
 
 import ru.practicum.shareit.user.dto.UserDto;
+import ru.practicum.shareit.user.dto.UserPage;
 
 import java.util.List;
+import java.util.function.Consumer;
 
 public interface UserService {
     UserDto addNewUser(UserDto userDto);
@@ -11,7 +13,16 @@ public interface UserService {
 
     UserDto getUserById(long userId);
 
-    List<UserDto> getAllUsers();
+    List<UserDto> getAllUsers(int from, int size);
+
+    UserPage getUserPage(String cursor, int size);
+
+    /**
+     * Hands every user to {@code action} in id order, reading them in keyset chunks. Each chunk is read in a
+     * transaction of its own, so no transaction or connection stays open while {@code action} writes to a slow
+     * client; users changed meanwhile may show up in their old or new state.
+     */
+    void streamAllUsers(Consumer<UserDto> action);
 
     UserDto updateUserData(long userId, UserDto userDto);
 }
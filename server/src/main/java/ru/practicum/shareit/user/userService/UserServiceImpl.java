@@ -1,23 +1,38 @@
 package ru.practicum.shareit.user.userService;
 
 import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 import ru.practicum.shareit.exception.NotFoundException;
+import ru.practicum.shareit.item.itemService.ItemService;
+import ru.practicum.shareit.item.repository.ItemRepository;
+import ru.practicum.shareit.pagination.IdCursor;
+import ru.practicum.shareit.pagination.Paginator;
+import ru.practicum.shareit.request.repository.ItemRequestRepository;
 import ru.practicum.shareit.user.dto.UserDto;
 import ru.practicum.shareit.user.dto.UserMapper;
+import ru.practicum.shareit.user.dto.UserPage;
 import ru.practicum.shareit.user.model.User;
 import ru.practicum.shareit.user.repository.UserRepository;
 
 import java.util.List;
-import java.util.stream.Collectors;
+import java.util.function.Consumer;
+
+import static ru.practicum.shareit.user.repository.UserRepository.STREAM_CHUNK_SIZE;
 
 @Service
 @Transactional
 @RequiredArgsConstructor
 public class UserServiceImpl implements UserService {
     private final UserRepository userRepository;
+    private final UserExistence userExistence;
+    private final ItemRepository itemRepository;
+    private final ItemRequestRepository itemRequestRepository;
+    private final ItemService itemService;
     private static final String USER_NOT_FOUND_MESSAGE = "User with id %s not found";
+    private static final Sort SORT_ID = Sort.by("id");
 
     @Override
     @Transactional
@@ -26,12 +41,23 @@ public class UserServiceImpl implements UserService {
         return UserMapper.toUserDto(user);
     }
 
+    /**
+     * Deletes the user with a single DELETE, the database cascades it to the user's requests, items, bookings and
+     * comments. The ids of the items affected are collected first, under locks that keep new ones from being added
+     * in between, and dropped from the search index and the caches as {@link ItemService#removeItem} does.
+     */
     @Override
     @Transactional
     public void removeUser(long userId) {
-        userRepository.findById(userId)
-                .orElseThrow(() -> new NotFoundException(String.format(USER_NOT_FOUND_MESSAGE, userId)));
-        userRepository.deleteById(userId);
+        if (userRepository.lockById(userId).isEmpty())
+            throw new NotFoundException(String.format(USER_NOT_FOUND_MESSAGE, userId));
+        itemRequestRepository.lockIdsByRequesterId(userId);
+        List<Long> deletedItemIds = itemRepository.findIdsDeletedWithUser(userId);
+        List<Long> touchedItemIds = itemRepository.findIdsBookedOrCommentedBy(userId);
+        userRepository.deleteUserById(userId);
+        itemService.itemsRemoved(deletedItemIds);
+        itemService.bookingsOrCommentsRemoved(touchedItemIds);
+        userExistence.removed(userId);
     }
 
     @Override
@@ -44,18 +70,46 @@ public class UserServiceImpl implements UserService {
 
     @Override
     @Transactional(readOnly = true)
-    public List<UserDto> getAllUsers() {
-        return userRepository.findAll().stream()
-                .map(UserMapper::toUserDto)
-                .collect(Collectors.toList());
+    public List<UserDto> getAllUsers(int from, int size) {
+        return UserMapper.toUserDto(userRepository.findAllBy(Paginator.createPageRequestWithSort(from, size, SORT_ID)));
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public UserPage getUserPage(String cursor, int size) {
+        IdCursor after = IdCursor.decode(cursor);
+        List<User> users = userRepository.findAllByIdGreaterThan(after.getId(),
+                Paginator.createKeysetPageRequest(size, SORT_ID));
+        String nextCursor = null;
+        if (users.size() == size) {
+            nextCursor = new IdCursor(users.get(users.size() - 1).getId()).encode();
+        }
+        return new UserPage(UserMapper.toUserDto(users), nextCursor);
+    }
+
+    @Override
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public void streamAllUsers(Consumer<UserDto> action) {
+        long afterId = 0;
+        List<UserDto> chunk;
+        do {
+            chunk = userRepository.findDtosByIdGreaterThan(afterId,
+                    Paginator.createKeysetPageRequest(STREAM_CHUNK_SIZE, SORT_ID));
+            chunk.forEach(action);
+            if (!chunk.isEmpty()) {
+                afterId = chunk.get(chunk.size() - 1).getId();
+            }
+        } while (chunk.size() == STREAM_CHUNK_SIZE);
     }
 
     @Override
     @Transactional
     public UserDto updateUserData(long userId, UserDto userDto) {
-        userRepository.updateUserFields(UserMapper.toUser(userDto), userId);
-        return UserMapper.toUserDto(userRepository.findById(userId)
-                .orElseThrow(() -> new NotFoundException(String.format(USER_NOT_FOUND_MESSAGE, userId))));
+        User user = userRepository.findById(userId)
+                .orElseThrow(() -> new NotFoundException(String.format(USER_NOT_FOUND_MESSAGE, userId)));
+        if (userDto.getName() != null) user.setName(userDto.getName());
+        if (userDto.getEmail() != null) user.setEmail(userDto.getEmail());
+        return UserMapper.toUserDto(user);
     }
 
 }
\ No newline at end of file
@@ -0,0 +1,15 @@
+ALTER TABLE items
+    ADD COLUMN search_vector TSVECTOR
+        GENERATED ALWAYS AS (to_tsvector('simple', name || ' ' || description)) STORED;
+
+CREATE INDEX idx_items_search_vector ON items USING GIN (search_vector);
+
+CREATE INDEX idx_bookings_item_approved_start ON bookings (item_id, start_date) WHERE status = 'APPROVED';
+CREATE INDEX idx_bookings_item_waiting_start ON bookings (item_id, start_date DESC) WHERE status = 'WAITING';
+
+CREATE EXTENSION IF NOT EXISTS btree_gist;
+
+ALTER TABLE bookings
+    ADD CONSTRAINT ex_bookings_approved_overlap
+        EXCLUDE USING gist (item_id WITH =, tstzrange(start_date, end_date) WITH &&)
+        WHERE (status = 'APPROVED');
@@ -4,9 +4,23 @@ DROP TABLE IF EXISTS items CASCADE;
 DROP TABLE IF EXISTS requests CASCADE;
 DROP TABLE IF EXISTS users CASCADE;
 
+DROP SEQUENCE IF EXISTS comments_seq;
+DROP SEQUENCE IF EXISTS bookings_seq;
+DROP SEQUENCE IF EXISTS items_seq;
+DROP SEQUENCE IF EXISTS requests_seq;
+DROP SEQUENCE IF EXISTS users_seq;
+
+-- ids come from these sequences in blocks of INCREMENT BY (Constants.ID_ALLOCATION_SIZE), so Hibernate
+-- allocates them without a round trip per row and can batch the inserts
+CREATE SEQUENCE users_seq START WITH 1 INCREMENT BY 50;
+CREATE SEQUENCE requests_seq START WITH 1 INCREMENT BY 50;
+CREATE SEQUENCE items_seq START WITH 1 INCREMENT BY 50;
+CREATE SEQUENCE bookings_seq START WITH 1 INCREMENT BY 50;
+CREATE SEQUENCE comments_seq START WITH 1 INCREMENT BY 50;
+
 CREATE TABLE users
 (
-    id    BIGSERIAL PRIMARY KEY,
+    id    BIGINT PRIMARY KEY,
     name  VARCHAR(255) NOT NULL,
     email VARCHAR(512) NOT NULL,
     CONSTRAINT UQ_USER_EMAIL UNIQUE (email)
@@ -14,7 +28,7 @@ CREATE TABLE users
 
 CREATE TABLE requests
 (
-    id           BIGSERIAL PRIMARY KEY,
+    id           BIGINT PRIMARY KEY,
     description  VARCHAR(512)             NOT NULL,
     requester_id BIGINT                   NOT NULL,
     created      TIMESTAMP WITH TIME ZONE NOT NULL,
@@ -23,7 +37,7 @@ CREATE TABLE requests
 
 CREATE TABLE items
 (
-    id           BIGSERIAL PRIMARY KEY,
+    id           BIGINT PRIMARY KEY,
     name         VARCHAR(255) NOT NULL,
     description  VARCHAR(512) NOT NULL,
     is_available BOOLEAN DEFAULT NULL,
@@ -35,12 +49,13 @@ CREATE TABLE items
 
 CREATE TABLE bookings
 (
-    id         BIGSERIAL PRIMARY KEY,
+    id         BIGINT PRIMARY KEY,
     start_date TIMESTAMP WITH TIME ZONE NOT NULL,
     end_date   TIMESTAMP WITH TIME ZONE NOT NULL,
     item_id    BIGINT                   NOT NULL,
     booker_id  BIGINT                   NOT NULL,
     status     VARCHAR(25),
+    version    BIGINT                   NOT NULL DEFAULT 0,
     CONSTRAINT fk_bookings_to_items FOREIGN KEY (item_id) REFERENCES items (id) ON DELETE CASCADE,
     CONSTRAINT fk_bookings_to_users FOREIGN KEY (booker_id) REFERENCES users (id) ON DELETE CASCADE,
     CONSTRAINT check_bookings_status CHECK (status IN ('WAITING', 'APPROVED', 'REJECTED', 'CANCELED'))
@@ -48,11 +63,23 @@ CREATE TABLE bookings
 
 CREATE TABLE comments
 (
-    id        BIGSERIAL PRIMARY KEY,
+    id        BIGINT PRIMARY KEY,
     text      VARCHAR(512)             NOT NULL,
     item_id   BIGINT                   NOT NULL,
     author_id BIGINT                   NOT NULL,
     created   TIMESTAMP WITH TIME ZONE NOT NULL,
     CONSTRAINT fk_comments_to_items FOREIGN KEY (item_id) REFERENCES items (id) ON DELETE CASCADE,
     CONSTRAINT fk_comments_to_users FOREIGN KEY (author_id) REFERENCES users (id) ON DELETE CASCADE
-);
\ No newline at end of file
+);
+
+CREATE INDEX idx_requests_requester_created ON requests (requester_id, created DESC);
+
+CREATE INDEX idx_items_owner ON items (owner_id, id);
+CREATE INDEX idx_items_request ON items (request_id);
+
+CREATE INDEX idx_bookings_booker_start ON bookings (booker_id, start_date DESC, id DESC);
+CREATE INDEX idx_bookings_booker_status_start ON bookings (booker_id, status, start_date DESC, id DESC);
+CREATE INDEX idx_bookings_item_start ON bookings (item_id, start_date DESC, id DESC);
+CREATE INDEX idx_bookings_booker_item_end ON bookings (booker_id, item_id, end_date);
+
+CREATE INDEX idx_comments_item ON comments (item_id);
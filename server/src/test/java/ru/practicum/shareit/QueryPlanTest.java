@@ -0,0 +1,235 @@
+package ru.practicum.shareit;
+
+import org.hibernate.Session;
+import org.hibernate.cfg.AvailableSettings;
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import ru.practicum.shareit.booking.bookingRepository.BookingRepository;
+import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.booking.model.enums.Status;
+import ru.practicum.shareit.item.model.Comment;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.repository.CommentRepository;
+import ru.practicum.shareit.item.repository.ItemRepository;
+import ru.practicum.shareit.pagination.KeysetCursor;
+import ru.practicum.shareit.request.model.ItemRequest;
+import ru.practicum.shareit.request.repository.ItemRequestRepository;
+import ru.practicum.shareit.user.model.User;
+import ru.practicum.shareit.user.repository.UserRepository;
+
+import javax.persistence.EntityManager;
+import java.sql.*;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.fail;
+
+/**
+ * Runs EXPLAIN for the SQL that each repository query sends to the database and fails
+ * when the plan reads a table without an index.
+ */
+@DataJpaTest
+class QueryPlanTest {
+    private static final String TABLE_SCAN = "tableScan";
+    private static final Pageable PAGE = PageRequest.of(0, 10, Sort.by(Sort.Direction.DESC, "start"));
+    private static final Pageable KEYSET_PAGE = PageRequest.of(0, 10,
+            Sort.by(Sort.Direction.DESC, "start").and(Sort.by(Sort.Direction.DESC, "id")));
+
+    @Autowired
+    private EntityManager entityManager;
+    @Autowired
+    private SqlCapture sqlCapture;
+    @Autowired
+    private UserRepository userRepository;
+    @Autowired
+    private ItemRepository itemRepository;
+    @Autowired
+    private BookingRepository bookingRepository;
+    @Autowired
+    private CommentRepository commentRepository;
+    @Autowired
+    private ItemRequestRepository itemRequestRepository;
+
+    private long userId;
+    private long itemId;
+    private long requestId;
+
+    @BeforeEach
+    void seed() {
+        LocalDateTime now = LocalDateTime.now();
+        List<User> users = new ArrayList<>();
+        for (int u = 0; u < 20; u++) {
+            users.add(userRepository.save(User.builder().name("user" + u).email("user" + u + "@email.com").build()));
+        }
+        for (int u = 0; u < users.size(); u++) {
+            User owner = users.get(u);
+            ItemRequest request = new ItemRequest();
+            request.setDescription("request" + u);
+            request.setRequester(owner);
+            request.setCreated(now.minusDays(u));
+            request = itemRequestRepository.save(request);
+            for (int i = 0; i < 5; i++) {
+                Item item = new Item();
+                item.setName("item" + u + "-" + i);
+                item.setDescription("description");
+                item.setAvailable(true);
+                item.setOwner(owner);
+                item.setRequest(i == 0 ? request : null);
+                item = itemRepository.save(item);
+                for (int b = 0; b < 10; b++) {
+                    User booker = users.get((u + b + 1) % users.size());
+                    LocalDateTime start = now.plusDays(b - 5L);
+                    bookingRepository.save(Booking.builder().item(item).booker(booker)
+                            .status(Status.values()[b % Status.values().length])
+                            .start(start).end(start.plusHours(12)).build());
+                    Comment comment = new Comment();
+                    comment.setText("comment");
+                    comment.setItem(item);
+                    comment.setAuthorName(booker);
+                    comment.setCreated(now);
+                    commentRepository.save(comment);
+                }
+                itemId = item.getId();
+            }
+            requestId = request.getId();
+            userId = owner.getId();
+        }
+        entityManager.flush();
+        entityManager.clear();
+        sqlCapture.clear();
+    }
+
+    @Test
+    void bookingQueriesUseIndexes() {
+        KeysetCursor first = KeysetCursor.FIRST;
+        assertIndexed(
+                () -> bookingRepository.findAllByBookerId(userId, PAGE),
+                () -> bookingRepository.findAllByBookerIdAndStatus(userId, Status.WAITING, PAGE),
+                () -> bookingRepository.findAllByBookerIdCurrent(userId, PAGE),
+                () -> bookingRepository.findAllByBookerIdPast(userId, PAGE),
+                () -> bookingRepository.findAllByBookerIdFuture(userId, PAGE),
+                () -> bookingRepository.findAllByItemOwnerId(userId, PAGE),
+                () -> bookingRepository.findAllByItemOwnerIdCurrent(userId, PAGE),
+                () -> bookingRepository.findAllByItemOwnerIdPast(userId, PAGE),
+                () -> bookingRepository.findAllByItemOwnerIdFuture(userId, PAGE),
+                () -> bookingRepository.findAllByItemOwnerIdAndStatus(userId, Status.WAITING, PAGE),
+                () -> bookingRepository.findPageByBookerId(userId, first.getStart(), first.getId(), KEYSET_PAGE),
+                () -> bookingRepository.findPageByBookerIdAndStatus(userId, Status.REJECTED,
+                        first.getStart(), first.getId(), KEYSET_PAGE),
+                () -> bookingRepository.findPageByItemOwnerId(userId, first.getStart(), first.getId(), KEYSET_PAGE),
+                () -> bookingRepository.findNextClosestBookingByOwnerId(userId, itemId),
+                () -> bookingRepository.findLastClosestBookingByOwnerId(userId, itemId),
+                () -> bookingRepository.findAllByBookerIdAndItemIdPast(userId, itemId),
+                () -> bookingRepository.findNearestApprovedBookings(List.of(itemId, itemId - 1)));
+    }
+
+    @Test
+    void itemQueriesUseIndexes() {
+        assertIndexed(
+                () -> itemRepository.findAllByOwnerId(userId, PageRequest.of(0, 10, Sort.by("id"))),
+                () -> itemRepository.getItemDescriptionForRequest(requestId),
+                () -> itemRepository.getItemDescriptionForRequests(List.of(requestId, requestId - 1)),
+                () -> commentRepository.findAllByItemId(itemId),
+                () -> commentRepository.findAllByItemIdIn(List.of(itemId, itemId - 1)),
+                () -> itemRequestRepository.findAllByRequesterIdOrderByCreatedDesc(userId));
+    }
+
+    @Test
+    void userQueriesUseIndexes() {
+        assertIndexed(() -> userRepository.findAllByIdGreaterThan(userId - 5, PageRequest.of(0, 10, Sort.by("id"))));
+    }
+
+    private void assertIndexed(Runnable... queries) {
+        for (Runnable query : queries) {
+            sqlCapture.clear();
+            query.run();
+            entityManager.clear();
+            assertFalse(sqlCapture.statements().isEmpty(), "No SQL captured");
+            for (String sql : sqlCapture.statements()) {
+                String plan = explain(sql);
+                if (plan.contains(TABLE_SCAN)) {
+                    fail("Full table scan in\n" + sql + "\nplan:\n" + plan);
+                }
+            }
+        }
+    }
+
+    private String explain(String sql) {
+        return entityManager.unwrap(Session.class).doReturningWork(connection -> {
+            try (PreparedStatement statement = connection.prepareStatement("EXPLAIN " + sql)) {
+                bindSampleParameters(statement);
+                try (ResultSet resultSet = statement.executeQuery()) {
+                    StringBuilder plan = new StringBuilder();
+                    while (resultSet.next()) {
+                        plan.append(resultSet.getString(1)).append('\n');
+                    }
+                    return plan.toString();
+                }
+            }
+        });
+    }
+
+    private void bindSampleParameters(PreparedStatement statement) throws SQLException {
+        ParameterMetaData metaData = statement.getParameterMetaData();
+        for (int i = 1; i <= metaData.getParameterCount(); i++) {
+            switch (metaData.getParameterType(i)) {
+                case Types.VARCHAR:
+                case Types.CHAR:
+                    statement.setString(i, Status.APPROVED.name());
+                    break;
+                case Types.BOOLEAN:
+                    statement.setBoolean(i, true);
+                    break;
+                case Types.TIMESTAMP:
+                case Types.TIMESTAMP_WITH_TIMEZONE:
+                    statement.setObject(i, LocalDateTime.now());
+                    break;
+                default:
+                    statement.setLong(i, 1L);
+            }
+        }
+    }
+
+    @TestConfiguration
+    static class SqlCaptureConfig {
+        @Bean
+        SqlCapture sqlCapture() {
+            return new SqlCapture();
+        }
+
+        @Bean
+        HibernatePropertiesCustomizer sqlCaptureCustomizer(SqlCapture sqlCapture) {
+            return properties -> properties.put(AvailableSettings.STATEMENT_INSPECTOR, sqlCapture);
+        }
+    }
+
+    static class SqlCapture implements StatementInspector {
+        private final List<String> statements = new CopyOnWriteArrayList<>();
+
+        @Override
+        public String inspect(String sql) {
+            statements.add(sql);
+            return sql;
+        }
+
+        List<String> statements() {
+            return List.copyOf(statements);
+        }
+
+        void clear() {
+            statements.clear();
+        }
+    }
+}
@@ -0,0 +1,97 @@
+package ru.practicum.shareit;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.http.MediaType;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.web.servlet.MockMvc;
+import ru.practicum.shareit.item.dto.ItemDto;
+import ru.practicum.shareit.item.dto.ItemDtoCreate;
+import ru.practicum.shareit.user.dto.UserDto;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.patch;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+import static ru.practicum.shareit.Constants.HEADER;
+import static ru.practicum.shareit.SqlStatementMatchers.maxSqlStatements;
+import static ru.practicum.shareit.config.SecondLevelCacheConfig.USER_REGION;
+
+@AutoConfigureMockMvc
+@TestPropertySource(properties = "shareit.l2-cache.enabled=true")
+@DirtiesContext(classMode = DirtiesContext.ClassMode.AFTER_EACH_TEST_METHOD)
+class SecondLevelCacheTest extends CrudTestUtils {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Test
+    public void shouldReadUserFromCacheAndSeeUpdates() throws Exception {
+        long userId = createUser(UserDto.builder().name("Mark").email("mark@email.com").build()).getId();
+
+        mockMvc.perform(get("/users/{userId}", userId))
+                .andExpect(status().isOk());
+        mockMvc.perform(get("/users/{userId}", userId))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.name").value("Mark"))
+                .andExpect(maxSqlStatements(0));
+        assertTrue(meterRegistry.get("hibernate.second.level.cache.requests").tag("region", USER_REGION)
+                .tag("result", "hit").functionCounter().count() >= 1);
+
+        mockMvc.perform(patch("/users/{userId}", userId)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(UserDto.builder().name("Updated").build())))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.name").value("Updated"));
+        mockMvc.perform(get("/users/{userId}", userId))
+                .andExpect(jsonPath("$.name").value("Updated"))
+                .andExpect(jsonPath("$.email").value("mark@email.com"));
+    }
+
+    @Test
+    public void shouldNotServeStaleItemAfterUpdate() throws Exception {
+        long ownerId = createUser(UserDto.builder().name("Mark").email("mark@email.com").build()).getId();
+        long itemId = createItem(ItemDto.builder().name("Item").description("Description").available(true).build(),
+                ownerId).getId();
+        mockMvc.perform(get("/items/{itemId}", itemId).header(HEADER, String.valueOf(ownerId)))
+                .andExpect(status().isOk());
+
+        mockMvc.perform(patch("/items/{itemId}", itemId)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(ItemDtoCreate.builder().available(false).build()))
+                        .header(HEADER, String.valueOf(ownerId)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.name").value("Item"))
+                .andExpect(jsonPath("$.available").value(false));
+        mockMvc.perform(get("/items/{itemId}", itemId).header(HEADER, String.valueOf(ownerId)))
+                .andExpect(jsonPath("$.available").value(false));
+    }
+
+    @Test
+    public void shouldNotServeItemsDeletedWithTheirOwner() throws Exception {
+        long ownerId = createUser(UserDto.builder().name("Mark").email("mark@email.com").build()).getId();
+        long viewerId = createUser(UserDto.builder().name("Anna").email("anna@email.com").build()).getId();
+        long itemId = createItem(ItemDto.builder().name("Item").description("Description").available(true).build(),
+                ownerId).getId();
+        mockMvc.perform(get("/items/{itemId}", itemId).header(HEADER, String.valueOf(viewerId)))
+                .andExpect(status().isOk());
+
+        mockMvc.perform(delete("/users/{userId}", ownerId))
+                .andExpect(status().isOk());
+
+        mockMvc.perform(get("/items/{itemId}", itemId).header(HEADER, String.valueOf(viewerId)))
+                .andExpect(status().isNotFound());
+    }
+}
@@ -0,0 +1,26 @@
+package ru.practicum.shareit;
+
+import org.springframework.test.web.servlet.ResultMatcher;
+import ru.practicum.shareit.metrics.SqlStatementCountFilter;
+
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * MockMvc matchers on the number of SQL statements a request ran, as reported by {@link SqlStatementCountFilter}.
+ */
+public final class SqlStatementMatchers {
+
+    private SqlStatementMatchers() {
+    }
+
+    public static ResultMatcher maxSqlStatements(int max) {
+        return result -> {
+            String header = result.getResponse().getHeader(SqlStatementCountFilter.HEADER);
+            assertNotNull(header, "No " + SqlStatementCountFilter.HEADER + " header");
+            int count = Integer.parseInt(header);
+            assertTrue(count <= max, result.getRequest().getMethod() + " " + result.getRequest().getRequestURI()
+                    + " ran " + count + " SQL statements, expected at most " + max);
+        };
+    }
+}
@@ -0,0 +1,135 @@
+package ru.practicum.shareit.booking;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import ru.practicum.shareit.booking.availability.BookingAvailability;
+import ru.practicum.shareit.booking.bookingRepository.BookingRepository;
+import ru.practicum.shareit.booking.dto.BookingInterval;
+import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.booking.model.enums.Status;
+import ru.practicum.shareit.item.model.Item;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class BookingAvailabilityTest {
+    private static final LocalDateTime DAY = LocalDateTime.of(2030, 1, 1, 0, 0);
+
+    @Mock
+    private BookingRepository bookingRepository;
+
+    private BookingAvailability availability;
+
+    @BeforeEach
+    void init() {
+        availability = new BookingAvailability(bookingRepository, "maximumSize=100");
+        when(bookingRepository.findApprovedIntervals(eq(1L), any())).thenReturn(List.of(
+                interval(10L, DAY.plusHours(10), DAY.plusHours(12)),
+                interval(11L, DAY.plusHours(14), DAY.plusHours(16))));
+    }
+
+    @Test
+    void hasOverlap_whenWindowIntersectsApprovedBooking_thenTrue() {
+        assertTrue(availability.hasOverlap(1L, DAY.plusHours(11), DAY.plusHours(13)));
+        assertTrue(availability.hasOverlap(1L, DAY.plusHours(9), DAY.plusHours(17)));
+        assertTrue(availability.hasOverlap(1L, DAY.plusHours(15), DAY.plusHours(15).plusMinutes(1)));
+        verify(bookingRepository, times(1)).findApprovedIntervals(eq(1L), any());
+    }
+
+    @Test
+    void hasOverlap_whenWindowTouchesOrFallsBetweenBookings_thenFalse() {
+        assertFalse(availability.hasOverlap(1L, DAY.plusHours(12), DAY.plusHours(14)));
+        assertFalse(availability.hasOverlap(1L, DAY, DAY.plusHours(10)));
+        assertTrue(availability.isFree(1L, DAY.plusHours(16), DAY.plusHours(20)));
+    }
+
+    @Test
+    void hasOverlap_whenOnlyOverlapIsTheBookingItself_thenFalse() {
+        assertFalse(availability.hasOverlap(1L, DAY.plusHours(14), DAY.plusHours(16), 11L));
+        assertTrue(availability.hasOverlap(1L, DAY.plusHours(11), DAY.plusHours(16), 11L));
+    }
+
+    @Test
+    void statusChanged_whenApprovedOrRejected_thenCalendarFollows() {
+        Booking booking = booking(12L, DAY.plusHours(18), DAY.plusHours(20), Status.APPROVED);
+        assertTrue(availability.isFree(1L, DAY.plusHours(19), DAY.plusHours(21)));
+
+        availability.statusChanged(booking);
+        assertFalse(availability.isFree(1L, DAY.plusHours(19), DAY.plusHours(21)));
+
+        booking.setStatus(Status.REJECTED);
+        availability.statusChanged(booking);
+        assertTrue(availability.isFree(1L, DAY.plusHours(19), DAY.plusHours(21)));
+    }
+
+    @Test
+    void preload_whenCalendarsMissing_thenLoadAllItemsWithOneQuery() {
+        assertTrue(availability.hasOverlap(1L, DAY.plusHours(11), DAY.plusHours(13)));
+        when(bookingRepository.findApprovedIntervals(eq(List.of(2L, 3L)), any())).thenReturn(List.of(
+                interval(20L, 2L, DAY.plusHours(10), DAY.plusHours(12))));
+
+        availability.preload(List.of(1L, 2L, 3L));
+
+        assertTrue(availability.hasOverlap(2L, DAY.plusHours(11), DAY.plusHours(13)));
+        assertFalse(availability.hasOverlap(3L, DAY.plusHours(11), DAY.plusHours(13)));
+        verify(bookingRepository, times(1)).findApprovedIntervals(eq(List.of(2L, 3L)), any());
+        verify(bookingRepository, never()).findApprovedIntervals(eq(2L), any());
+    }
+
+    @Test
+    void evict_whenItemRemoved_thenCalendarReloaded() {
+        assertTrue(availability.hasOverlap(1L, DAY.plusHours(11), DAY.plusHours(13)));
+
+        availability.evict(1L);
+
+        assertTrue(availability.hasOverlap(1L, DAY.plusHours(11), DAY.plusHours(13)));
+        verify(bookingRepository, times(2)).findApprovedIntervals(eq(1L), any());
+    }
+
+    private Booking booking(long id, LocalDateTime start, LocalDateTime end, Status status) {
+        Item item = new Item();
+        item.setId(1L);
+        return Booking.builder().id(id).item(item).start(start).end(end).status(status).build();
+    }
+
+    private BookingInterval interval(long id, LocalDateTime start, LocalDateTime end) {
+        return interval(id, 1L, start, end);
+    }
+
+    private BookingInterval interval(long id, long itemId, LocalDateTime start, LocalDateTime end) {
+        return new BookingInterval() {
+            @Override
+            public Long getId() {
+                return id;
+            }
+
+            @Override
+            public Long getItemId() {
+                return itemId;
+            }
+
+            @Override
+            public LocalDateTime getStart() {
+                return start;
+            }
+
+            @Override
+            public LocalDateTime getEnd() {
+                return end;
+            }
+        };
+    }
+}
@@ -9,6 +9,7 @@ import org.springframework.test.annotation.DirtiesContext;
 import org.springframework.test.web.servlet.MockMvc;
 import org.springframework.test.web.servlet.MvcResult;
 import ru.practicum.shareit.CrudTestUtils;
+import ru.practicum.shareit.booking.dto.BookingApprovalReq;
 import ru.practicum.shareit.booking.dto.BookingDtoReq;
 import ru.practicum.shareit.booking.dto.BookingDtoResp;
 import ru.practicum.shareit.booking.model.enums.Status;
@@ -18,6 +19,7 @@ import ru.practicum.shareit.item.dto.ItemDto;
 import ru.practicum.shareit.user.dto.UserDto;
 
 import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
@@ -28,6 +30,7 @@ import static org.springframework.test.web.servlet.result.MockMvcResultHandlers.
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 import static ru.practicum.shareit.Constants.HEADER;
+import static ru.practicum.shareit.Constants.NEXT_CURSOR_HEADER;
 
 @AutoConfigureMockMvc
 @DirtiesContext(classMode = DirtiesContext.ClassMode.AFTER_EACH_TEST_METHOD)
@@ -540,4 +543,142 @@ class BookingControllerTest extends CrudTestUtils {
                         .header(HEADER, String.valueOf(ownerId)))
                 .andExpect(result -> assertTrue(result.getResolvedException() instanceof InvalidRequestException));
     }
+
+    @Test
+    void getBookingsByUser_whenCursorPaging_thenFollowNextCursor() throws Exception {
+        long ownerId = createUser(UserDto.builder().name("Mark").email("mark@email.com").build()).getId();
+        long bookerId = createUser(UserDto.builder().name("Toma").email("toma@email.com").build()).getId();
+        long itemId = createItem(ItemDto.builder().name("Item").description("Description").available(true).build(),
+                ownerId).getId();
+
+        LocalDateTime start = LocalDateTime.now().plusDays(1).withNano(0);
+        List<Long> expected = new ArrayList<>();
+        for (int i = 0; i < 3; i++) {
+            BookingDtoReq request = new BookingDtoReq();
+            request.setItemId(itemId);
+            request.setStart(start.plusDays(i));
+            request.setEnd(start.plusDays(i).plusHours(1));
+            expected.add(0, createBooking(request, bookerId).getId());
+        }
+
+        List<Long> actual = new ArrayList<>();
+        String cursor = "";
+        while (cursor != null) {
+            MvcResult result = mockMvc.perform(get("/bookings")
+                            .param("cursor", cursor)
+                            .param("size", "2")
+                            .header(HEADER, String.valueOf(bookerId)))
+                    .andExpect(status().isOk())
+                    .andReturn();
+            BookingDtoResp[] page = objectMapper.readValue(result.getResponse().getContentAsString(),
+                    BookingDtoResp[].class);
+            for (BookingDtoResp booking : page) {
+                actual.add(booking.getId());
+            }
+            cursor = result.getResponse().getHeader(NEXT_CURSOR_HEADER);
+        }
+        assertEquals(expected, actual);
+
+        mockMvc.perform(get("/bookings/owner")
+                        .param("cursor", "not-a-cursor")
+                        .header(HEADER, String.valueOf(ownerId)))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void createBookings_whenBatchHasInvalidEntries_thenReturnResultPerEntry() throws Exception {
+        long ownerId = createUser(UserDto.builder().name("Mark").email("mark@email.com").build()).getId();
+        long bookerId = createUser(UserDto.builder().name("Anna").email("anna@email.com").build()).getId();
+        long itemId = createItem(ItemDto.builder().name("Item").description("Description").available(true).build(),
+                ownerId).getId();
+        long unavailableId = createItem(ItemDto.builder().name("Other").description("Description").available(false)
+                .build(), ownerId).getId();
+        LocalDateTime start = LocalDateTime.now().plusDays(1);
+
+        List<BookingDtoReq> requests = new ArrayList<>();
+        for (int i = 0; i < 200; i++) {
+            requests.add(bookingRequest(itemId, start.plusDays(i), start.plusDays(i).plusHours(1)));
+        }
+        requests.add(bookingRequest(unavailableId, start, start.plusHours(1)));
+        requests.add(bookingRequest(999, start, start.plusHours(1)));
+
+        mockMvc.perform(post("/bookings/batch")
+                        .content(objectMapper.writeValueAsString(requests))
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .header(HEADER, String.valueOf(bookerId)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(202))
+                .andExpect(jsonPath("$[0].status").value(200))
+                .andExpect(jsonPath("$[0].booking.status").value(Status.WAITING.name()))
+                .andExpect(jsonPath("$[199].booking.item.id").value(itemId))
+                .andExpect(jsonPath("$[200].status").value(400))
+                .andExpect(jsonPath("$[201].status").value(404))
+                .andExpect(jsonPath("$[201].error").value("Item with id 999 not found"));
+    }
+
+    @Test
+    void approveBookings_whenBatchOverlapsOrRepeats_thenReturnResultPerEntry() throws Exception {
+        long ownerId = createUser(UserDto.builder().name("Mark").email("mark@email.com").build()).getId();
+        long bookerId = createUser(UserDto.builder().name("Anna").email("anna@email.com").build()).getId();
+        long itemId = createItem(ItemDto.builder().name("Item").description("Description").available(true).build(),
+                ownerId).getId();
+        LocalDateTime start = LocalDateTime.now().plusDays(1).truncatedTo(ChronoUnit.SECONDS);
+        long first = createBooking(bookingRequest(itemId, start, start.plusHours(2)), bookerId).getId();
+        long overlapping = createBooking(bookingRequest(itemId, start.plusHours(1), start.plusHours(3)), bookerId).getId();
+        long later = createBooking(bookingRequest(itemId, start.plusDays(1), start.plusDays(2)), bookerId).getId();
+
+        List<BookingApprovalReq> approvals = List.of(new BookingApprovalReq(first, true),
+                new BookingApprovalReq(overlapping, true), new BookingApprovalReq(later, false),
+                new BookingApprovalReq(later, true), new BookingApprovalReq(999, true));
+
+        mockMvc.perform(patch("/bookings/batch")
+                        .content(objectMapper.writeValueAsString(approvals))
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .header(HEADER, String.valueOf(ownerId)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].booking.status").value(Status.APPROVED.name()))
+                .andExpect(jsonPath("$[1].status").value(400))
+                .andExpect(jsonPath("$[2].booking.status").value(Status.REJECTED.name()))
+                .andExpect(jsonPath("$[3].status").value(400))
+                .andExpect(jsonPath("$[4].status").value(404));
+
+        mockMvc.perform(get("/bookings/{bookingId}", overlapping).header(HEADER, String.valueOf(ownerId)))
+                .andExpect(jsonPath("$.status").value(Status.WAITING.name()));
+        mockMvc.perform(get("/bookings/{bookingId}", first).header(HEADER, String.valueOf(ownerId)))
+                .andExpect(jsonPath("$.status").value(Status.APPROVED.name()));
+    }
+
+    @Test
+    void approveBookings_whenAllEntriesRejected_thenReturnResultPerEntry() throws Exception {
+        long ownerId = createUser(UserDto.builder().name("Mark").email("mark@email.com").build()).getId();
+        long bookerId = createUser(UserDto.builder().name("Anna").email("anna@email.com").build()).getId();
+        long itemId = createItem(ItemDto.builder().name("Item").description("Description").available(true).build(),
+                ownerId).getId();
+        LocalDateTime start = LocalDateTime.now().plusDays(1).truncatedTo(ChronoUnit.SECONDS);
+        long bookingId = createBooking(bookingRequest(itemId, start, start.plusHours(2)), bookerId).getId();
+
+        List<BookingApprovalReq> approvals = List.of(new BookingApprovalReq(bookingId, false),
+                new BookingApprovalReq(bookingId, true), new BookingApprovalReq(999, true));
+
+        mockMvc.perform(patch("/bookings/batch")
+                        .content(objectMapper.writeValueAsString(approvals))
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .header(HEADER, String.valueOf(bookerId)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(3))
+                .andExpect(jsonPath("$[0].status").value(404))
+                .andExpect(jsonPath("$[1].status").value(400))
+                .andExpect(jsonPath("$[2].status").value(404));
+
+        mockMvc.perform(get("/bookings/{bookingId}", bookingId).header(HEADER, String.valueOf(ownerId)))
+                .andExpect(jsonPath("$.status").value(Status.WAITING.name()));
+    }
+
+    private BookingDtoReq bookingRequest(long itemId, LocalDateTime start, LocalDateTime end) {
+        BookingDtoReq request = new BookingDtoReq();
+        request.setItemId(itemId);
+        request.setStart(start);
+        request.setEnd(end);
+        return request;
+    }
 }
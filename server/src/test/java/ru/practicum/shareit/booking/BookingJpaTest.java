@@ -9,12 +9,15 @@ import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
+import ru.practicum.shareit.booking.bookingRepository.BookingBatchRepository.StatusChange;
 import ru.practicum.shareit.booking.bookingRepository.BookingRepository;
 import ru.practicum.shareit.booking.dto.BookingDto;
+import ru.practicum.shareit.booking.dto.NearestBooking;
 import ru.practicum.shareit.booking.model.Booking;
 import ru.practicum.shareit.booking.model.enums.Status;
 import ru.practicum.shareit.item.model.Item;
 import ru.practicum.shareit.item.repository.ItemRepository;
+import ru.practicum.shareit.pagination.KeysetCursor;
 import ru.practicum.shareit.user.model.User;
 import ru.practicum.shareit.user.repository.UserRepository;
 
@@ -22,7 +25,9 @@ import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
+import java.util.stream.Collectors;
 
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 
 @DataJpaTest
@@ -189,6 +194,70 @@ class BookingJpaTest {
         assertEquals(last.size(), 0);
     }
 
+    @Test
+    void updateStatus_whenExpectedStatusMatches_thenTransitionOnceAndBumpVersion() {
+        assertEquals(1, bookingRepository.updateStatus(bookingId1, Status.WAITING, Status.APPROVED));
+        assertEquals(0, bookingRepository.updateStatus(bookingId1, Status.WAITING, Status.REJECTED));
+
+        Booking booking = bookingRepository.findById(bookingId1).get();
+        assertEquals(Status.APPROVED, booking.getStatus());
+        assertEquals(1, booking.getVersion());
+    }
+
+    @Test
+    void updateStatuses_whenBatched_thenReturnCountPerChange() {
+        int[] updated = bookingRepository.updateStatuses(List.of(
+                new StatusChange(bookingId1, Status.WAITING, Status.APPROVED),
+                new StatusChange(bookingId2, Status.APPROVED, Status.REJECTED),
+                new StatusChange(bookingId1, Status.WAITING, Status.REJECTED)));
+
+        assertArrayEquals(new int[]{1, 0, 0}, updated);
+        Booking booking = bookingRepository.findById(bookingId1).get();
+        assertEquals(Status.APPROVED, booking.getStatus());
+        assertEquals(1, booking.getVersion());
+    }
+
+    @Test
+    @SneakyThrows
+    void findNearestApprovedBookings() {
+        Item item = itemRepository.findById(itemId).get();
+        User booker = userRepository.findById(bookerId).get();
+        LocalDateTime now = LocalDateTime.now();
+        long lastId = bookingRepository.save(Booking.builder().item(item).booker(booker).status(Status.APPROVED)
+                .start(now.minusDays(3)).end(now.minusDays(1)).build()).getId();
+        bookingRepository.save(Booking.builder().item(item).booker(booker).status(Status.APPROVED)
+                .start(now.minusDays(5)).end(now.minusDays(4)).build());
+        long nextId = bookingRepository.save(Booking.builder().item(item).booker(booker).status(Status.APPROVED)
+                .start(now.plusDays(1)).end(now.plusDays(2)).build()).getId();
+        bookingRepository.save(Booking.builder().item(item).booker(booker).status(Status.APPROVED)
+                .start(now.plusDays(3)).end(now.plusDays(4)).build());
+        bookingRepository.save(Booking.builder().item(item).booker(booker).status(Status.WAITING)
+                .start(now.plusHours(1)).end(now.plusHours(2)).build());
+
+        List<NearestBooking> nearest = bookingRepository.findNearestApprovedBookings(List.of(itemId));
+
+        assertEquals(2, nearest.size());
+        for (NearestBooking booking : nearest) {
+            assertEquals(itemId, booking.getItemId());
+            assertEquals(bookerId, booking.getBookerId());
+            assertEquals(booking.getUpcoming() ? nextId : lastId, booking.getId());
+        }
+    }
+
+    @Test
+    @SneakyThrows
+    void findPageByBookerIdAfterCursor() {
+        Pageable page = PageRequest.of(0, 2, Sort.by("start").descending().and(Sort.by("id").descending()));
+        KeysetCursor first = KeysetCursor.FIRST;
+
+        List<Booking> firstPage = bookingRepository.findPageByBookerId(bookerId, first.getStart(), first.getId(), page);
+        assertEquals(List.of(bookingId3, bookingId2), firstPage.stream().map(Booking::getId).collect(Collectors.toList()));
+
+        Booking last = firstPage.get(1);
+        List<Booking> secondPage = bookingRepository.findPageByItemOwnerId(ownerId, last.getStart(), last.getId(), page);
+        assertEquals(List.of(bookingId1), secondPage.stream().map(Booking::getId).collect(Collectors.toList()));
+    }
+
     @AfterEach
     public void delete() {
         userRepository.deleteAll();
@@ -5,30 +5,44 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
+import ru.practicum.shareit.booking.availability.BookingAvailability;
+import ru.practicum.shareit.booking.bookingRepository.BookingBatchRepository.StatusChange;
 import ru.practicum.shareit.booking.bookingRepository.BookingRepository;
+import ru.practicum.shareit.booking.dto.BookingApprovalReq;
+import ru.practicum.shareit.booking.dto.BookingBatchResult;
 import ru.practicum.shareit.booking.dto.BookingDtoReq;
 import ru.practicum.shareit.booking.dto.BookingDtoResp;
 import ru.practicum.shareit.booking.mapper.BookingMapper;
 import ru.practicum.shareit.booking.model.Booking;
 import ru.practicum.shareit.booking.model.enums.Status;
 import ru.practicum.shareit.booking.service.BookingServiceImpl;
+import ru.practicum.shareit.exception.ConflictException;
 import ru.practicum.shareit.exception.InvalidRequestException;
 import ru.practicum.shareit.exception.NotFoundException;
+import ru.practicum.shareit.item.itemService.ItemDtoCache;
 import ru.practicum.shareit.item.model.Item;
 import ru.practicum.shareit.item.repository.ItemRepository;
 import ru.practicum.shareit.user.model.User;
 import ru.practicum.shareit.user.repository.UserRepository;
+import ru.practicum.shareit.user.userService.UserExistence;
 
+import java.sql.SQLException;
+import java.sql.Statement;
 import java.time.LocalDateTime;
 import java.util.Collections;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 @ExtendWith(MockitoExtension.class)
@@ -41,6 +55,12 @@ class BookingServiceImplTest {
     private UserRepository userRepository;
     @Mock
     private ItemRepository itemRepository;
+    @Mock
+    private ItemDtoCache itemDtoCache;
+    @Mock
+    private BookingAvailability bookingAvailability;
+    @Mock
+    private UserExistence userExistence;
 
     @Test
     void createBooking_whenValid_thenReturnBooking() {
@@ -74,6 +94,76 @@ class BookingServiceImplTest {
         assertEquals(expect, actual);
     }
 
+    @Test
+    void approveBookings_whenOneChangedConcurrently_thenConflictForThatEntryOnly() {
+        User owner = new User();
+        long ownerId = 1L;
+        owner.setId(ownerId);
+
+        User booker = new User();
+        booker.setId(2L);
+
+        Item item = new Item();
+        item.setId(1L);
+        item.setOwner(owner);
+
+        LocalDateTime start = LocalDateTime.now().plusDays(1);
+        Booking first = Booking.builder().id(1L).item(item).booker(booker).status(Status.WAITING)
+                .start(start).end(start.plusHours(1)).build();
+        Booking second = Booking.builder().id(2L).item(item).booker(booker).status(Status.WAITING)
+                .start(start.plusDays(1)).end(start.plusDays(1).plusHours(1)).build();
+
+        when(userExistence.exists(ownerId)).thenReturn(true);
+        when(bookingRepository.findAllWithItemAndBookerByIdIn(Set.of(1L, 2L))).thenReturn(List.of(first, second));
+        when(bookingRepository.updateStatuses(List.of(new StatusChange(1L, Status.WAITING, Status.APPROVED),
+                new StatusChange(2L, Status.WAITING, Status.REJECTED)))).thenReturn(new int[]{1, 0});
+
+        List<BookingBatchResult> results = bookingService.approveBookings(ownerId,
+                List.of(new BookingApprovalReq(1L, true), new BookingApprovalReq(2L, false)));
+
+        assertEquals(200, results.get(0).getStatus());
+        assertEquals(Status.APPROVED.name(), results.get(0).getBooking().getStatus());
+        assertEquals(409, results.get(1).getStatus());
+        verify(bookingAvailability).preload(Set.of(1L));
+        verify(itemDtoCache).evictBookings(1L);
+    }
+
+    @Test
+    void approveBookings_whenDatabaseRejectsOverlap_thenBadRequestForThatEntryOnly() {
+        User owner = new User();
+        long ownerId = 1L;
+        owner.setId(ownerId);
+
+        User booker = new User();
+        booker.setId(2L);
+
+        Item item = new Item();
+        item.setId(1L);
+        item.setOwner(owner);
+
+        LocalDateTime start = LocalDateTime.now().plusDays(1);
+        Booking first = Booking.builder().id(1L).item(item).booker(booker).status(Status.WAITING)
+                .start(start).end(start.plusHours(1)).build();
+        Booking second = Booking.builder().id(2L).item(item).booker(booker).status(Status.WAITING)
+                .start(start.plusDays(1)).end(start.plusDays(1).plusHours(1)).build();
+
+        when(userExistence.exists(ownerId)).thenReturn(true);
+        when(bookingRepository.findAllWithItemAndBookerByIdIn(Set.of(1L, 2L))).thenReturn(List.of(first, second));
+        when(bookingRepository.updateStatuses(List.of(new StatusChange(1L, Status.WAITING, Status.APPROVED),
+                new StatusChange(2L, Status.WAITING, Status.APPROVED))))
+                .thenReturn(new int[]{Statement.EXECUTE_FAILED, 1});
+
+        List<BookingBatchResult> results = bookingService.approveBookings(ownerId,
+                List.of(new BookingApprovalReq(1L, true), new BookingApprovalReq(2L, true)));
+
+        assertEquals(400, results.get(0).getStatus());
+        assertEquals("Booking with id 1 overlaps an approved booking", results.get(0).getError());
+        assertEquals(200, results.get(1).getStatus());
+        assertEquals(Status.APPROVED.name(), results.get(1).getBooking().getStatus());
+        verify(bookingAvailability).statusChanged(second);
+        verify(bookingAvailability, never()).statusChanged(first);
+    }
+
     @Test
     void createBooking_whenBookerIdEqualsOwnerId_thenBookingNotFoundException() {
         User owner = new User();
@@ -103,6 +193,61 @@ class BookingServiceImplTest {
         assertThrows(NotFoundException.class, () -> bookingService.addBooking(request, userId));
     }
 
+    @Test
+    void createBooking_whenOverlapsApprovedBooking_thenInvalidRequestException() {
+        User owner = new User();
+        owner.setId(1L);
+
+        User booker = new User();
+        long userId = 2L;
+        booker.setId(userId);
+
+        Item item = new Item();
+        long itemId = 1L;
+        item.setOwner(owner);
+        item.setId(itemId);
+        item.setAvailable(true);
+
+        BookingDtoReq request = new BookingDtoReq();
+        request.setItemId(itemId);
+        request.setStart(LocalDateTime.now().plusDays(1));
+        request.setEnd(LocalDateTime.now().plusDays(2));
+
+        when(userRepository.findById(userId)).thenReturn(Optional.of(booker));
+        when(itemRepository.findById(itemId)).thenReturn(Optional.of(item));
+        when(bookingAvailability.hasOverlap(itemId, request.getStart(), request.getEnd())).thenReturn(true);
+
+        assertThrows(InvalidRequestException.class, () -> bookingService.addBooking(request, userId));
+        verify(bookingRepository, never()).save(any());
+    }
+
+    @Test
+    void updateBooking_whenApprovalOverlapsApprovedBooking_thenInvalidRequestException() {
+        User owner = new User();
+        long ownerId = 1L;
+        owner.setId(ownerId);
+
+        User booker = new User();
+        booker.setId(2L);
+
+        Item item = new Item();
+        long itemId = 1L;
+        item.setOwner(owner);
+        item.setId(itemId);
+        item.setAvailable(true);
+
+        long bookingId = 1L;
+        Booking booking = Booking.builder().id(bookingId).item(item).booker(booker).status(Status.WAITING)
+                .start(LocalDateTime.now().plusDays(1)).end(LocalDateTime.now().plusDays(2)).build();
+
+        when(userExistence.exists(ownerId)).thenReturn(true);
+        when(bookingRepository.findWithItemAndBookerById(bookingId)).thenReturn(Optional.of(booking));
+        when(bookingAvailability.hasOverlap(itemId, booking.getStart(), booking.getEnd(), bookingId)).thenReturn(true);
+
+        assertThrows(InvalidRequestException.class, () -> bookingService.approveBooking(ownerId, bookingId, true));
+        assertEquals(Status.WAITING, booking.getStatus());
+    }
+
     @Test
     void updateBooking_whenValid_thenReturnBooking() {
         Boolean approved = false;
@@ -129,8 +274,9 @@ class BookingServiceImplTest {
         long bookingId = 1L;
         booking.setId(bookingId);
 
-        when(userRepository.findById(ownerId)).thenReturn(Optional.of(owner));
-        when(bookingRepository.findById(bookingId)).thenReturn(Optional.of(booking));
+        when(userExistence.exists(ownerId)).thenReturn(true);
+        when(bookingRepository.findWithItemAndBookerById(bookingId)).thenReturn(Optional.of(booking));
+        when(bookingRepository.updateStatus(bookingId, booking.getStatus(), Status.REJECTED)).thenReturn(1);
 
         BookingDtoResp expect = BookingMapper.toBookingDto(booking);
         expect.setStatus("REJECTED");
@@ -138,6 +284,64 @@ class BookingServiceImplTest {
         assertEquals(expect, actual);
     }
 
+    @Test
+    void updateBooking_whenStatusChangedConcurrently_thenConflictException() {
+        User owner = new User();
+        long ownerId = 1L;
+        owner.setId(ownerId);
+
+        User booker = new User();
+        booker.setId(2L);
+
+        Item item = new Item();
+        long itemId = 1L;
+        item.setOwner(owner);
+        item.setId(itemId);
+        item.setAvailable(true);
+
+        long bookingId = 1L;
+        Booking booking = Booking.builder().id(bookingId).item(item).booker(booker).status(Status.WAITING)
+                .start(LocalDateTime.now().plusDays(1)).end(LocalDateTime.now().plusDays(2)).build();
+
+        when(userExistence.exists(ownerId)).thenReturn(true);
+        when(bookingRepository.findWithItemAndBookerById(bookingId)).thenReturn(Optional.of(booking));
+        when(bookingRepository.updateStatus(bookingId, Status.WAITING, Status.APPROVED)).thenReturn(0);
+
+        assertThrows(ConflictException.class, () -> bookingService.approveBooking(ownerId, bookingId, true));
+        verify(bookingAvailability, never()).statusChanged(any());
+    }
+
+    @Test
+    void updateBooking_whenIntegrityViolated_thenOnlyOverlapIsClientError() {
+        User owner = new User();
+        long ownerId = 1L;
+        owner.setId(ownerId);
+
+        User booker = new User();
+        booker.setId(2L);
+
+        Item item = new Item();
+        item.setOwner(owner);
+        item.setId(1L);
+        item.setAvailable(true);
+
+        long bookingId = 1L;
+        when(userExistence.exists(ownerId)).thenReturn(true);
+        when(bookingRepository.findWithItemAndBookerById(bookingId)).thenAnswer(invocation -> Optional.of(
+                Booking.builder().id(bookingId).item(item).booker(booker).status(Status.WAITING)
+                        .start(LocalDateTime.now().plusDays(1)).end(LocalDateTime.now().plusDays(2)).build()));
+        when(bookingRepository.updateStatus(bookingId, Status.WAITING, Status.APPROVED))
+                .thenThrow(new DataIntegrityViolationException("overlap", new SQLException(
+                        "conflicting key value violates exclusion constraint \"ex_bookings_approved_overlap\"",
+                        "23P01")))
+                .thenThrow(new DataIntegrityViolationException("foreign key", new SQLException(
+                        "insert or update violates foreign key constraint", "23503")));
+
+        assertThrows(InvalidRequestException.class, () -> bookingService.approveBooking(ownerId, bookingId, true));
+        assertThrows(DataIntegrityViolationException.class,
+                () -> bookingService.approveBooking(ownerId, bookingId, true));
+    }
+
     @Test
     void updateBooking_whenUserIsNotOwner_thenNotFoundException() {
         Boolean approved = true;
@@ -164,8 +368,8 @@ class BookingServiceImplTest {
         long bookingId = 1L;
         booking.setId(bookingId);
 
-        when(userRepository.findById(userId)).thenReturn(Optional.of(booker));
-        when(bookingRepository.findById(bookingId)).thenReturn(Optional.of(booking));
+        when(userExistence.exists(userId)).thenReturn(true);
+        when(bookingRepository.findWithItemAndBookerById(bookingId)).thenReturn(Optional.of(booking));
 
         assertThrows(NotFoundException.class, () -> bookingService.approveBooking(userId, bookingId, approved));
     }
@@ -197,8 +401,8 @@ class BookingServiceImplTest {
         booking.setId(bookingId);
         booking.setStatus(Status.APPROVED);
 
-        when(userRepository.findById(ownerId)).thenReturn(Optional.of(owner));
-        when(bookingRepository.findById(bookingId)).thenReturn(Optional.of(booking));
+        when(userExistence.exists(ownerId)).thenReturn(true);
+        when(bookingRepository.findWithItemAndBookerById(bookingId)).thenReturn(Optional.of(booking));
 
         assertThrows(InvalidRequestException.class, () -> bookingService.approveBooking(ownerId, bookingId, approved));
     }
@@ -249,7 +453,7 @@ class BookingServiceImplTest {
         booking3.setId(bookingId3);
         booking3.setStatus(Status.WAITING);
 
-        when(userRepository.findById(bookerId)).thenReturn(Optional.of(booker));
+        when(userExistence.exists(bookerId)).thenReturn(true);
         when(bookingRepository.findAllByBookerId(bookerId, page))
                 .thenReturn(List.of(booking1, booking2, booking3));
         when(bookingRepository.findAllByBookerIdCurrent(bookerId, page))
@@ -331,7 +535,7 @@ class BookingServiceImplTest {
         booking3.setId(bookingId3);
         booking3.setStatus(Status.WAITING);
 
-        when(userRepository.findById(ownerId)).thenReturn(Optional.of(owner));
+        when(userExistence.exists(ownerId)).thenReturn(true);
         when(bookingRepository.findAllByItemOwnerId(ownerId, page))
                 .thenReturn(List.of(booking1, booking2, booking3));
         when(bookingRepository.findAllByItemOwnerIdCurrent(ownerId, page))
@@ -392,7 +596,7 @@ class BookingServiceImplTest {
         booking.setId(bookingId);
         booking.setStatus(Status.WAITING);
 
-        when(userRepository.findById(userId)).thenReturn(Optional.of(booker));
+        when(userExistence.exists(userId)).thenReturn(true);
         when(bookingRepository.findById(bookingId)).thenReturn(Optional.of(booking));
 
         BookingDtoResp expect = BookingMapper.toBookingDto(booking);
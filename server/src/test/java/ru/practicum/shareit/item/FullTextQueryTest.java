@@ -0,0 +1,16 @@
+package ru.practicum.shareit.item;
+
+import org.junit.jupiter.api.Test;
+import ru.practicum.shareit.item.search.FullTextQuery;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class FullTextQueryTest {
+
+    @Test
+    void toPrefixQuery_whenTextHasWords_thenJoinPrefixesWithAnd() {
+        assertEquals("cordless:* & dri:*", FullTextQuery.toPrefixQuery("Cordless  dri"));
+        assertEquals("a:* & b:*", FullTextQuery.toPrefixQuery("a' | b:*"));
+        assertEquals("", FullTextQuery.toPrefixQuery(" !? "));
+    }
+}
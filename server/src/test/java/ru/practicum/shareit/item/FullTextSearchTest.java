@@ -0,0 +1,24 @@
+package ru.practicum.shareit.item;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import ru.practicum.shareit.item.search.SearchEngine;
+import ru.practicum.shareit.item.search.SearchEngineSelector;
+
+import javax.sql.DataSource;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+@DataJpaTest
+class FullTextSearchTest {
+
+    @Autowired
+    private DataSource dataSource;
+
+    @Test
+    void selector_whenFullTextOnH2_thenFallBackToLike() {
+        assertEquals(SearchEngine.LIKE, new SearchEngineSelector(SearchEngine.FULLTEXT, dataSource).getEngine());
+        assertEquals(SearchEngine.INDEX, new SearchEngineSelector(SearchEngine.INDEX, dataSource).getEngine());
+    }
+}
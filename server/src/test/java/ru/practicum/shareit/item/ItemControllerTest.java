@@ -169,6 +169,45 @@ class ItemControllerTest extends CrudTestUtils {
                 .andExpect(jsonPath("$.*", hasSize(0))).andReturn();
     }
 
+    @Test
+    public void shouldSearchOnlyFreeItemsWhenWindowGiven() throws Exception {
+        long ownerId = createUser(UserDto.builder().name("Mark").email("mark@email.com").build()).getId();
+        long bookerId = createUser(UserDto.builder().name("Toma").email("toma@email.com").build()).getId();
+        long bookedId = createItem(ItemDto.builder().name("Item1").description("Description1").available(true).build(), ownerId).getId();
+        long freeId = createItem(ItemDto.builder().name("Item2").description("Description2").available(true).build(), ownerId).getId();
+        LocalDateTime start = LocalDateTime.now().plusDays(1).withNano(0);
+
+        Booking booking = new Booking();
+        booking.setItem(itemRepository.findById(bookedId).get());
+        booking.setBooker(userRepository.findById(bookerId).get());
+        booking.setStatus(Status.APPROVED);
+        booking.setStart(start);
+        booking.setEnd(start.plusDays(1));
+        bookingRepository.save(booking);
+
+        mockMvc.perform(get("/items/search")
+                        .param("text", "item")
+                        .param("start", start.plusHours(1).toString())
+                        .param("end", start.plusHours(2).toString()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.*", hasSize(1)))
+                .andExpect(jsonPath("$[0].id").value(freeId));
+    }
+
+    @Test
+    public void shouldRejectSearchWhenWindowHalfGiven() throws Exception {
+        LocalDateTime start = LocalDateTime.now().plusDays(1).withNano(0);
+
+        mockMvc.perform(get("/items/search")
+                        .param("text", "item")
+                        .param("start", start.toString()))
+                .andExpect(status().isBadRequest());
+        mockMvc.perform(get("/items/search")
+                        .param("text", "item")
+                        .param("end", start.toString()))
+                .andExpect(status().isBadRequest());
+    }
+
     @Test
     public void shouldDeleteItemWhenIdCorrect() throws Exception {
         long ownerId = createUser(UserDto.builder().name("Mark").email("mark@email.com").build()).getId();
@@ -0,0 +1,123 @@
+package ru.practicum.shareit.item;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.http.MediaType;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import ru.practicum.shareit.CrudTestUtils;
+import ru.practicum.shareit.booking.dto.BookingDtoReq;
+import ru.practicum.shareit.booking.dto.BookingDtoResp;
+import ru.practicum.shareit.item.dto.ItemDto;
+import ru.practicum.shareit.item.dto.ItemDtoCreate;
+import ru.practicum.shareit.user.dto.UserDto;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.patch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+import static ru.practicum.shareit.Constants.HEADER;
+import static ru.practicum.shareit.config.CacheConfig.ITEMS;
+import static ru.practicum.shareit.config.CacheConfig.ITEM_BOOKINGS;
+
+@AutoConfigureMockMvc
+@DirtiesContext(classMode = DirtiesContext.ClassMode.AFTER_EACH_TEST_METHOD)
+class ItemDtoCacheTest extends CrudTestUtils {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private CacheManager cacheManager;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Test
+    public void shouldCacheItemAndEvictOnUpdate() throws Exception {
+        long ownerId = createUser(UserDto.builder().name("Mark").email("mark@email.com").build()).getId();
+        long itemId = createItem(ItemDto.builder().name("Item").description("Description").available(true).build(),
+                ownerId).getId();
+        Cache items = cacheManager.getCache(ITEMS);
+        Cache itemBookings = cacheManager.getCache(ITEM_BOOKINGS);
+
+        for (int i = 0; i < 2; i++) {
+            mockMvc.perform(get("/items/{itemId}", itemId).header(HEADER, String.valueOf(ownerId)))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$.name").value("Item"));
+        }
+        assertEquals(1.0, meterRegistry.get("cache.gets").tag("cache", ITEMS).tag("result", "hit")
+                .functionCounter().count());
+        assertNotNull(items.get(itemId));
+        assertNotNull(itemBookings.get(itemId));
+
+        mockMvc.perform(patch("/items/{itemId}", itemId)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(ItemDtoCreate.builder().name("Updated").build()))
+                        .header(HEADER, String.valueOf(ownerId)))
+                .andExpect(status().isOk());
+        assertNull(items.get(itemId));
+
+        mockMvc.perform(get("/items/{itemId}", itemId).header(HEADER, String.valueOf(ownerId)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.name").value("Updated"));
+    }
+
+    @Test
+    public void shouldExpireBookingsWhenNextBookingStarts() throws Exception {
+        long ownerId = createUser(UserDto.builder().name("Mark").email("mark@email.com").build()).getId();
+        long bookerId = createUser(UserDto.builder().name("Anna").email("anna@email.com").build()).getId();
+        long itemId = createItem(ItemDto.builder().name("Item").description("Description").available(true).build(),
+                ownerId).getId();
+        LocalDateTime start = LocalDateTime.now().plusSeconds(2);
+        BookingDtoReq request = new BookingDtoReq();
+        request.setItemId(itemId);
+        request.setStart(start);
+        request.setEnd(start.plusHours(1));
+        MvcResult result = mockMvc.perform(post("/bookings")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(request))
+                        .header(HEADER, String.valueOf(bookerId)))
+                .andExpect(status().isOk())
+                .andReturn();
+        long bookingId = objectMapper.readValue(result.getResponse().getContentAsString(), BookingDtoResp.class).getId();
+        mockMvc.perform(patch("/bookings/{bookingId}", bookingId)
+                        .param("approved", "true")
+                        .header(HEADER, String.valueOf(ownerId)))
+                .andExpect(status().isOk());
+
+        mockMvc.perform(get("/items/{itemId}", itemId).header(HEADER, String.valueOf(ownerId)))
+                .andExpect(jsonPath("$.nextBooking.id").value(bookingId))
+                .andExpect(jsonPath("$.lastBooking").isEmpty());
+        Thread.sleep(Math.max(0, Duration.between(LocalDateTime.now(), start).toMillis()) + 100);
+
+        mockMvc.perform(get("/items/{itemId}", itemId).header(HEADER, String.valueOf(ownerId)))
+                .andExpect(jsonPath("$.nextBooking").isEmpty())
+                .andExpect(jsonPath("$.lastBooking.id").value(bookingId));
+    }
+
+    @Test
+    public void shouldNotCacheMissingItem() throws Exception {
+        long userId = createUser(UserDto.builder().name("Mark").email("mark@email.com").build()).getId();
+
+        mockMvc.perform(get("/items/{itemId}", 999).header(HEADER, String.valueOf(userId)))
+                .andExpect(status().isNotFound());
+        assertNull(cacheManager.getCache(ITEMS).get(999L));
+    }
+}
@@ -5,15 +5,22 @@ import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
 import org.springframework.data.domain.PageRequest;
+import ru.practicum.shareit.booking.bookingRepository.BookingRepository;
+import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.booking.model.enums.Status;
 import ru.practicum.shareit.item.dto.ItemDtoCreate;
+import ru.practicum.shareit.item.dto.ItemForRequestDto;
 import ru.practicum.shareit.item.dto.ItemMapper;
 import ru.practicum.shareit.item.model.Item;
 import ru.practicum.shareit.item.repository.ItemRepository;
+import ru.practicum.shareit.request.model.ItemRequest;
+import ru.practicum.shareit.request.repository.ItemRequestRepository;
 import ru.practicum.shareit.user.dto.UserDto;
 import ru.practicum.shareit.user.dto.UserMapper;
 import ru.practicum.shareit.user.model.User;
 import ru.practicum.shareit.user.repository.UserRepository;
 
+import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.List;
 
@@ -28,6 +35,12 @@ class ItemJpaTest {
     @Autowired
     private UserRepository userRepository;
 
+    @Autowired
+    private ItemRequestRepository itemRequestRepository;
+
+    @Autowired
+    private BookingRepository bookingRepository;
+
     @Test
     public void shouldSearchForItems() {
         UserDto userDto = UserDto.builder().name("Mark").email("mark@email.com").build();
@@ -58,6 +71,65 @@ class ItemJpaTest {
         assertEquals(expectedList, itemRepository.searchItemByNameOrDescription(searchText, PageRequest.of(0, 2)));
     }
 
+    @Test
+    public void shouldSearchOnlyItemsFreeInWindow() {
+        User owner = userRepository.save(UserMapper.toUser(UserDto.builder().name("Mark").email("mark@email.com").build()));
+        User booker = userRepository.save(UserMapper.toUser(UserDto.builder().name("Toma").email("toma@email.com").build()));
+        List<Item> items = new ArrayList<>();
+        for (int i = 1; i <= 3; i++) {
+            Item item = ItemMapper.toItem(ItemDtoCreate.builder()
+                    .name("Item" + i)
+                    .description("Description" + i)
+                    .available(true).build());
+            item.setOwner(owner);
+            items.add(itemRepository.save(item));
+        }
+        LocalDateTime start = LocalDateTime.now().plusDays(1).withNano(0);
+        LocalDateTime end = start.plusDays(2);
+        bookingRepository.save(Booking.builder().item(items.get(0)).booker(booker).status(Status.APPROVED)
+                .start(start.plusDays(1)).end(end.plusDays(1)).build());
+        bookingRepository.save(Booking.builder().item(items.get(1)).booker(booker).status(Status.WAITING)
+                .start(start).end(end).build());
+        bookingRepository.save(Booking.builder().item(items.get(2)).booker(booker).status(Status.APPROVED)
+                .start(end).end(end.plusDays(1)).build());
+
+        assertEquals(List.of(items.get(1), items.get(2)),
+                itemRepository.searchFreeItemByNameOrDescription("item", start, end, PageRequest.of(0, 10)));
+        assertEquals(List.of(items.get(2)),
+                itemRepository.searchFreeItemByNameOrDescription("item", start, end, PageRequest.of(1, 1)));
+    }
+
+    @Test
+    public void shouldGetItemsForSeveralRequests() {
+        User owner = userRepository.save(UserMapper.toUser(UserDto.builder().name("Mark").email("mark@email.com").build()));
+        ItemRequest request1 = new ItemRequest();
+        request1.setDescription("request1");
+        request1.setRequester(owner);
+        request1.setCreated(LocalDateTime.now());
+        request1 = itemRequestRepository.save(request1);
+        ItemRequest request2 = new ItemRequest();
+        request2.setDescription("request2");
+        request2.setRequester(owner);
+        request2.setCreated(LocalDateTime.now());
+        request2 = itemRequestRepository.save(request2);
+
+        Item item1 = ItemMapper.toItem(ItemDtoCreate.builder().name("Item1").description("Description1").available(true).build());
+        item1.setOwner(owner);
+        item1.setRequest(request1);
+        Item item2 = ItemMapper.toItem(ItemDtoCreate.builder().name("Item2").description("Description2").available(true).build());
+        item2.setOwner(owner);
+        item2.setRequest(request2);
+        Item item3 = ItemMapper.toItem(ItemDtoCreate.builder().name("Item3").description("Description3").available(true).build());
+        item3.setOwner(owner);
+        itemRepository.saveAll(List.of(item1, item2, item3));
+
+        List<ItemForRequestDto> expected = List.of(
+                new ItemForRequestDto(item1.getId(), "Item1", "Description1", true, request1.getId()),
+                new ItemForRequestDto(item2.getId(), "Item2", "Description2", true, request2.getId()));
+
+        assertEquals(expected, itemRepository.getItemDescriptionForRequests(List.of(request1.getId(), request2.getId())));
+    }
+
     @AfterEach
     public void delete() {
         itemRepository.deleteAll();
@@ -0,0 +1,91 @@
+package ru.practicum.shareit.item;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.repository.ItemRepository;
+import ru.practicum.shareit.item.search.ItemSearchIndex;
+import ru.practicum.shareit.item.search.SearchEngine;
+import ru.practicum.shareit.item.search.SearchEngineSelector;
+
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class ItemSearchIndexTest {
+
+    @Mock
+    private ItemRepository itemRepository;
+
+    private ItemSearchIndex index;
+
+    @BeforeEach
+    void init() {
+        index = new ItemSearchIndex(itemRepository, new SearchEngineSelector(SearchEngine.INDEX, null));
+        when(itemRepository.findAllByAvailableTrue()).thenReturn(List.of(
+                item(1L, "Drill", "Cordless drill", true),
+                item(2L, "Saw", "Hand saw for wood", true),
+                item(3L, "Ladder", "Wooden ladder", true)));
+        index.rebuild();
+    }
+
+    @Test
+    void search_whenSubstringOfNameOrDescription_thenReturnMatchingIdsInOrder() {
+        assertEquals(List.of(2L, 3L), index.search("wood", 0, 10));
+        assertEquals(List.of(1L), index.search("DRILL", 0, 10));
+        assertEquals(List.of(1L, 2L, 3L), index.search("d", 0, 10));
+    }
+
+    @Test
+    void search_whenTrigramsMatchButSubstringDoesNot_thenReturnEmptyList() {
+        assertEquals(Collections.emptyList(), index.search("drillsaw", 0, 10));
+        assertEquals(Collections.emptyList(), index.search("xyz", 0, 10));
+    }
+
+    @Test
+    void search_whenPaged_thenUsePageBoundaries() {
+        assertEquals(List.of(1L, 2L), index.search("d", 0, 2));
+        assertEquals(List.of(3L), index.search("d", 2, 2));
+        assertEquals(List.of(3L), index.search("d", 3, 2));
+    }
+
+    @Test
+    void index_whenItemUpdatedOrRemoved_thenIndexFollows() {
+        index.index(item(4L, "Wood glue", "Glue", true));
+        assertEquals(List.of(2L, 3L, 4L), index.search("wood", 0, 10));
+
+        index.index(item(3L, "Ladder", "Wooden ladder", false));
+        assertEquals(List.of(2L, 4L), index.search("wood", 0, 10));
+
+        index.evict(2L);
+        assertEquals(List.of(4L), index.search("wood", 0, 10));
+    }
+
+    @Test
+    void rebuild_whenEngineIsLike_thenIndexIsDisabled() {
+        ItemRepository repository = mock(ItemRepository.class);
+        ItemSearchIndex disabled = new ItemSearchIndex(repository, new SearchEngineSelector(SearchEngine.LIKE, null));
+        disabled.rebuild();
+
+        assertFalse(disabled.isEnabled());
+        verifyNoInteractions(repository);
+    }
+
+    private Item item(long id, String name, String description, boolean available) {
+        Item item = new Item();
+        item.setId(id);
+        item.setName(name);
+        item.setDescription(description);
+        item.setAvailable(available);
+        return item;
+    }
+}
@@ -8,22 +8,28 @@ import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
+import ru.practicum.shareit.booking.availability.BookingAvailability;
 import ru.practicum.shareit.booking.bookingRepository.BookingRepository;
 import ru.practicum.shareit.booking.dto.BookingDto;
 import ru.practicum.shareit.booking.model.Booking;
 import ru.practicum.shareit.exception.InvalidRequestException;
 import ru.practicum.shareit.exception.NotFoundException;
 import ru.practicum.shareit.item.dto.*;
+import ru.practicum.shareit.item.itemService.ItemDtoCache;
 import ru.practicum.shareit.item.itemService.ItemServiceImpl;
 import ru.practicum.shareit.item.model.Comment;
 import ru.practicum.shareit.item.model.Item;
 import ru.practicum.shareit.item.repository.CommentRepository;
 import ru.practicum.shareit.item.repository.ItemRepository;
+import ru.practicum.shareit.item.search.ItemSearchIndex;
+import ru.practicum.shareit.item.search.SearchEngine;
+import ru.practicum.shareit.item.search.SearchEngineSelector;
 import ru.practicum.shareit.pagination.Paginator;
 import ru.practicum.shareit.request.model.ItemRequest;
 import ru.practicum.shareit.request.repository.ItemRequestRepository;
 import ru.practicum.shareit.user.model.User;
 import ru.practicum.shareit.user.repository.UserRepository;
+import ru.practicum.shareit.user.userService.UserExistence;
 
 import java.time.LocalDateTime;
 import java.util.Arrays;
@@ -32,10 +38,12 @@ import java.util.List;
 import java.util.Optional;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyLong;
 import static org.mockito.Mockito.lenient;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 @ExtendWith(MockitoExtension.class)
@@ -53,10 +61,20 @@ class ItemServiceTest {
     private CommentRepository commentRepository;
     @Mock
     private ItemRequestRepository itemRequestRepository;
+    @Mock
+    private ItemSearchIndex itemSearchIndex;
+    @Mock
+    private SearchEngineSelector searchEngineSelector;
+    @Mock
+    private ItemDtoCache itemDtoCache;
+    @Mock
+    private BookingAvailability bookingAvailability;
+    @Mock
+    private UserExistence userExistence;
 
     @Test
     void createItem_whenUserIdInvalid_thenUserNotFoundException() {
-        when(userRepository.findById(anyLong())).thenReturn(Optional.empty());
+        when(userExistence.exists(anyLong())).thenReturn(false);
 
         assertThrows(NotFoundException.class, () -> itemService.createItem(1L, ItemDtoCreate.builder().build()));
     }
@@ -73,7 +91,8 @@ class ItemServiceTest {
         item.setOwner(user);
         item.setId(itemId);
 
-        when(userRepository.findById(userId)).thenReturn(Optional.of(user));
+        when(userExistence.exists(userId)).thenReturn(true);
+        when(userRepository.getReferenceById(userId)).thenReturn(user);
         when(itemRepository.save(any())).thenReturn(item);
 
         ItemDto expectItemDto = ItemMapper.toItemDto(item);
@@ -99,8 +118,10 @@ class ItemServiceTest {
         item.setRequest(request);
         itemDto.setRequestId(requestId);
 
-        when(userRepository.findById(any())).thenReturn(Optional.of(user));
-        when(itemRequestRepository.findById(any())).thenReturn(Optional.of(request));
+        when(userExistence.exists(userId)).thenReturn(true);
+        when(userRepository.getReferenceById(userId)).thenReturn(user);
+        when(itemRequestRepository.existsById(requestId)).thenReturn(true);
+        when(itemRequestRepository.getReferenceById(requestId)).thenReturn(request);
         when(itemRepository.save(any())).thenReturn(item);
 
         ItemDto expectItemDto = ItemMapper.toItemDto(item);
@@ -110,9 +131,9 @@ class ItemServiceTest {
 
     @Test
     void createItem_whenRequestIdInvalid_thenItemRequestNotFoundException() {
-        when(userRepository.findById(any())).thenReturn(Optional.of(new User()));
+        when(userExistence.exists(anyLong())).thenReturn(true);
 
-        when(itemRequestRepository.findById(any())).thenReturn(Optional.empty());
+        when(itemRequestRepository.existsById(any())).thenReturn(false);
 
         assertThrows(NotFoundException.class, () -> itemService.createItem(1L, ItemDtoCreate.builder().requestId(1L).build()));
     }
@@ -128,20 +149,22 @@ class ItemServiceTest {
         item.setId(itemId);
         item.setOwner(user);
 
-        List<BookingDto> nextBookingClosest = List.of(new BookingDto());
-        List<BookingDto> lastBookingClosest = List.of(new BookingDto());
+        BookingDto nextBooking = new BookingDto(1L, 2L);
+        BookingDto lastBooking = new BookingDto(2L, 2L);
+        ItemDto cachedItemDto = ItemMapper.toItemDto(item);
+        cachedItemDto.setComments(Collections.emptyList());
 
-        when(itemRepository.findById(itemId)).thenReturn(Optional.of(item));
-        when(commentRepository.findAllByItemId(itemId)).thenReturn(Collections.emptyList());
-        when(bookingRepository.findNextClosestBookingByOwnerId(userId, itemId)).thenReturn(nextBookingClosest);
-        when(bookingRepository.findLastClosestBookingByOwnerId(userId, itemId)).thenReturn(lastBookingClosest);
+        when(itemDtoCache.getItem(itemId)).thenReturn(cachedItemDto);
+        when(itemDtoCache.getBookings(userId, itemId))
+                .thenReturn(new ItemDtoCache.ItemBookings(nextBooking, lastBooking, null));
 
         ItemDto actualItemDto = ItemMapper.toItemDto(item);
         actualItemDto.setComments(Collections.emptyList());
-        actualItemDto.setNextBooking(nextBookingClosest.get(0));
-        actualItemDto.setLastBooking(lastBookingClosest.get(0));
+        actualItemDto.setNextBooking(nextBooking);
+        actualItemDto.setLastBooking(lastBooking);
         ItemDto expectItemDto = itemService.getItemById(itemId, userId);
         assertEquals(actualItemDto, expectItemDto);
+        assertNull(cachedItemDto.getNextBooking());
     }
 
     @Test
@@ -204,10 +227,55 @@ class ItemServiceTest {
         assertEquals(expectedList3, itemService.searchItems(text3, from, size));
     }
 
+    @Test
+    void searchItems_whenIndexEnabled_thenLoadItemsFoundByIndex() {
+        User user = new User();
+        user.setId(1L);
+
+        Item item1 = new Item();
+        item1.setId(1L);
+        item1.setOwner(user);
+
+        Item item2 = new Item();
+        item2.setId(2L);
+        item2.setOwner(user);
+
+        when(itemSearchIndex.isEnabled()).thenReturn(true);
+        when(itemSearchIndex.search("text", 0, 10)).thenReturn(List.of(2L, 1L));
+        when(itemRepository.findAllById(List.of(2L, 1L))).thenReturn(List.of(item1, item2));
+
+        List<ItemDto> expected = ItemMapper.toItemDto(List.of(item2, item1));
+        expected.forEach(dto -> dto.setComments(Collections.emptyList()));
+        assertEquals(expected, itemService.searchItems("text", 0, 10));
+    }
+
+    @Test
+    void searchItems_whenFullTextEnabled_thenSearchByPrefixQuery() {
+        User user = new User();
+        user.setId(1L);
+
+        Item item = new Item();
+        item.setId(1L);
+        item.setOwner(user);
+
+        when(searchEngineSelector.getEngine()).thenReturn(SearchEngine.FULLTEXT);
+        when(itemRepository.searchItemByFullText("cordless:* & dri:*", PageRequest.of(0, 10)))
+                .thenReturn(List.of(item));
+
+        List<ItemDto> expected = ItemMapper.toItemDto(List.of(item));
+        expected.get(0).setComments(Collections.emptyList());
+        assertEquals(expected, itemService.searchItems("cordless dri", 0, 10));
+        assertEquals(Collections.emptyList(), itemService.searchItems("?!", 0, 10));
+    }
+
     @Test
     void deleteItem_whenExecuted_thenItemIsRemovedFromDb() {
         long itemId = 1L;
         itemService.removeItem(itemId);
+
+        verify(itemSearchIndex).evict(itemId);
+        verify(itemDtoCache).evictItem(itemId);
+        verify(bookingAvailability).evict(itemId);
     }
 
     @Test
@@ -302,7 +370,7 @@ class ItemServiceTest {
         long itemId = 1L;
         long userId = 1L;
 
-        when(itemRepository.findById(itemId)).thenReturn(Optional.empty());
+        when(itemDtoCache.getItem(itemId)).thenThrow(new NotFoundException("Item with ID " + itemId + " not found."));
 
         assertThrows(NotFoundException.class, () -> itemService.getItemById(itemId, userId));
     }
@@ -352,7 +420,7 @@ class ItemServiceTest {
 
         ItemDtoCreate itemDto = ItemDtoCreate.builder().build();
 
-        when(userRepository.findById(userId)).thenReturn(Optional.of(user));
+        when(userExistence.exists(userId)).thenReturn(true);
         when(itemRepository.save(any())).thenThrow(new RuntimeException("Failed to save item"));
 
         assertThrows(RuntimeException.class, () -> itemService.createItem(userId, itemDto));
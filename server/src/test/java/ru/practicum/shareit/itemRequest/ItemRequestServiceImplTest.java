@@ -18,6 +18,7 @@ import ru.practicum.shareit.request.repository.ItemRequestRepository;
 import ru.practicum.shareit.request.service.ItemRequestServiceImpl;
 import ru.practicum.shareit.user.model.User;
 import ru.practicum.shareit.user.repository.UserRepository;
+import ru.practicum.shareit.user.userService.UserExistence;
 
 import java.time.LocalDateTime;
 import java.time.temporal.ChronoUnit;
@@ -30,6 +31,9 @@ import java.util.stream.Stream;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 @ExtendWith(MockitoExtension.class)
@@ -43,6 +47,8 @@ class ItemRequestServiceImplTest {
     private UserRepository userRepository;
     @Mock
     private ItemRepository itemRepository;
+    @Mock
+    private UserExistence userExistence;
 
     @Test
     void createNewItemRequest_whenValid_thenReturnRequest() {
@@ -60,7 +66,7 @@ class ItemRequestServiceImplTest {
         LocalDateTime created = LocalDateTime.now().truncatedTo(ChronoUnit.SECONDS);
         itemRequest.setCreated(created);
 
-        when(userRepository.findById(userId)).thenReturn(Optional.of(user));
+        when(userExistence.exists(userId)).thenReturn(true);
         when(itemRequestRepository.save(any())).thenReturn(itemRequest);
 
         ItemRequestDto expected = ItemRequestMapper.toRequestWithItemsDto(itemRequest);
@@ -70,7 +76,7 @@ class ItemRequestServiceImplTest {
 
     @Test
     void createNewItemRequest_whenUserNotFound_thenUserNotFoundException() {
-        when(userRepository.findById(any())).thenReturn(Optional.empty());
+        when(userExistence.exists(anyLong())).thenReturn(false);
         assertThrows(NotFoundException.class,
                 () -> itemRequestService.createNewRequestForItem(
                         1L,
@@ -94,18 +100,17 @@ class ItemRequestServiceImplTest {
         itemRequest.setRequester(user);
         itemRequest.setCreated(LocalDateTime.now());
 
-        when(userRepository.findById(userId)).thenReturn(Optional.of(user));
+        when(userExistence.exists(userId)).thenReturn(true);
         when(itemRequestRepository.findAllByRequesterIdOrderByCreatedDesc(userId))
                 .thenReturn(List.of(itemRequest));
-        when(itemRepository.getItemDescriptionForRequest(itemRequestId)).thenReturn(Collections.emptyList());
+        when(itemRepository.getItemDescriptionForRequests(List.of(itemRequestId))).thenReturn(Collections.emptyList());
 
         List<ItemRequestDto> expected =
                 Stream.of(itemRequest)
                         .map(ItemRequestMapper::toRequestWithItemsDto)
                         .collect(Collectors.toList());
         for (ItemRequestDto r : expected) {
-            List<ItemForRequestDto> items = itemRepository.getItemDescriptionForRequest(r.getId());
-            r.setItems(items);
+            r.setItems(Collections.emptyList());
         }
         List<ItemRequestDto> actual = itemRequestService.getItemRequestsForUser(userId);
         assertEquals(expected, actual);
@@ -114,7 +119,7 @@ class ItemRequestServiceImplTest {
     @Test
     void getUserItemRequests_whenUserNotFound_thenUserNotFoundException() {
         long userId = 1L;
-        when(userRepository.findById(any())).thenReturn(Optional.empty());
+        when(userExistence.exists(anyLong())).thenReturn(false);
         assertThrows(NotFoundException.class,
                 () -> itemRequestService.getItemRequestsForUser(userId));
     }
@@ -135,7 +140,7 @@ class ItemRequestServiceImplTest {
         itemRequest.setRequester(user);
         itemRequest.setCreated(LocalDateTime.now());
 
-        when(userRepository.findById(userId)).thenReturn(Optional.of(user));
+        when(userExistence.exists(userId)).thenReturn(true);
         when(itemRequestRepository.findById(itemRequestId)).thenReturn(Optional.of(itemRequest));
         when(itemRepository.getItemDescriptionForRequest(itemRequestId)).thenReturn(Collections.emptyList());
 
@@ -143,6 +148,8 @@ class ItemRequestServiceImplTest {
         expected.setItems(Collections.emptyList());
         ItemRequestDto actual = itemRequestService.getItemRequestById(userId, itemRequestId);
         assertEquals(expected, actual);
+        verify(itemRequestRepository).findById(itemRequestId);
+        verify(userRepository, never()).findById(anyLong());
     }
 
     @Test
@@ -177,7 +184,7 @@ class ItemRequestServiceImplTest {
         );
 
 
-        when(userRepository.findById(userId)).thenReturn(Optional.of(user));
+        when(userExistence.exists(userId)).thenReturn(true);
         when(itemRequestRepository.findById(itemRequestId)).thenReturn(Optional.of(itemRequest));
         when(itemRepository.getItemDescriptionForRequest(itemRequestId)).thenReturn(List.of(itemResponseForRequest));
 
@@ -190,7 +197,7 @@ class ItemRequestServiceImplTest {
     @Test
     void getItemRequestById_whenUserNotFound_thenUserNotFoundException() {
         long userId = 1L, itemRequestId = 1L;
-        when(userRepository.findById(any())).thenReturn(Optional.empty());
+        when(userExistence.exists(anyLong())).thenReturn(false);
         assertThrows(NotFoundException.class,
                 () -> itemRequestService.getItemRequestById(
                         userId,
@@ -206,7 +213,7 @@ class ItemRequestServiceImplTest {
         user.setId(userId);
         long itemRequestId = 1L;
 
-        when(userRepository.findById(userId)).thenReturn(Optional.of(user));
+        when(userExistence.exists(userId)).thenReturn(true);
         when(itemRequestRepository.findById(itemRequestId)).thenReturn(Optional.empty());
         assertThrows(NotFoundException.class,
                 () -> itemRequestService.getItemRequestById(
@@ -215,4 +222,27 @@ class ItemRequestServiceImplTest {
                 )
         );
     }
+
+    @Test
+    void getOtherUsersItemRequests_whenValid_thenLoadItemsForAllRequestsAtOnce() {
+        ItemRequest request1 = new ItemRequest();
+        request1.setId(1L);
+        request1.setCreated(LocalDateTime.now());
+        ItemRequest request2 = new ItemRequest();
+        request2.setId(2L);
+        request2.setCreated(LocalDateTime.now());
+        ItemForRequestDto item1 = new ItemForRequestDto(1L, "item1", "description1", true, 2L);
+        ItemForRequestDto item2 = new ItemForRequestDto(2L, "item2", "description2", true, 2L);
+
+        when(itemRequestRepository.findByRequesterIdIsNot(1L, PageRequest.of(0, 10, Sort.by("created").descending())))
+                .thenReturn(List.of(request1, request2));
+        when(itemRepository.getItemDescriptionForRequests(List.of(1L, 2L))).thenReturn(List.of(item1, item2));
+
+        List<ItemRequestDto> actual = itemRequestService.getItemRequestsFromOtherUsers(1L, 0, 10);
+
+        assertEquals(2, actual.size());
+        assertEquals(Collections.emptyList(), actual.get(0).getItems());
+        assertEquals(List.of(item1, item2), actual.get(1).getItems());
+        verify(itemRepository, never()).getItemDescriptionForRequest(anyLong());
+    }
 }
@@ -0,0 +1,73 @@
+package ru.practicum.shareit.logging;
+
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.core.read.ListAppender;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.slf4j.LoggerFactory;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.web.servlet.HandlerMapping;
+
+import javax.servlet.http.HttpServlet;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static ru.practicum.shareit.Constants.HEADER;
+
+class RequestLoggingFilterTest {
+    private final Logger logger = (Logger) LoggerFactory.getLogger(RequestLog.class);
+    private final ListAppender<ILoggingEvent> appender = new ListAppender<>();
+
+    @BeforeEach
+    void attachAppender() {
+        appender.start();
+        logger.addAppender(appender);
+    }
+
+    @AfterEach
+    void detachAppender() {
+        logger.detachAppender(appender);
+    }
+
+    @Test
+    void doFilter_whenSampled_thenLogEndpointUserStatusAndLatency() throws Exception {
+        new RequestLoggingFilter(new RequestLog(1.0)).doFilter(request(), new MockHttpServletResponse(), chain(200));
+
+        assertEquals(1, appender.list.size());
+        String line = appender.list.get(0).getFormattedMessage();
+        assertTrue(line.startsWith("endpoint=\"GET /items/{itemId}\" userId=7 status=200 latencyMs="), line);
+    }
+
+    @Test
+    void doFilter_whenNotSampled_thenLogServerErrorsOnly() throws Exception {
+        RequestLoggingFilter filter = new RequestLoggingFilter(new RequestLog(0));
+
+        filter.doFilter(request(), new MockHttpServletResponse(), chain(404));
+        assertEquals(0, appender.list.size());
+
+        filter.doFilter(request(), new MockHttpServletResponse(), chain(500));
+        assertEquals(1, appender.list.size());
+    }
+
+    private static MockHttpServletRequest request() {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/items/1");
+        request.addHeader(HEADER, "7");
+        request.setAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE, "/items/{itemId}");
+        return request;
+    }
+
+    private static MockFilterChain chain(int status) {
+        return new MockFilterChain(new HttpServlet() {
+            @Override
+            protected void service(HttpServletRequest request, HttpServletResponse response) {
+                response.setStatus(status);
+            }
+        });
+    }
+}
@@ -0,0 +1,71 @@
+package ru.practicum.shareit.metrics;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.actuate.metrics.AutoConfigureMetrics;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.transaction.annotation.Transactional;
+import ru.practicum.shareit.CrudTestUtils;
+import ru.practicum.shareit.booking.dto.BookingDtoReq;
+import ru.practicum.shareit.item.dto.ItemDto;
+import ru.practicum.shareit.user.dto.UserDto;
+
+import java.time.LocalDateTime;
+
+import static org.hamcrest.Matchers.containsString;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+import static ru.practicum.shareit.Constants.HEADER;
+import static ru.practicum.shareit.metrics.MethodMetrics.STATE_TAG;
+
+@AutoConfigureMetrics
+@AutoConfigureMockMvc
+@Transactional
+class MethodMetricsTest extends CrudTestUtils {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Test
+    public void shouldTimeServiceAndRepositoryCallsTaggedByBookingState() throws Exception {
+        long ownerId = createUser(UserDto.builder().name("Mark").email("mark@email.com").build()).getId();
+        long bookerId = createUser(UserDto.builder().name("Anna").email("anna@email.com").build()).getId();
+        long itemId = createItem(ItemDto.builder().name("Item").description("Description").available(true).build(),
+                ownerId).getId();
+        BookingDtoReq booking = new BookingDtoReq();
+        booking.setItemId(itemId);
+        booking.setStart(LocalDateTime.now().plusDays(1).withSecond(30).withNano(0));
+        booking.setEnd(booking.getStart().plusDays(1));
+        createBooking(booking, bookerId);
+
+        mockMvc.perform(get("/bookings").param("state", "future").header(HEADER, String.valueOf(bookerId)))
+                .andExpect(status().isOk());
+
+        assertEquals(1, meterRegistry.get("shareit.service").tag("class", "BookingService")
+                .tag("method", "getBookingByBookerId").tag(STATE_TAG, "FUTURE").tag("exception", "none")
+                .timer().count());
+        assertEquals(1, meterRegistry.get("shareit.repository").tag("class", "BookingRepository")
+                .tag("method", "findAllByBookerIdFuture").tag(STATE_TAG, "FUTURE").timer().count());
+        assertEquals(1.0, meterRegistry.get("shareit.repository.rows").tag("class", "BookingRepository")
+                .tag("method", "findAllByBookerIdFuture").tag(STATE_TAG, "FUTURE").counter().count());
+        assertEquals(2, meterRegistry.get("shareit.service").tag("class", "UserService")
+                .tag("method", "addNewUser").tag(STATE_TAG, "none").timer().count());
+
+        mockMvc.perform(get("/bookings").param("state", "unknown").header(HEADER, String.valueOf(bookerId)))
+                .andExpect(status().isBadRequest());
+        assertEquals(1, meterRegistry.get("shareit.service").tag("method", "getBookingByBookerId")
+                .tag(STATE_TAG, "INVALID").tag("exception", "InvalidRequestException").timer().count());
+
+        mockMvc.perform(get("/actuator/prometheus"))
+                .andExpect(status().isOk())
+                .andExpect(content().string(containsString("shareit_service_seconds_bucket")))
+                .andExpect(content().string(containsString("shareit_repository_rows_total")));
+    }
+}
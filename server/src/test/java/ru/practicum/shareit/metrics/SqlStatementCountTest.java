@@ -0,0 +1,139 @@
+package ru.practicum.shareit.metrics;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.http.MediaType;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+import ru.practicum.shareit.CrudTestUtils;
+import ru.practicum.shareit.booking.dto.BookingDtoReq;
+import ru.practicum.shareit.item.dto.ItemDto;
+import ru.practicum.shareit.request.dto.ItemDescriptionRequestDto;
+import ru.practicum.shareit.user.dto.UserDto;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+import static ru.practicum.shareit.Constants.HEADER;
+import static ru.practicum.shareit.Constants.ID_ALLOCATION_SIZE;
+import static ru.practicum.shareit.SqlStatementMatchers.maxSqlStatements;
+
+@AutoConfigureMockMvc
+@DirtiesContext(classMode = DirtiesContext.ClassMode.AFTER_EACH_TEST_METHOD)
+class SqlStatementCountTest extends CrudTestUtils {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Test
+    public void listingsShouldRunSameNumberOfStatementsForAnyNumberOfRows() throws Exception {
+        long[] few = createOwnerAndRequester("few", 2);
+        long[] many = createOwnerAndRequester("many", 50);
+
+        int requestsOfFew = sqlStatements(get("/requests").header(HEADER, String.valueOf(few[1])), 2);
+        int requestsOfMany = sqlStatements(get("/requests").header(HEADER, String.valueOf(many[1])), 50);
+        int itemsOfFew = sqlStatements(get("/items").param("size", "50").header(HEADER, String.valueOf(few[0])), 2);
+        int itemsOfMany = sqlStatements(get("/items").param("size", "50").header(HEADER, String.valueOf(many[0])),
+                50);
+
+        assertEquals(requestsOfFew, requestsOfMany, "GET /requests statements for 2 and 50 rows");
+        assertEquals(itemsOfFew, itemsOfMany, "GET /items statements for 2 and 50 rows");
+        assertTrue(requestsOfMany <= 3, "GET /requests ran " + requestsOfMany + " statements");
+        assertTrue(itemsOfMany <= 3, "GET /items ran " + itemsOfMany + " statements");
+        assertEquals(2, meterRegistry.get("shareit.http.sql.statements").tag("method", "GET")
+                .tag("uri", "/requests").summary().count());
+    }
+
+    @Test
+    public void bulkCreationShouldBatchInserts() throws Exception {
+        long ownerId = createUser(UserDto.builder().name("Mark").email("mark@email.com").build()).getId();
+        long bookerId = createUser(UserDto.builder().name("Anna").email("anna@email.com").build()).getId();
+        long itemId = createItem(ItemDto.builder().name("Item").description("Description").available(true).build(),
+                ownerId).getId();
+        LocalDateTime start = LocalDateTime.now().plusDays(1);
+        List<BookingDtoReq> bookings = new ArrayList<>();
+        for (int i = 0; i < 200; i++) {
+            BookingDtoReq booking = new BookingDtoReq();
+            booking.setItemId(itemId);
+            booking.setStart(start.plusDays(i));
+            booking.setEnd(start.plusDays(i).plusHours(1));
+            bookings.add(booking);
+        }
+
+        // user, items and calendars, then per 50 bookings one sequence call and one batched INSERT
+        mockMvc.perform(post("/bookings/batch")
+                        .content(objectMapper.writeValueAsString(bookings))
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .header(HEADER, String.valueOf(bookerId)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(200))
+                .andExpect(maxSqlStatements(3 + 2 * 200 / ID_ALLOCATION_SIZE));
+    }
+
+    @Test
+    public void userChecksShouldNotLoadUsers() throws Exception {
+        long requesterId = createUser(UserDto.builder().name("Anna").email("anna@email.com").build()).getId();
+        long viewerId = createUser(UserDto.builder().name("Mark").email("mark@email.com").build()).getId();
+        ItemDescriptionRequestDto request = new ItemDescriptionRequestDto();
+        request.setDescription("Request");
+        long requestId = createItemRequest(request, requesterId).getId();
+
+        // user existence, request and its items, then the user is a known one
+        mockMvc.perform(get("/requests/{requestId}", requestId).header(HEADER, String.valueOf(viewerId)))
+                .andExpect(status().isOk())
+                .andExpect(maxSqlStatements(3));
+        mockMvc.perform(get("/requests/{requestId}", requestId).header(HEADER, String.valueOf(viewerId)))
+                .andExpect(status().isOk())
+                .andExpect(maxSqlStatements(2));
+    }
+
+    @Test
+    public void errorResponsesShouldCarryCount() throws Exception {
+        mockMvc.perform(get("/users/{userId}", 999))
+                .andExpect(status().isNotFound())
+                .andExpect(header().string(SqlStatementCountFilter.HEADER, "1"));
+    }
+
+    /**
+     * Creates an owner and a requester, and {@code rows} requests each answered by an item of the owner.
+     */
+    private long[] createOwnerAndRequester(String prefix, int rows) throws Exception {
+        long ownerId = createUser(UserDto.builder().name(prefix + "Owner").email(prefix + "owner@email.com").build())
+                .getId();
+        long requesterId = createUser(UserDto.builder().name(prefix + "Requester")
+                .email(prefix + "requester@email.com").build()).getId();
+        for (int i = 0; i < rows; i++) {
+            ItemDescriptionRequestDto request = new ItemDescriptionRequestDto();
+            request.setDescription("Request " + i);
+            long requestId = createItemRequest(request, requesterId).getId();
+            createItem(ItemDto.builder().name("Item " + i).description("Description").available(true)
+                    .requestId(requestId).build(), ownerId);
+        }
+        return new long[]{ownerId, requesterId};
+    }
+
+    private int sqlStatements(MockHttpServletRequestBuilder request, int rows) throws Exception {
+        return Integer.parseInt(mockMvc.perform(request)
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(rows))
+                .andReturn().getResponse().getHeader(SqlStatementCountFilter.HEADER));
+    }
+}
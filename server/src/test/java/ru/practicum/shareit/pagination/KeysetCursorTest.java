@@ -0,0 +1,30 @@
+package ru.practicum.shareit.pagination;
+
+import org.junit.jupiter.api.Test;
+import ru.practicum.shareit.exception.InvalidRequestException;
+
+import java.time.LocalDateTime;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class KeysetCursorTest {
+
+    @Test
+    void decode_whenEncoded_thenReturnSamePosition() {
+        KeysetCursor cursor = new KeysetCursor(LocalDateTime.of(2030, 1, 2, 3, 4, 5), 42L);
+
+        assertEquals(cursor, KeysetCursor.decode(cursor.encode()));
+    }
+
+    @Test
+    void decode_whenEmpty_thenReturnFirst() {
+        assertEquals(KeysetCursor.FIRST, KeysetCursor.decode(""));
+    }
+
+    @Test
+    void decode_whenMalformed_thenInvalidRequestException() {
+        assertThrows(InvalidRequestException.class, () -> KeysetCursor.decode("not-a-cursor"));
+        assertThrows(InvalidRequestException.class, () -> KeysetCursor.decode("MjAzMA"));
+    }
+}
@@ -8,20 +8,25 @@ import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMock
 import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
 import ru.practicum.shareit.CrudTestUtils;
 import ru.practicum.shareit.exception.NotFoundException;
 import ru.practicum.shareit.user.dto.UserDto;
 import ru.practicum.shareit.user.userService.UserService;
 
+import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 
+import static org.hamcrest.Matchers.contains;
 import static org.hamcrest.Matchers.hasSize;
+import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultHandlers.print;
-import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
-import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+import static ru.practicum.shareit.Constants.NEXT_CURSOR_HEADER;
 
 @AutoConfigureMockMvc
 class UserControllerTest extends CrudTestUtils {
@@ -84,6 +89,57 @@ class UserControllerTest extends CrudTestUtils {
                 .andReturn();
     }
 
+    @Test
+    public void shouldGetUsersPageWhenFromAndSizeGiven() throws Exception {
+        createUser(UserDto.builder().name("Mark").email("mark@email.com").build());
+        createUser(UserDto.builder().name("Toma").email("toma@email.com").build());
+        createUser(UserDto.builder().name("Bob").email("bob@email.com").build());
+
+        mockMvc.perform(get("/users")
+                        .param("from", "2")
+                        .param("size", "2"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.*", hasSize(1)))
+                .andExpect(jsonPath("$[0].name").value("Bob"));
+    }
+
+    @Test
+    public void shouldGetUsersByCursorUntilLastPage() throws Exception {
+        createUser(UserDto.builder().name("Mark").email("mark@email.com").build());
+        createUser(UserDto.builder().name("Toma").email("toma@email.com").build());
+        createUser(UserDto.builder().name("Bob").email("bob@email.com").build());
+
+        MvcResult first = mockMvc.perform(get("/users")
+                        .param("cursor", "")
+                        .param("size", "2"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[*].name", contains("Mark", "Toma")))
+                .andExpect(header().exists(NEXT_CURSOR_HEADER))
+                .andReturn();
+
+        mockMvc.perform(get("/users")
+                        .param("cursor", first.getResponse().getHeader(NEXT_CURSOR_HEADER))
+                        .param("size", "2"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[*].name", contains("Bob")))
+                .andExpect(header().doesNotExist(NEXT_CURSOR_HEADER));
+    }
+
+    @Test
+    public void shouldStreamAllUsersAsNdjson() throws Exception {
+        UserDto mark = createUser(UserDto.builder().name("Mark").email("mark@email.com").build());
+        UserDto toma = createUser(UserDto.builder().name("Toma").email("toma@email.com").build());
+
+        String body = mockMvc.perform(get("/users")
+                        .accept(MediaType.APPLICATION_NDJSON))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(MediaType.APPLICATION_NDJSON))
+                .andReturn().getResponse().getContentAsString();
+
+        assertEquals(objectMapper.writeValueAsString(mark) + "\n" + objectMapper.writeValueAsString(toma) + "\n",
+                body);
+    }
+
     @Test
     public void shouldDeleteUserWhenIdIsCorrect() throws Exception {
         UserDto userDto = createUser(UserDto.builder().name("Mark").email("mark@email.com").build());
@@ -149,6 +205,8 @@ class UserControllerTest extends CrudTestUtils {
 
     @AfterEach
     public void afterEach() {
-        userService.getAllUsers().forEach(u -> userService.removeUser(u.getId()));
+        List<Long> userIds = new ArrayList<>();
+        userService.streamAllUsers(u -> userIds.add(u.getId()));
+        userIds.forEach(userService::removeUser);
     }
 }
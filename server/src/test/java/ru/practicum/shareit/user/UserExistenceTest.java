@@ -0,0 +1,55 @@
+package ru.practicum.shareit.user;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import ru.practicum.shareit.user.repository.UserRepository;
+import ru.practicum.shareit.user.userService.UserExistence;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class UserExistenceTest {
+
+    @Mock
+    private UserRepository userRepository;
+
+    @Test
+    void exists_whenUserFound_thenRememberedUntilRemoved() {
+        UserExistence userExistence = new UserExistence(userRepository, "maximumSize=100");
+        when(userRepository.existsById(1L)).thenReturn(true);
+
+        assertTrue(userExistence.exists(1L));
+        assertTrue(userExistence.exists(1L));
+        verify(userRepository, times(1)).existsById(1L);
+
+        userExistence.removed(1L);
+        when(userRepository.existsById(1L)).thenReturn(false);
+        assertFalse(userExistence.exists(1L));
+    }
+
+    @Test
+    void exists_whenUserMissing_thenCheckedEveryTime() {
+        UserExistence userExistence = new UserExistence(userRepository, "maximumSize=100");
+        when(userRepository.existsById(1L)).thenReturn(false);
+
+        assertFalse(userExistence.exists(1L));
+        assertFalse(userExistence.exists(1L));
+        verify(userRepository, times(2)).existsById(1L);
+    }
+
+    @Test
+    void exists_whenSpecBlank_thenNothingRemembered() {
+        UserExistence userExistence = new UserExistence(userRepository, "");
+        when(userRepository.existsById(1L)).thenReturn(true);
+
+        assertTrue(userExistence.exists(1L));
+        assertTrue(userExistence.exists(1L));
+        verify(userRepository, times(2)).existsById(1L);
+    }
+}
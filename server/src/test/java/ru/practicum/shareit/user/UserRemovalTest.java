@@ -0,0 +1,103 @@
+package ru.practicum.shareit.user;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.http.MediaType;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.web.servlet.MockMvc;
+import ru.practicum.shareit.CrudTestUtils;
+import ru.practicum.shareit.booking.dto.BookingDtoReq;
+import ru.practicum.shareit.booking.dto.BookingDtoResp;
+import ru.practicum.shareit.item.dto.ItemDto;
+import ru.practicum.shareit.request.dto.ItemDescriptionRequestDto;
+import ru.practicum.shareit.user.dto.UserDto;
+
+import java.time.LocalDateTime;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.patch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+import static ru.practicum.shareit.Constants.HEADER;
+
+/**
+ * Removing a user deletes the user's items and the items answering the user's requests by cascade,
+ * they must not outlive it in the search index or the caches.
+ */
+@AutoConfigureMockMvc
+@TestPropertySource(properties = "shareit.search.engine=index")
+@DirtiesContext(classMode = DirtiesContext.ClassMode.AFTER_EACH_TEST_METHOD)
+class UserRemovalTest extends CrudTestUtils {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Test
+    void removeUser_whenUserHasItems_thenSearchNoLongerFindsThem() throws Exception {
+        long ownerId = createUser(UserDto.builder().name("Mark").email("mark@email.com").build()).getId();
+        long requesterId = createUser(UserDto.builder().name("Anna").email("anna@email.com").build()).getId();
+        long viewerId = createUser(UserDto.builder().name("Toma").email("toma@email.com").build()).getId();
+        ItemDescriptionRequestDto request = new ItemDescriptionRequestDto();
+        request.setDescription("Need a drill");
+        long requestId = createItemRequest(request, requesterId).getId();
+        createItem(ItemDto.builder().name("Drill").description("Own drill").available(true).build(), ownerId);
+        createItem(ItemDto.builder().name("Drill").description("Drill for Anna").available(true)
+                .requestId(requestId).build(), viewerId);
+        mockMvc.perform(get("/items/search").param("text", "drill").header(HEADER, String.valueOf(viewerId)))
+                .andExpect(jsonPath("$.length()").value(2));
+
+        mockMvc.perform(delete("/users/{userId}", ownerId))
+                .andExpect(status().isOk());
+        mockMvc.perform(delete("/users/{userId}", requesterId))
+                .andExpect(status().isOk());
+
+        mockMvc.perform(get("/items/search").param("text", "drill").header(HEADER, String.valueOf(viewerId)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(0));
+    }
+
+    @Test
+    void removeUser_whenUserBookedItem_thenCachedBookingsOfItemAreDropped() throws Exception {
+        long ownerId = createUser(UserDto.builder().name("Mark").email("mark@email.com").build()).getId();
+        long bookerId = createUser(UserDto.builder().name("Anna").email("anna@email.com").build()).getId();
+        long itemId = createItem(ItemDto.builder().name("Drill").description("Drill").available(true).build(),
+                ownerId).getId();
+        long bookingId = approvedBooking(itemId, bookerId, ownerId, LocalDateTime.now().plusDays(1));
+        mockMvc.perform(get("/items/{itemId}", itemId).header(HEADER, String.valueOf(ownerId)))
+                .andExpect(jsonPath("$.nextBooking.id").value(bookingId));
+
+        mockMvc.perform(delete("/users/{userId}", bookerId))
+                .andExpect(status().isOk());
+
+        mockMvc.perform(get("/items/{itemId}", itemId).header(HEADER, String.valueOf(ownerId)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.nextBooking").isEmpty());
+    }
+
+    private long approvedBooking(long itemId, long bookerId, long ownerId, LocalDateTime start) throws Exception {
+        BookingDtoReq request = new BookingDtoReq();
+        request.setItemId(itemId);
+        request.setStart(start);
+        request.setEnd(start.plusHours(1));
+        String response = mockMvc.perform(post("/bookings")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(request))
+                        .header(HEADER, String.valueOf(bookerId)))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+        long bookingId = objectMapper.readValue(response, BookingDtoResp.class).getId();
+        mockMvc.perform(patch("/bookings/{bookingId}", bookingId)
+                        .param("approved", "true")
+                        .header(HEADER, String.valueOf(ownerId)))
+                .andExpect(status().isOk());
+        return bookingId;
+    }
+}
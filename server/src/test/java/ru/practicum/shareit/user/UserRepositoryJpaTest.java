@@ -71,7 +71,7 @@ public class UserRepositoryJpaTest {
         user.setEmail(update.getEmail());
 
         Long userId = user.getId();
-        userRepository.updateUserFields(UserMapper.toUser(update), userId);
+        userRepository.findById(userId).orElseThrow().setEmail(update.getEmail());
         em.flush();
         em.clear();
         Optional<User> updatedUser = userRepository.findById(userId);
@@ -2,22 +2,33 @@ package ru.practicum.shareit.user;
 
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InOrder;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Pageable;
 import ru.practicum.shareit.exception.NotFoundException;
+import ru.practicum.shareit.item.itemService.ItemService;
+import ru.practicum.shareit.item.repository.ItemRepository;
+import ru.practicum.shareit.request.repository.ItemRequestRepository;
 import ru.practicum.shareit.user.dto.UserDto;
 import ru.practicum.shareit.user.dto.UserMapper;
 import ru.practicum.shareit.user.model.User;
 import ru.practicum.shareit.user.repository.UserRepository;
+import ru.practicum.shareit.user.userService.UserExistence;
 import ru.practicum.shareit.user.userService.UserServiceImpl;
 
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
+import static ru.practicum.shareit.user.repository.UserRepository.STREAM_CHUNK_SIZE;
 
 @ExtendWith(MockitoExtension.class)
 class UserServiceImplTest {
@@ -26,6 +37,14 @@ class UserServiceImplTest {
     private UserServiceImpl userService;
     @Mock
     private UserRepository userRepository;
+    @Mock
+    private UserExistence userExistence;
+    @Mock
+    private ItemRepository itemRepository;
+    @Mock
+    private ItemRequestRepository itemRequestRepository;
+    @Mock
+    private ItemService itemService;
 
     @Test
     void createUser_whenValid_thenReturnUser() {
@@ -46,10 +65,10 @@ class UserServiceImplTest {
         long userId = 1L;
         user.setId(userId);
 
-        when(userRepository.findAll()).thenReturn(List.of(user));
+        when(userRepository.findAllBy(any(Pageable.class))).thenReturn(List.of(user));
 
         List<UserDto> expect = UserMapper.toUserDto(List.of(user));
-        List<UserDto> actual = userService.getAllUsers();
+        List<UserDto> actual = userService.getAllUsers(0, 10);
         assertEquals(expect, actual);
     }
 
@@ -82,16 +101,15 @@ class UserServiceImplTest {
         User oldUser = new User();
         long oldUserId = 1L;
         oldUser.setId(oldUserId);
+        oldUser.setName("Mark");
+        oldUser.setEmail("mark@email.com");
 
-        User newUser = new User();
-        newUser.setId(oldUserId);
+        when(userRepository.findById(oldUserId)).thenReturn(Optional.of(oldUser));
 
-        doNothing().when(userRepository).updateUserFields(newUser, oldUserId);
-        when(userRepository.findById(oldUserId)).thenReturn(Optional.of(newUser));
-
-        UserDto expect = UserMapper.toUserDto(oldUser);
-        UserDto actual = userService.updateUserData(oldUserId, UserMapper.toUserDto(newUser));
+        UserDto expect = new UserDto(oldUserId, "Updated", "mark@email.com");
+        UserDto actual = userService.updateUserData(oldUserId, UserDto.builder().name("Updated").build());
         assertEquals(expect, actual);
+        assertEquals("Updated", oldUser.getName());
     }
 
     @Test
@@ -114,10 +132,20 @@ class UserServiceImplTest {
         long userId = 1L;
         user.setId(userId);
 
-        doNothing().when(userRepository).deleteById(userId);
-        when(userRepository.findById(userId)).thenReturn(Optional.of(user));
+        when(userRepository.lockById(userId)).thenReturn(Optional.of(userId));
+        when(itemRepository.findIdsDeletedWithUser(userId)).thenReturn(List.of(10L, 11L));
+        when(itemRepository.findIdsBookedOrCommentedBy(userId)).thenReturn(List.of(12L));
 
         userService.removeUser(userId);
+        verify(userRepository, never()).findById(userId);
+        InOrder inOrder = inOrder(userRepository, itemRequestRepository, itemRepository, itemService);
+        inOrder.verify(userRepository).lockById(userId);
+        inOrder.verify(itemRequestRepository).lockIdsByRequesterId(userId);
+        inOrder.verify(itemRepository).findIdsDeletedWithUser(userId);
+        inOrder.verify(userRepository).deleteUserById(userId);
+        inOrder.verify(itemService).itemsRemoved(List.of(10L, 11L));
+        inOrder.verify(itemService).bookingsOrCommentsRemoved(List.of(12L));
+        verify(userExistence).removed(userId);
     }
 
     @Test
@@ -126,15 +154,29 @@ class UserServiceImplTest {
         long userId = 1L;
         user.setId(userId);
 
-        when(userRepository.findById(userId)).thenReturn(Optional.empty());
+        when(userRepository.lockById(userId)).thenReturn(Optional.empty());
 
         assertThrows(NotFoundException.class, () -> userService.removeUser(userId));
+        verify(userRepository, never()).deleteUserById(userId);
+        verify(itemService, never()).itemsRemoved(any());
     }
 
     @Test
-    void getUsers_verifyUserRepositoryFindAllCalled() {
-        userService.getAllUsers();
-
-        verify(userRepository).findAll();
+    void streamAllUsers_whenMoreThanOneChunk_thenReadsNextChunkAfterLastId() {
+        List<UserDto> firstChunk = new ArrayList<>();
+        for (long id = 1; id <= STREAM_CHUNK_SIZE; id++) {
+            firstChunk.add(new UserDto(id, "user" + id, "user" + id + "@email.com"));
+        }
+        UserDto last = new UserDto(STREAM_CHUNK_SIZE + 1L, "last", "last@email.com");
+        when(userRepository.findDtosByIdGreaterThan(eq(0L), any(Pageable.class))).thenReturn(firstChunk);
+        when(userRepository.findDtosByIdGreaterThan(eq((long) STREAM_CHUNK_SIZE), any(Pageable.class)))
+                .thenReturn(List.of(last));
+
+        List<UserDto> streamed = new ArrayList<>();
+        userService.streamAllUsers(streamed::add);
+
+        assertEquals(STREAM_CHUNK_SIZE + 1, streamed.size());
+        assertEquals(last, streamed.get(STREAM_CHUNK_SIZE));
+        verify(userRepository, times(2)).findDtosByIdGreaterThan(anyLong(), any(Pageable.class));
     }
 }